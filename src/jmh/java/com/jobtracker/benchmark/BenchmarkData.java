@@ -0,0 +1,51 @@
+package com.jobtracker.benchmark;
+
+import com.jobtracker.model.Job;
+import com.jobtracker.model.JobStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic job fixtures shared by the benchmarks, so that runs on different
+ * commits measure the same data.
+ */
+final class BenchmarkData {
+
+    static final int COMPANIES = 200;
+
+    private static final String[] LEVELS = {"Junior", "Senior", "Staff", "Principal"};
+    private static final String[] ROLES = {"Backend Engineer", "Frontend Engineer", "Data Engineer",
+            "Site Reliability Engineer", "Product Manager", "Designer"};
+    private static final String[] NOTES = {
+            "Referred by a former colleague, remote friendly",
+            "Recruiter reached out on LinkedIn; hybrid, three days in office",
+            "Take-home assignment due next week",
+            "Strong Java and Spring Boot stack, on-call rotation",
+            "Salary range not disclosed yet"};
+
+    private BenchmarkData() {
+    }
+
+    static List<Job> jobs(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 9, 0);
+        List<Job> jobs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Job job = new Job(company(i),
+                    LEVELS[random.nextInt(LEVELS.length)] + " " + ROLES[random.nextInt(ROLES.length)],
+                    JobStatus.values()[random.nextInt(JobStatus.values().length)],
+                    NOTES[random.nextInt(NOTES.length)]);
+            job.setCreatedAt(now.minusMinutes(i));
+            job.setUpdatedAt(now.minusMinutes(i));
+            jobs.add(job);
+        }
+        return jobs;
+    }
+
+    static String company(int i) {
+        return "Company " + (i % COMPANIES);
+    }
+}
@@ -0,0 +1,85 @@
+package com.jobtracker.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.jobtracker.model.Job;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of {@code List<Job>} response bodies.
+ *
+ * The mapper is built with the same defaults Spring Boot applies to the MVC
+ * message converters (JavaTimeModule, ISO dates). The Smile mapper is set up
+ * like the converter in {@code ResponseEncodingConfig}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JobSerializationBenchmark {
+
+    private static final TypeReference<List<Job>> JOB_LIST = new TypeReference<>() {
+    };
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper smileMapper;
+    private List<Job> jobs;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        smileMapper = Jackson2ObjectMapperBuilder.smile()
+                .factory(SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build())
+                .build();
+        jobs = BenchmarkData.jobs(rows);
+        for (int i = 0; i < jobs.size(); i++) {
+            jobs.get(i).setId((long) i + 1);
+        }
+        json = objectMapper.writeValueAsBytes(jobs);
+    }
+
+    // Streams to a discarding sink, as the message converter writes to the response
+    @Benchmark
+    public void serialize() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), jobs);
+    }
+
+    @Benchmark
+    public void serializeSmile() throws IOException {
+        smileMapper.writeValue(OutputStream.nullOutputStream(), jobs);
+    }
+
+    @Benchmark
+    public byte[] serializeToBytes() throws IOException {
+        return objectMapper.writeValueAsBytes(jobs);
+    }
+
+    @Benchmark
+    public List<Job> deserialize() throws IOException {
+        return objectMapper.readValue(json, JOB_LIST);
+    }
+}
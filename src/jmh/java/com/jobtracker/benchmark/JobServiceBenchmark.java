@@ -0,0 +1,165 @@
+package com.jobtracker.benchmark;
+
+import com.jobtracker.JobTrackerApplication;
+import com.jobtracker.model.CursorPage;
+import com.jobtracker.model.Job;
+import com.jobtracker.model.JobStatus;
+import com.jobtracker.model.JobSummary;
+import com.jobtracker.repository.JobRepository;
+import com.jobtracker.service.JobSearchIndex;
+import com.jobtracker.service.JobService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JobService} operations against an embedded H2 database seeded with
+ * {@value #JOBS} jobs.
+ *
+ * Listings served from the read-through cache are paired with the same query
+ * issued straight to the repository, so both the cache hit path and the
+ * underlying SQL show up in the results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JobServiceBenchmark {
+
+    static final int JOBS = 10_000;
+    private static final int PAGE_SIZE = 50;
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, PAGE_SIZE + 1, Sort.by("id"));
+
+    private ConfigurableApplicationContext context;
+    private JobService jobService;
+    private JobRepository jobRepository;
+    private long minId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(JobTrackerApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.jobtracker=WARN",
+                        "jobtracker.schema.verify-indexes=false")
+                .run();
+        jobService = context.getBean(JobService.class);
+        jobRepository = context.getBean(JobRepository.class);
+        jobService.createJobs(BenchmarkData.jobs(JOBS));
+        minId = jobService.getAllJobs(null, 1).getItems().get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private long randomId() {
+        return minId + ThreadLocalRandom.current().nextInt(JOBS);
+    }
+
+    private String randomCompany() {
+        return BenchmarkData.company(ThreadLocalRandom.current().nextInt(BenchmarkData.COMPANIES));
+    }
+
+    @Benchmark
+    public Optional<Job> getJobById() {
+        return jobService.getJobById(randomId());
+    }
+
+    @Benchmark
+    public Optional<Job> findByIdUncached() {
+        return jobRepository.findById(randomId());
+    }
+
+    @Benchmark
+    public CursorPage<Job> getAllJobsFirstPage() {
+        return jobService.getAllJobs(null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPage<Job> getJobsByStatus() {
+        return jobService.getJobsByStatus(JobStatus.APPLIED, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Job> findByStatusUncached() {
+        return jobRepository.findByStatusAndIdGreaterThan(JobStatus.APPLIED, 0L, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public CursorPage<Job> getJobsByCompany() {
+        return jobService.getJobsByCompany(randomCompany(), null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Job> findByCompanyUncached() {
+        return jobRepository.findByCompanyLcAndIdGreaterThan(Job.normalizeCompany(randomCompany()), 0L, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public CursorPage<JobSummary> getJobsByCompanyAndStatus() {
+        return jobService.getJobsByCompanyAndStatus(randomCompany(), JobStatus.INTERVIEW, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPage<Job> getJobsOrderedByDate() {
+        return jobService.getJobsOrderedByDate(null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPage<Job> searchJobsByPosition() {
+        return jobService.searchJobsByPosition("reliability", null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPage<Job> searchJobsByNotes() {
+        return jobService.searchJobsByNotes("remote", null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Job> searchIndexAnd() {
+        return jobService.searchJobs("senior data engineer", JobSearchIndex.Mode.AND, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Job> searchIndexOr() {
+        return jobService.searchJobs("java spring remote", JobSearchIndex.Mode.OR, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public long getJobCountsByStatus() {
+        return jobService.getJobCountsByStatus().size();
+    }
+
+    // Create then delete, so the table size stays constant across iterations
+    @Benchmark
+    public Job createAndDeleteJob() {
+        Job job = jobService.createJob(new Job("Benchmark Co", "Backend Engineer", JobStatus.APPLIED, "Temporary"));
+        jobService.deleteJob(job.getId());
+        return job;
+    }
+}
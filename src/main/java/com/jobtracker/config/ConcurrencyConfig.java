@@ -0,0 +1,41 @@
+package com.jobtracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Request admission control, enabled by setting {@code jobtracker.concurrency.max-in-flight}.
+ * Meant for the virtual-threads profile, where the container no longer bounds concurrency.
+ * That profile sizes the pool and the limit for virtual threads, so on a runtime without
+ * them startup fails rather than running platform threads with a shrunken pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "jobtracker.concurrency.max-in-flight")
+public class ConcurrencyConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestConcurrencyLimitFilter> requestConcurrencyLimitFilter(
+            @Value("${jobtracker.concurrency.max-in-flight}") int maxInFlight,
+            @Value("${jobtracker.concurrency.max-wait:2s}") Duration maxWait,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        requireVirtualThreadSupport(virtualThreads, Runtime.version().feature());
+        FilterRegistrationBean<RequestConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new RequestConcurrencyLimitFilter(maxInFlight, maxWait));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    static void requireVirtualThreadSupport(boolean virtualThreads, int javaVersion) {
+        if (virtualThreads && javaVersion < 21) {
+            throw new IllegalStateException("spring.threads.virtual.enabled is set (virtual-threads profile) but Java "
+                    + javaVersion + " has no virtual threads; run on Java 21+ or drop the profile");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.jobtracker.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Places tenants on a hash ring with a number of virtual nodes per shard.
+ *
+ * A tenant belongs to the first shard node at or after its hash, so adding a
+ * shard to N existing ones moves only about 1/(N+1) of the tenants, all of them
+ * onto the new shard. Moving their rows is an operational task; the router only
+ * decides where they are looked for.
+ */
+public class ConsistentHashShardRouter implements ShardRouter {
+
+    private final List<String> shards;
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+
+    public ConsistentHashShardRouter(List<String> shards, int virtualNodes) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be at least 1");
+        }
+        this.shards = List.copyOf(shards);
+        for (String shard : shards) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(shard + "#" + i), shard);
+            }
+        }
+    }
+
+    @Override
+    public String shardFor(String tenant) {
+        Map.Entry<Long, String> node = ring.ceilingEntry(hash(tenant));
+        return node != null ? node.getValue() : ring.firstEntry().getValue();
+    }
+
+    @Override
+    public List<String> shards() {
+        return shards;
+    }
+
+    // First eight bytes of the MD5 digest: stable across JVMs and evenly spread, unlike String.hashCode
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long hash = 0;
+            for (int i = 0; i < 8; i++) {
+                hash = (hash << 8) | (digest[i] & 0xff);
+            }
+            return hash;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.jobtracker.config;
+
+import com.jobtracker.repository.JobBatchRepository;
+import com.jobtracker.repository.JobRepository;
+import com.jobtracker.repository.JobRollupRepository;
+import com.jobtracker.repository.embedded.EmbeddedJobBatchRepository;
+import com.jobtracker.repository.embedded.EmbeddedJobRepository;
+import com.jobtracker.repository.embedded.EmbeddedJobRollupRepository;
+import com.jobtracker.repository.embedded.EmbeddedJobStore;
+import com.jobtracker.repository.embedded.JobStoreSnapshotter;
+import com.jobtracker.service.JobCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * The {@code embedded} profile: jobs live in {@link EmbeddedJobStore} instead of
+ * the jobs table. Its repositories take precedence over the JPA and JDBC ones, so
+ * the services run on it unchanged; the change log, status history and rollups
+ * stay in the (embedded H2) database of {@code application-embedded.properties}.
+ * Readers see uncommitted writes, so a rollback evicts those jobs from {@link JobCache}.
+ * Not combinable with sharding.
+ */
+@Configuration
+@Profile("embedded")
+public class EmbeddedStoreConfig {
+
+    @Bean(destroyMethod = "close")
+    public EmbeddedJobStore embeddedJobStore(@Value("${jobtracker.embedded.data-dir:data/jobs}") Path directory,
+                                             @Value("${jobtracker.embedded.log-size:64MB}") DataSize logSize,
+                                             @Value("${jobtracker.embedded.sync-writes:false}") boolean syncWrites,
+                                             JobCache jobCache) {
+        EmbeddedJobStore store = new EmbeddedJobStore(directory, Math.toIntExact(logSize.toBytes()), syncWrites);
+        store.onRollback(jobCache::evictRemoteChanges);
+        return store;
+    }
+
+    @Bean
+    public JobStoreSnapshotter jobStoreSnapshotter(EmbeddedJobStore store) {
+        return new JobStoreSnapshotter(store);
+    }
+
+    @Bean
+    @Primary
+    public JobRepository embeddedJobRepository(EmbeddedJobStore store) {
+        return new EmbeddedJobRepository(store);
+    }
+
+    @Bean
+    @Primary
+    public JobBatchRepository embeddedJobBatchRepository(EmbeddedJobStore store) {
+        return new EmbeddedJobBatchRepository(store);
+    }
+
+    @Bean
+    @Primary
+    public JobRollupRepository embeddedJobRollupRepository(NamedParameterJdbcTemplate jdbcTemplate, EmbeddedJobStore store) {
+        return new EmbeddedJobRollupRepository(jdbcTemplate, store);
+    }
+}
@@ -0,0 +1,27 @@
+package com.jobtracker.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Keeps beans eager that would silently never run under
+ * {@code spring.main.lazy-initialization}: nothing asks for the scheduled jobs
+ * (purger, pruner, counter reconciliation, rollup refresh, store snapshots), so
+ * as lazy beans they would never be created and never scheduled. Their
+ * dependencies are created with them. Application runners and event listeners
+ * are looked up by Spring itself and are safe to leave lazy.
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter scheduledBeansStayEager() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && !MethodIntrospector.selectMethods(beanType,
+                (MethodIntrospector.MetadataLookup<Boolean>) method ->
+                        AnnotatedElementUtils.hasAnnotation(method, Scheduled.class) ? Boolean.TRUE : null).isEmpty();
+    }
+}
@@ -0,0 +1,31 @@
+package com.jobtracker.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Buffers listing pages so they are sent with a Content-Length. The message
+ * converters stream their output, and Tomcat compresses every response of
+ * unknown length, so without it {@code server.compression.min-response-size}
+ * would not spare small pages. Pages are bounded by the page size limit; the
+ * streaming endpoints (export, change stream) are not mapped to this filter.
+ */
+public class ListingContentLengthFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, buffered);
+        } finally {
+            buffered.copyBodyToResponse();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.jobtracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Sampled request logging, enabled by setting {@code jobtracker.logging.request-sample-rate}
+ * (as the prod profile does).
+ */
+@Configuration
+@ConditionalOnProperty(name = "jobtracker.logging.request-sample-rate")
+public class LoggingConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestSamplingLogFilter> requestSamplingLogFilter(
+            @Value("${jobtracker.logging.request-sample-rate}") double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("jobtracker.logging.request-sample-rate must be between 0 and 1");
+        }
+        FilterRegistrationBean<RequestSamplingLogFilter> registration =
+                new FilterRegistrationBean<>(new RequestSamplingLogFilter(sampleRate));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
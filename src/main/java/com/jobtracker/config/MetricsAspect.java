@@ -0,0 +1,121 @@
+package com.jobtracker.config;
+
+import com.jobtracker.model.CursorPage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every public {@code JobService} and repository call and records the size
+ * of the results they return.
+ *
+ * Meters are tagged with the layer, the interface or class name and the method
+ * name, so a slow finder shows up by name without any hand-written timers.
+ * Percentiles and histogram buckets are configured through the
+ * {@code management.metrics.distribution.*} properties. Outermost, so the timings
+ * include transactions and calls waiting on a coalesced read.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MetricsAspect {
+
+    static final String CALLS = "jobtracker.invocations";
+    static final String RESULT_SIZE = "jobtracker.result.size";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, String> typeNames = new ConcurrentHashMap<>();
+
+    public MetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.jobtracker.service.JobService+.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record("service", joinPoint);
+    }
+
+    // Spring Data repositories also inherit finders such as findById and save from
+    // CrudRepository and JpaRepository, which the package pattern alone does not match
+    @Around("execution(public * com.jobtracker.repository..*.*(..)) || "
+            + "(execution(public * *(..)) && this(org.springframework.data.repository.Repository) "
+            + "&& !execution(* java.lang.Object.*(..)))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record("repository", joinPoint);
+    }
+
+    private Object record(String layer, ProceedingJoinPoint joinPoint) throws Throwable {
+        String type = typeName(joinPoint.getTarget());
+        String method = joinPoint.getSignature().getName();
+        String exception = "none";
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Object result = joinPoint.proceed();
+            recordSize(layer, type, method, result);
+            return result;
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(CALLS)
+                    .description("Latency of service and repository calls")
+                    .tags("layer", layer, "type", type, "method", method, "exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private void recordSize(String layer, String type, String method, Object result) {
+        int size = sizeOf(result);
+        if (size < 0) {
+            return;
+        }
+        DistributionSummary.builder(RESULT_SIZE)
+                .description("Number of rows returned by service and repository calls")
+                .baseUnit("rows")
+                .tags("layer", layer, "type", type, "method", method)
+                .register(meterRegistry)
+                .record(size);
+    }
+
+    // -1 for results that are not row collections (counts, entities, void)
+    private static int sizeOf(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof CursorPage<?> page) {
+            return page.getItems().size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof int[] counts) {
+            return counts.length;
+        }
+        return -1;
+    }
+
+    // Spring Data repositories are JDK proxies: report the application interface, not the proxy class
+    private String typeName(Object target) {
+        return typeNames.computeIfAbsent(ClassUtils.getUserClass(target), type -> {
+            if (Proxy.isProxyClass(type)) {
+                for (Class<?> candidate : type.getInterfaces()) {
+                    if (candidate.getName().startsWith("com.jobtracker.")) {
+                        return candidate.getSimpleName();
+                    }
+                }
+            }
+            return type.getSimpleName();
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package com.jobtracker.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Service/repository call metrics and per-request query counts. Connection pool
+ * metrics ({@code hikaricp.connections.*}) come from Spring Boot's auto-configuration,
+ * which sees through the counting data source wrapper.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MetricsAspect metricsAspect(MeterRegistry meterRegistry) {
+        return new MetricsAspect(meterRegistry);
+    }
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)) {
+                    return new QueryCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryCountFilter> registration = new FilterRegistrationBean<>(new QueryCountFilter(meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        // Inside the admission filter, so rejected requests are not counted
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,50 @@
+package com.jobtracker.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements each API request issued, tagged by method and
+ * URI template, using the counts collected by {@link QueryCountingDataSource}.
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    static final String QUERIES = "jobtracker.http.db.queries";
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCountingDataSource.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int queries = QueryCountingDataSource.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder(QUERIES)
+                    .description("SQL statements issued per API request")
+                    .baseUnit("statements")
+                    .tags("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .register(meterRegistry)
+                    .record(queries);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return true;
+    }
+}
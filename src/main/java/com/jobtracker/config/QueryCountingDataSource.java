@@ -0,0 +1,66 @@
+package com.jobtracker.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+
+/**
+ * Counts the statements prepared on the current thread, so that the number of
+ * database round trips per HTTP request can be recorded.
+ *
+ * A JDBC batch counts once. Counting only happens between {@link #start()} and
+ * {@link #stop()}; work handed to other threads (streamed exports, scheduled
+ * jobs) is not attributed to any request.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> STATEMENT_METHODS = Set.of("prepareStatement", "prepareCall", "createStatement");
+    private static final ThreadLocal<int[]> COUNTER = new ThreadLocal<>();
+
+    public QueryCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    static void start() {
+        COUNTER.set(new int[1]);
+    }
+
+    // Returns the number of statements since start() and stops counting
+    static int stop() {
+        int[] counter = COUNTER.get();
+        COUNTER.remove();
+        return counter != null ? counter[0] : 0;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+    private static Connection counting(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    if (STATEMENT_METHODS.contains(method.getName())) {
+                        int[] counter = COUNTER.get();
+                        if (counter != null) {
+                            counter[0]++;
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,86 @@
+package com.jobtracker.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read replicas, enabled by setting {@code jobtracker.datasource.replica-urls}.
+ *
+ * Replaces the auto-configured data source with one that routes read-only
+ * transactions to the replicas and all other work (writes, Flyway, schema
+ * validation) to {@code spring.datasource.url}. Every pool takes its settings
+ * from {@code spring.datasource.hikari.*} and reports {@code hikaricp.*} metrics
+ * tagged with its pool name.
+ */
+@Configuration
+@ConditionalOnProperty(name = "jobtracker.datasource.replica-urls")
+public class ReadReplicaConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaConfig.class);
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry,
+                                 @Value("${jobtracker.datasource.replica-urls}") List<String> replicaUrls,
+                                 @Value("${jobtracker.datasource.replica-username:${spring.datasource.username:}}") String replicaUsername,
+                                 @Value("${jobtracker.datasource.replica-password:${spring.datasource.password:}}") String replicaPassword) {
+        Map<Object, Object> targets = new HashMap<>();
+        HikariDataSource primary = pool(properties, environment, meterRegistry, ReadWriteRoutingDataSource.PRIMARY);
+        targets.put(ReadWriteRoutingDataSource.PRIMARY, primary);
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            String name = ReadWriteRoutingDataSource.REPLICA_PREFIX + i;
+            HikariDataSource replica = pool(properties, environment, meterRegistry, name);
+            replica.setJdbcUrl(replicaUrls.get(i).trim());
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            replica.setReadOnly(true);
+            targets.put(name, replica);
+        }
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(replicaUrls.size());
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        logger.info("Routing read-only transactions to {} read replicas", replicaUrls.size());
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${jobtracker.datasource.read-your-writes-window:5s}") Duration window) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(window));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 3);
+        // A zero window turns read-your-writes off
+        registration.setEnabled(!window.isZero());
+        return registration;
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Environment environment,
+                                         MeterRegistry meterRegistry, String name) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setMetricRegistry(meterRegistry);
+        return pool;
+    }
+}
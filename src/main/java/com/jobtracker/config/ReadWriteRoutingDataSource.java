@@ -0,0 +1,71 @@
+package com.jobtracker.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Sends connections for read-only transactions to the read replicas, round robin,
+ * and everything else to the primary.
+ *
+ * The routing decision needs the transaction's read-only flag, which Spring sets
+ * only after the transaction has begun, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} that
+ * defers fetching the connection until the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA_PREFIX = "replica-";
+
+    private static final ThreadLocal<Boolean> primaryOnly = new ThreadLocal<>();
+
+    private final int replicaCount;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(int replicaCount) {
+        this.replicaCount = replicaCount;
+    }
+
+    /**
+     * Runs the given work with every connection taken from the primary, for reads
+     * that must not see replication lag (read-your-writes, reconciliation against
+     * state written by this instance).
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = enterPrimaryOnly();
+        try {
+            return work.get();
+        } finally {
+            restorePrimaryOnly(previous);
+        }
+    }
+
+    static Boolean enterPrimaryOnly() {
+        Boolean previous = primaryOnly.get();
+        primaryOnly.set(Boolean.TRUE);
+        return previous;
+    }
+
+    static void restorePrimaryOnly(Boolean previous) {
+        if (previous == null) {
+            primaryOnly.remove();
+        } else {
+            primaryOnly.set(previous);
+        }
+    }
+
+    public static boolean isPrimaryOnly() {
+        return Boolean.TRUE.equals(primaryOnly.get());
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicaCount == 0 || isPrimaryOnly() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        return REPLICA_PREFIX + Math.floorMod(next.getAndIncrement(), replicaCount);
+    }
+}
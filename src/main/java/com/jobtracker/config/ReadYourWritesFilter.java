@@ -0,0 +1,82 @@
+package com.jobtracker.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Keeps a client's reads on the primary for a short window after it wrote, so a
+ * job it just created or changed is not missing from a lagging replica.
+ *
+ * A write request sets a cookie holding its time; requests carrying a cookie from
+ * within the window, and the write request itself, read from the primary. The
+ * state lives with the client, so it holds across instances. Clients that do not
+ * keep cookies can send it back themselves.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "jobtracker-last-write";
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final long windowMillis;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean write = WRITE_METHODS.contains(request.getMethod());
+        if (write) {
+            // Set before the body is written, while headers can still be added
+            Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(now));
+            cookie.setPath("/api");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (windowMillis + 999) / 1000));
+            response.addCookie(cookie);
+        }
+        if (!write && !wroteRecently(request, now)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Boolean previous = ReadWriteRoutingDataSource.enterPrimaryOnly();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadWriteRoutingDataSource.restorePrimaryOnly(previous);
+        }
+    }
+
+    private boolean wroteRecently(HttpServletRequest request, long now) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    long writtenAt = Long.parseLong(cookie.getValue());
+                    return now - writtenAt < windowMillis;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return true;
+    }
+}
@@ -0,0 +1,70 @@
+package com.jobtracker.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for API requests: at most {@code maxInFlight} requests run at
+ * once, later ones wait up to {@code maxWait} and are then rejected with 503.
+ *
+ * With virtual threads the servlet container no longer caps concurrency, so
+ * without this every burst would turn into a queue of threads blocked on the
+ * connection pool and end in connection timeouts.
+ */
+public class RequestConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestConcurrencyLimitFilter.class);
+
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+
+    public RequestConcurrencyLimitFilter(int maxInFlight, Duration maxWait) {
+        this.permits = new Semaphore(maxInFlight, true);
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            logger.warn("Rejected {} {}: too many requests in flight", request.getMethod(), request.getRequestURI());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Too many requests in flight");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Streamed responses keep their permit only for the initial dispatch
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return true;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+}
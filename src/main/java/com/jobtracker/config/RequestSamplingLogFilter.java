@@ -0,0 +1,60 @@
+package com.jobtracker.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs a random sample of API requests, and every request that ended in a server error,
+ * as a single line with method, path, status and latency.
+ *
+ * Replaces logging every request: at a sample rate of 1% the log volume no longer
+ * grows with traffic while still showing what the traffic looks like. The query
+ * string is left out so search terms do not end up in the logs.
+ */
+public class RequestSamplingLogFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestSamplingLogFilter.class);
+
+    private final double sampleRate;
+
+    public RequestSamplingLogFilter(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean sampled = ThreadLocalRandom.current().nextDouble() < sampleRate;
+        if (!sampled && !logger.isWarnEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            chain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (status >= 500) {
+                logger.warn("{} {} {} {}ms", request.getMethod(), request.getRequestURI(), status, millis);
+            } else if (sampled && logger.isInfoEnabled()) {
+                logger.info("{} {} {} {}ms", request.getMethod(), request.getRequestURI(), status, millis);
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return true;
+    }
+}
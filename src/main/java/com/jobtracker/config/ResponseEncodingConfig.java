@@ -0,0 +1,44 @@
+package com.jobtracker.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Smile, Jackson's binary JSON, for clients that send
+ * {@code Accept: application/x-jackson-smile}. Field names are written once per
+ * response and referred back to afterwards, as are repeated short values such as
+ * companies and statuses, and numbers and timestamps are not rendered as text.
+ *
+ * Spring MVC would register a Smile converter by itself once the codec is on the
+ * classpath, but with a plain mapper; this one is built from Spring Boot's
+ * builder so it serializes exactly like the JSON converter (ISO dates, field
+ * filters). Gzip of large responses is configured by {@code server.compression.*};
+ * {@link ListingContentLengthFilter} lets its size threshold apply to listings.
+ */
+@Configuration
+public class ResponseEncodingConfig {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(factory).build());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ListingContentLengthFilter> listingContentLengthFilter() {
+        FilterRegistrationBean<ListingContentLengthFilter> registration =
+                new FilterRegistrationBean<>(new ListingContentLengthFilter());
+        registration.addUrlPatterns("/api/jobs", "/api/jobs/status/*", "/api/jobs/company/*", "/api/jobs/search/*",
+                "/api/jobs/search", "/api/jobs/ordered/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+}
@@ -0,0 +1,91 @@
+package com.jobtracker.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Fails startup when the jobs table lacks an index that one of the repository
+ * queries relies on, instead of letting those queries silently fall back to
+ * full table scans. Each required column list must be a leading prefix of some index.
+ */
+@Component
+@ConditionalOnProperty(name = "jobtracker.schema.verify-indexes", havingValue = "true", matchIfMissing = true)
+public class SchemaIndexVerifier implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaIndexVerifier.class);
+
+    static final String TABLE = "jobs";
+
+    static final List<List<String>> REQUIRED_INDEXES = List.of(
+            List.of("tenant_id", "id"),
+            List.of("tenant_id", "status"),
+            List.of("tenant_id", "company_lc", "status"),
+            List.of("tenant_id", "company_lc", "id"),
+            List.of("tenant_id", "created_at", "id"),
+            List.of("tenant_id", "company", "id"),
+            List.of("tenant_id", "updated_at"),
+            List.of("tenant_id", "status", "updated_at"),
+            List.of("tenant_id", "company_lc", "updated_at"));
+
+    private final DataSource dataSource;
+
+    @Autowired
+    public SchemaIndexVerifier(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        List<List<String>> indexes = readIndexes();
+        List<List<String>> missing = REQUIRED_INDEXES.stream()
+                .filter(required -> indexes.stream().noneMatch(index -> startsWith(index, required)))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Table " + TABLE + " is missing indexes on " + missing
+                    + "; run the pending schema migrations");
+        }
+        logger.info("Verified {} required indexes on table {}", REQUIRED_INDEXES.size(), TABLE);
+    }
+
+    // Column lists of every index on the table, lowercased and in key order
+    private List<List<String>> readIndexes() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String table = metaData.storesUpperCaseIdentifiers() ? TABLE.toUpperCase(Locale.ROOT) : TABLE;
+            Map<String, TreeMap<Short, String>> columnsByIndex = new TreeMap<>();
+            try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table, false, false)) {
+                while (rs.next()) {
+                    String index = rs.getString("INDEX_NAME");
+                    String column = rs.getString("COLUMN_NAME");
+                    if (index != null && column != null) {
+                        columnsByIndex.computeIfAbsent(index, name -> new TreeMap<>())
+                                .put(rs.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            List<List<String>> indexes = new ArrayList<>();
+            columnsByIndex.values().forEach(columns -> indexes.add(new ArrayList<>(columns.values())));
+            return indexes;
+        }
+    }
+
+    private static boolean startsWith(List<String> index, List<String> required) {
+        return index.size() >= required.size() && index.subList(0, required.size()).equals(required);
+    }
+}
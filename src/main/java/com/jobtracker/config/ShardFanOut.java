@@ -0,0 +1,115 @@
+package com.jobtracker.config;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs work for all tenants on every shard and hands back one result per shard
+ * for the caller to merge.
+ *
+ * Without sharding there is a single database, which already holds every
+ * tenant, so the work runs once on the calling thread. Work for a single tenant
+ * always runs once as well, on that tenant's shard.
+ */
+@Component
+public class ShardFanOut {
+
+    private final List<String> shards;
+    private final ExecutorService executor;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Autowired
+    public ShardFanOut(ObjectProvider<ShardRouter> shardRouter, PlatformTransactionManager transactionManager,
+                       @Value("${jobtracker.sharding.fan-out-threads:16}") int fanOutThreads) {
+        ShardRouter router = shardRouter.getIfAvailable();
+        this.shards = router != null ? router.shards() : List.of();
+        this.executor = shards.size() > 1 ? Executors.newFixedThreadPool(fanOutThreads, daemonThreads()) : null;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Runs a read in a read-only transaction: once when working for a single
+     * tenant, and on every shard in parallel when working for all tenants.
+     * Results come back in shard order.
+     */
+    public <T> List<T> read(Supplier<T> work) {
+        Supplier<T> transactional = () -> readOnlyTransaction.execute(status -> work.get());
+        if (executor == null || !TenantContext.isAllTenants()) {
+            List<T> results = new ArrayList<>(1);
+            results.add(transactional.get());
+            return results;
+        }
+        String tenant = TenantContext.current();
+        List<Future<T>> futures = new ArrayList<>(shards.size());
+        for (String shard : shards) {
+            futures.add(executor.submit(() -> TenantContext.callAs(tenant,
+                    () -> ShardRoutingDataSource.onShard(shard, transactional))));
+        }
+        List<T> results = new ArrayList<>(shards.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Interrupted while reading from the shards", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Reading from a shard failed", e.getCause());
+        }
+        return results;
+    }
+
+    /**
+     * Runs background maintenance once per shard, one shard after another, on
+     * the calling thread. Callers manage their own transactions and tenant.
+     */
+    public void forEachShard(Runnable work) {
+        if (shards.isEmpty()) {
+            work.run();
+            return;
+        }
+        for (String shard : shards) {
+            ShardRoutingDataSource.onShard(shard, () -> {
+                work.run();
+                return null;
+            });
+        }
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "shard-fan-out-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
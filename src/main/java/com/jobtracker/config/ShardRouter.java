@@ -0,0 +1,19 @@
+package com.jobtracker.config;
+
+import java.util.List;
+
+/**
+ * Decides which shard holds a tenant's data. All of a tenant's rows live on one
+ * shard, so single-tenant work never crosses shards.
+ *
+ * The default is {@link ConsistentHashShardRouter}; declaring another bean of
+ * this type replaces it, for example to pin large tenants to dedicated shards.
+ */
+public interface ShardRouter {
+
+    // The shard that holds the given tenant's data; never called for all tenants
+    String shardFor(String tenant);
+
+    // Every shard, each named as in the data source's target map
+    List<String> shards();
+}
@@ -0,0 +1,52 @@
+package com.jobtracker.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.function.Supplier;
+
+/**
+ * Sends each connection to the shard of the current tenant from {@link TenantContext}.
+ *
+ * Work for all tenants has no shard of its own and must name one through
+ * {@link #onShard}, which {@link ShardFanOut} does for each shard in turn.
+ * Like {@link ReadWriteRoutingDataSource}, this sits behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so
+ * that the shard is chosen when the first statement runs.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<String> shard = new ThreadLocal<>();
+
+    private final ShardRouter router;
+
+    public ShardRoutingDataSource(ShardRouter router) {
+        this.router = router;
+    }
+
+    // Runs the given work with every connection taken from the named shard, whatever the tenant
+    public static <T> T onShard(String name, Supplier<T> work) {
+        String previous = shard.get();
+        shard.set(name);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                shard.remove();
+            } else {
+                shard.set(previous);
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String name = shard.get();
+        if (name != null) {
+            return name;
+        }
+        if (TenantContext.isAllTenants()) {
+            throw new IllegalStateException("Work for all tenants must run on each shard through ShardFanOut");
+        }
+        return router.shardFor(TenantContext.current());
+    }
+}
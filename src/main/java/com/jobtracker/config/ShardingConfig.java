@@ -0,0 +1,124 @@
+package com.jobtracker.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tenant sharding, enabled by setting {@code jobtracker.sharding.shard-urls}.
+ *
+ * {@code spring.datasource.url} becomes shard-0 and each listed URL one more
+ * shard. The auto-configured data source is replaced with one that sends every
+ * connection to the shard the {@link ShardRouter} picks for the current tenant.
+ * Each shard is migrated at startup and hands out ids from its own range of
+ * 2^40, so ids stay unique across shards and results merged from several
+ * shards can be ordered by id. Cannot be combined with read replicas.
+ */
+@Configuration
+@ConditionalOnProperty(name = "jobtracker.sharding.shard-urls")
+public class ShardingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardingConfig.class);
+
+    static final String SHARD_PREFIX = "shard-";
+
+    // Ids of shard n start at n << ID_RANGE_BITS
+    static final int ID_RANGE_BITS = 40;
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ShardRouter shardRouter(@Value("${jobtracker.sharding.shard-urls}") List<String> shardUrls,
+                                   @Value("${jobtracker.sharding.virtual-nodes:128}") int virtualNodes) {
+        List<String> shards = new ArrayList<>();
+        for (int i = 0; i <= shardUrls.size(); i++) {
+            shards.add(SHARD_PREFIX + i);
+        }
+        return new ConsistentHashShardRouter(shards, virtualNodes);
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry,
+                                 ShardRouter shardRouter,
+                                 @Value("${jobtracker.sharding.shard-urls}") List<String> shardUrls,
+                                 @Value("${jobtracker.sharding.shard-username:${spring.datasource.username:}}") String shardUsername,
+                                 @Value("${jobtracker.sharding.shard-password:${spring.datasource.password:}}") String shardPassword,
+                                 @Value("${spring.flyway.baseline-on-migrate:false}") boolean baselineOnMigrate,
+                                 @Value("${spring.flyway.baseline-version:1}") String baselineVersion) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i <= shardUrls.size(); i++) {
+            String name = SHARD_PREFIX + i;
+            HikariDataSource shard = pool(properties, environment, meterRegistry, name);
+            if (i > 0) {
+                shard.setJdbcUrl(shardUrls.get(i - 1).trim());
+                shard.setUsername(shardUsername);
+                shard.setPassword(shardPassword);
+            }
+            // Flyway's auto-configuration only reaches the default tenant's shard
+            Flyway.configure()
+                    .dataSource(shard)
+                    .baselineOnMigrate(baselineOnMigrate)
+                    .baselineVersion(baselineVersion)
+                    .load()
+                    .migrate();
+            startIdsAt(shard, (long) i << ID_RANGE_BITS);
+            targets.put(name, shard);
+        }
+        if (!targets.keySet().containsAll(shardRouter.shards())) {
+            throw new IllegalStateException("Shard router names shards " + shardRouter.shards()
+                    + " but only " + targets.keySet() + " are configured");
+        }
+
+        ShardRoutingDataSource routing = new ShardRoutingDataSource(shardRouter);
+        routing.setTargetDataSources(targets);
+        routing.setLenientFallback(false);
+        routing.afterPropertiesSet();
+        logger.info("Routing tenants over {} shards", targets.size());
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    // Moves the shard's id sequence to the start of its range unless it is already inside it
+    private static void startIdsAt(DataSource shard, long firstId) {
+        if (firstId == 0) {
+            return;
+        }
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(shard);
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM jobs", Long.class);
+        if (maxId != null && maxId >= firstId) {
+            return;
+        }
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        jdbcTemplate.execute("H2".equals(product)
+                ? "ALTER TABLE jobs ALTER COLUMN id RESTART WITH " + firstId
+                : "ALTER TABLE jobs AUTO_INCREMENT = " + firstId);
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Environment environment,
+                                         MeterRegistry meterRegistry, String name) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setMetricRegistry(meterRegistry);
+        return pool;
+    }
+}
@@ -0,0 +1,28 @@
+package com.jobtracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Multi-tenancy: {@link TenantFilter} binds each request to a tenant, Hibernate
+ * scopes every query on {@link com.jobtracker.model.Job} to it through the
+ * {@code @TenantId} column and {@link TenantIdentifierResolver}, and the plain
+ * JDBC repositories scope themselves.
+ */
+@Configuration
+public class TenancyConfig {
+
+    @Bean
+    public FilterRegistrationBean<TenantFilter> tenantFilter(
+            @Value("${jobtracker.tenancy.all-tenants.enabled:false}") boolean allTenantsEnabled,
+            @Value("${jobtracker.tenancy.all-tenants.admin-token:}") String adminToken) {
+        FilterRegistrationBean<TenantFilter> registration =
+                new FilterRegistrationBean<>(new TenantFilter(allTenantsEnabled, adminToken));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 4);
+        return registration;
+    }
+}
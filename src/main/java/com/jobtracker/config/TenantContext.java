@@ -0,0 +1,89 @@
+package com.jobtracker.config;
+
+import java.util.function.Supplier;
+
+/**
+ * The tenant the current thread works for.
+ *
+ * Requests get theirs from {@link TenantFilter}; code that runs without one
+ * works for {@link #DEFAULT_TENANT}. Background work that spans tenants, such as
+ * reconciling counters or rebuilding rollups, runs as {@link #ALL_TENANTS},
+ * which lifts the tenant restriction on reads. Nothing is ever written as
+ * {@link #ALL_TENANTS}.
+ */
+public final class TenantContext {
+
+    public static final String DEFAULT_TENANT = "default";
+    public static final String ALL_TENANTS = "*";
+
+    private static final ThreadLocal<String> current = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String current() {
+        String tenant = current.get();
+        return tenant != null ? tenant : DEFAULT_TENANT;
+    }
+
+    public static boolean isAllTenants() {
+        return ALL_TENANTS.equals(current.get());
+    }
+
+    // The tenant to write for; writes always belong to exactly one tenant
+    public static String requireTenant() {
+        String tenant = current();
+        if (ALL_TENANTS.equals(tenant)) {
+            throw new IllegalStateException("Writes need a single tenant, not all tenants");
+        }
+        return tenant;
+    }
+
+    // Runs the given work for a tenant, restoring the previous one afterwards
+    public static <T> T callAs(String tenant, Supplier<T> work) {
+        String previous = enter(tenant);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public static void runAs(String tenant, Runnable work) {
+        callAs(tenant, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // Wraps work so that it runs for the calling thread's tenant on whichever thread executes it
+    public static Runnable propagate(Runnable work) {
+        String tenant = current.get();
+        return () -> {
+            String previous = enter(tenant);
+            try {
+                work.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    static String enter(String tenant) {
+        String previous = current.get();
+        if (tenant == null) {
+            current.remove();
+        } else {
+            current.set(tenant);
+        }
+        return previous;
+    }
+
+    static void restore(String previous) {
+        if (previous == null) {
+            current.remove();
+        } else {
+            current.set(previous);
+        }
+    }
+}
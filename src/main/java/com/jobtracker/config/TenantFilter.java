@@ -0,0 +1,89 @@
+package com.jobtracker.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Runs each request for the tenant named in the {@code X-Tenant-Id} header, or
+ * for the default tenant without one.
+ *
+ * The header is trusted as is: the application does not authenticate tenants, so
+ * it must be set by a trusted gateway or proxy that authenticates the caller and
+ * replaces any {@code X-Tenant-Id} or {@code X-Admin-Token} the client sent.
+ *
+ * {@code X-Tenant-Id: *} asks for all tenants at once. It is refused unless
+ * enabled with {@code jobtracker.tenancy.all-tenants.enabled}, and then also
+ * needs the configured admin token in {@code X-Admin-Token}. It is only accepted
+ * by the read endpoints that merge results across tenants and shards; everywhere
+ * else a request works for a single tenant.
+ */
+public class TenantFilter extends OncePerRequestFilter {
+
+    static final String HEADER_NAME = "X-Tenant-Id";
+    static final String ADMIN_TOKEN_HEADER = "X-Admin-Token";
+
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    // Endpoints that fan out across tenants and shards and merge the results
+    private static final Set<String> ALL_TENANT_PATHS = Set.of(
+            "/api/jobs", "/api/jobs/analytics", "/api/jobs/analytics/stage-durations");
+
+    // Null when reads across all tenants are disabled
+    private final byte[] adminToken;
+
+    public TenantFilter(boolean allTenantsEnabled, String adminToken) {
+        if (allTenantsEnabled && (adminToken == null || adminToken.isBlank())) {
+            throw new IllegalStateException("jobtracker.tenancy.all-tenants.enabled is set but "
+                    + "jobtracker.tenancy.all-tenants.admin-token is empty");
+        }
+        this.adminToken = allTenantsEnabled ? adminToken.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String tenant = request.getHeader(HEADER_NAME);
+        if (tenant == null || tenant.isBlank()) {
+            tenant = TenantContext.DEFAULT_TENANT;
+        } else if (tenant.equals(TenantContext.ALL_TENANTS)) {
+            if (!isAdmin(request)) {
+                response.sendError(HttpStatus.FORBIDDEN.value(), adminToken == null
+                        ? "Reads across all tenants are disabled"
+                        : HEADER_NAME + ": * needs a valid " + ADMIN_TOKEN_HEADER);
+                return;
+            }
+            if (!request.getMethod().equals("GET") || !ALL_TENANT_PATHS.contains(request.getRequestURI())) {
+                response.sendError(HttpStatus.BAD_REQUEST.value(),
+                        HEADER_NAME + ": * is only accepted by GET " + String.join(", ", ALL_TENANT_PATHS));
+                return;
+            }
+        } else if (!TENANT_ID.matcher(tenant).matches()) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(),
+                    HEADER_NAME + " must be 1 to 64 letters, digits, '_' or '-'");
+            return;
+        }
+        String previous = TenantContext.enter(tenant);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            TenantContext.restore(previous);
+        }
+    }
+
+    private boolean isAdmin(HttpServletRequest request) {
+        String token = request.getHeader(ADMIN_TOKEN_HEADER);
+        // Constant-time, so the token cannot be guessed from response times
+        return adminToken != null && token != null
+                && MessageDigest.isEqual(adminToken, token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,27 @@
+package com.jobtracker.config;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/**
+ * Opens Hibernate sessions for the thread's tenant from {@link TenantContext};
+ * working for all tenants lifts the tenant restriction. Registered through
+ * {@code spring.jpa.properties.hibernate.tenant_identifier_resolver}, so that it
+ * also applies to sliced test contexts.
+ */
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return TenantContext.current();
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+
+    @Override
+    public boolean isRoot(String tenantId) {
+        return TenantContext.ALL_TENANTS.equals(tenantId);
+    }
+}
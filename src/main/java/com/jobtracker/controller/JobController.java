@@ -1,39 +1,111 @@
 package com.jobtracker.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.jobtracker.config.TenantContext;
+import com.jobtracker.model.BatchItemResult;
+import com.jobtracker.model.ChangeFeed;
+import com.jobtracker.model.CollectionVersion;
+import com.jobtracker.model.CursorPage;
+import com.jobtracker.model.ImportRowError;
+import com.jobtracker.model.ImportStatus;
 import com.jobtracker.model.Job;
+import com.jobtracker.model.JobAnalytics;
+import com.jobtracker.model.JobPatch;
 import com.jobtracker.model.JobStatus;
+import com.jobtracker.model.JobSummary;
+import com.jobtracker.model.StageDurations;
+import com.jobtracker.model.StatusPeriod;
+import com.jobtracker.service.ChangeTokenExpiredException;
+import com.jobtracker.service.JobAnalyticsService;
+import com.jobtracker.service.JobChangeBroadcaster;
+import com.jobtracker.service.JobImportService;
+import com.jobtracker.service.JobSearchIndex;
 import com.jobtracker.service.JobService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
 
 @RestController
 @RequestMapping("/api/jobs")
 @Tag(name = "Job Management", description = "Operations for managing job applications")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = {JobController.NEXT_CURSOR_HEADER, HttpHeaders.ETAG})
 public class JobController {
     
     private static final Logger logger = LoggerFactory.getLogger(JobController.class);
     
+    // Response header carrying the opaque cursor of the next page; absent on the last page
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
+    private static final String DEFAULT_PAGE_SIZE = "50";
+    
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+    private static final String SMILE_ETAG_SUFFIX = "-smile";
+    
+    // Listings and single jobs vary by representation and by transfer encoding
+    private static final List<String> REPRESENTATION_VARY = List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+    
+    private static final String FIELD_NAMES = "id, company, position, status, createdAt, updatedAt";
+    
     private final JobService jobService;
+    private final JobChangeBroadcaster changeBroadcaster;
+    private final JobImportService importService;
+    private final JobAnalyticsService analyticsService;
+    private final ObjectWriter jobWriter;
     
     @Autowired
-    public JobController(JobService jobService) {
+    public JobController(JobService jobService, JobChangeBroadcaster changeBroadcaster, JobImportService importService,
+                         JobAnalyticsService analyticsService, ObjectMapper objectMapper) {
         this.jobService = jobService;
+        this.changeBroadcaster = changeBroadcaster;
+        this.importService = importService;
+        this.analyticsService = analyticsService;
+        this.jobWriter = objectMapper.writerFor(Job.class);
     }
     
     @Operation(summary = "Create a new job", description = "Add a new job application to the system")
@@ -50,45 +122,117 @@ public class JobController {
     }
     
     @Operation(summary = "Get all jobs", description = "Retrieve all job applications")
-    @ApiResponse(responseCode = "200", description = "Jobs retrieved successfully",
-                content = @Content(mediaType = "application/json", schema = @Schema(implementation = Job.class)))
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Jobs retrieved successfully",
+                    headers = @Header(name = NEXT_CURSOR_HEADER, description = "Cursor of the next page, absent on the last page"),
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Job.class)))),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match", content = @Content)
+    })
     @GetMapping
-    public ResponseEntity<List<Job>> getAllJobs() {
+    public ResponseEntity<?> getAllJobs(
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-500)") @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+            @Parameter(description = "Comma-separated fields to return, out of " + FIELD_NAMES + "; notes are never included") @RequestParam(required = false) String fields,
+            WebRequest request) {
         logger.info("GET /api/jobs - Fetching all jobs");
-        List<Job> jobs = jobService.getAllJobs();
-        return ResponseEntity.ok(jobs);
+        if (notModified(request, jobService.getAllJobsVersion())) {
+            return null;
+        }
+        return listResponse(fields, () -> jobService.getAllJobs(cursor, limit),
+                () -> jobService.getAllJobSummaries(cursor, limit));
     }
     
     @Operation(summary = "Get job by ID", description = "Retrieve a specific job application by its ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Job found", 
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Job.class))),
+        @ApiResponse(responseCode = "304", description = "Not modified since If-None-Match or If-Modified-Since", content = @Content),
         @ApiResponse(responseCode = "404", description = "Job not found", content = @Content)
     })
     @GetMapping("/{id}")
     public ResponseEntity<Job> getJobById(
-            @Parameter(description = "Job ID", required = true) @PathVariable Long id) {
+            @Parameter(description = "Job ID", required = true) @PathVariable Long id,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest request) {
         logger.info("GET /api/jobs/{} - Fetching job by ID", id);
         Optional<Job> job = jobService.getJobById(id);
-        return job.map(ResponseEntity::ok)
+        varyByRepresentation(request);
+        // With validators on the entity, Spring answers If-None-Match/If-Modified-Since with 304
+        return job.map(found -> found.getUpdatedAt() == null ? jobResponse(found, accept).body(found)
+                        : jobResponse(found, accept)
+                                .lastModified(found.getUpdatedAt().atZone(ZoneId.systemDefault()))
+                                .body(found))
                   .orElse(ResponseEntity.notFound().build());
     }
     
-    @Operation(summary = "Update job", description = "Update an existing job application")
+    @Operation(summary = "Get job status timeline", description = "Statuses the job went through, oldest first, "
+            + "with when it entered each and how long it stayed; the current status lasts until now")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Timeline retrieved successfully",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = StatusPeriod.class)))),
+        @ApiResponse(responseCode = "404", description = "Job not found", content = @Content)
+    })
+    @GetMapping("/{id}/timeline")
+    public ResponseEntity<List<StatusPeriod>> getStatusTimeline(
+            @Parameter(description = "Job ID", required = true) @PathVariable Long id) {
+        logger.info("GET /api/jobs/{}/timeline - Fetching status timeline", id);
+        return jobService.getStatusTimeline(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @Operation(summary = "Update job", description = "Update an existing job application. Send the job's ETag in If-Match "
+            + "to update it only if nobody else changed it since you read it.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Job updated successfully", 
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Job.class))),
         @ApiResponse(responseCode = "404", description = "Job not found", content = @Content),
-        @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content)
+        @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Job changed concurrently, retry", content = @Content),
+        @ApiResponse(responseCode = "412", description = "Job no longer matches If-Match", content = @Content)
     })
     @PutMapping("/{id}")
     public ResponseEntity<Job> updateJob(
             @Parameter(description = "Job ID", required = true) @PathVariable Long id,
+            @Parameter(description = "ETag of the job as last read") @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
             @Valid @RequestBody Job jobDetails) {
         logger.info("PUT /api/jobs/{} - Updating job", id);
         try {
-            Job updatedJob = jobService.updateJob(id, jobDetails);
-            return ResponseEntity.ok(updatedJob);
+            Job updatedJob = jobService.updateJob(id, jobDetails, expectedVersion(id, ifMatch));
+            return jobResponse(updatedJob, accept).body(updatedJob);
+        } catch (OptimisticLockingFailureException e) {
+            return versionConflict(id, ifMatch, e);
+        } catch (RuntimeException e) {
+            logger.error("Job not found with ID: {}", id);
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @Operation(summary = "Patch job", description = "Change only the properties present in the body, with a single UPDATE. "
+            + "An explicit null clears notes. Send the job's ETag in If-Match to patch it only if it is unchanged.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Job patched successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Job.class))),
+        @ApiResponse(responseCode = "404", description = "Job not found", content = @Content),
+        @ApiResponse(responseCode = "400", description = "Empty patch or invalid value", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Job changed concurrently, retry", content = @Content),
+        @ApiResponse(responseCode = "412", description = "Job no longer matches If-Match", content = @Content)
+    })
+    @PatchMapping("/{id}")
+    public ResponseEntity<Job> patchJob(
+            @Parameter(description = "Job ID", required = true) @PathVariable Long id,
+            @Parameter(description = "ETag of the job as last read") @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestBody JobPatch patch) {
+        logger.info("PATCH /api/jobs/{} - Patching job", id);
+        try {
+            Job patchedJob = jobService.patchJob(id, patch, expectedVersion(id, ifMatch));
+            return jobResponse(patchedJob, accept).body(patchedJob);
+        } catch (OptimisticLockingFailureException e) {
+            return versionConflict(id, ifMatch, e);
+        } catch (IllegalArgumentException e) {
+            throw e;
         } catch (RuntimeException e) {
             logger.error("Job not found with ID: {}", id);
             return ResponseEntity.notFound().build();
@@ -114,47 +258,106 @@ public class JobController {
     }
     
     @Operation(summary = "Get jobs by status", description = "Retrieve jobs filtered by status")
-    @ApiResponse(responseCode = "200", description = "Jobs retrieved successfully",
-                content = @Content(mediaType = "application/json", schema = @Schema(implementation = Job.class)))
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Jobs retrieved successfully",
+                    headers = @Header(name = NEXT_CURSOR_HEADER, description = "Cursor of the next page, absent on the last page"),
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Job.class)))),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match", content = @Content)
+    })
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Job>> getJobsByStatus(
-            @Parameter(description = "Job status", required = true) @PathVariable JobStatus status) {
+    public ResponseEntity<?> getJobsByStatus(
+            @Parameter(description = "Job status", required = true) @PathVariable JobStatus status,
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-500)") @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+            @Parameter(description = "Comma-separated fields to return, out of " + FIELD_NAMES + "; notes are never included") @RequestParam(required = false) String fields,
+            WebRequest request) {
         logger.info("GET /api/jobs/status/{} - Fetching jobs by status", status);
-        List<Job> jobs = jobService.getJobsByStatus(status);
-        return ResponseEntity.ok(jobs);
+        if (notModified(request, jobService.getJobsByStatusVersion(status))) {
+            return null;
+        }
+        return listResponse(fields, () -> jobService.getJobsByStatus(status, cursor, limit),
+                () -> jobService.getJobSummariesByStatus(status, cursor, limit));
     }
     
     @Operation(summary = "Get jobs by company", description = "Retrieve jobs filtered by company name")
-    @ApiResponse(responseCode = "200", description = "Jobs retrieved successfully",
-                content = @Content(mediaType = "application/json", schema = @Schema(implementation = Job.class)))
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Jobs retrieved successfully",
+                    headers = @Header(name = NEXT_CURSOR_HEADER, description = "Cursor of the next page, absent on the last page"),
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Job.class)))),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match", content = @Content)
+    })
     @GetMapping("/company/{company}")
-    public ResponseEntity<List<Job>> getJobsByCompany(
-            @Parameter(description = "Company name", required = true) @PathVariable String company) {
+    public ResponseEntity<?> getJobsByCompany(
+            @Parameter(description = "Company name", required = true) @PathVariable String company,
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-500)") @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+            @Parameter(description = "Comma-separated fields to return, out of " + FIELD_NAMES + "; notes are never included") @RequestParam(required = false) String fields,
+            WebRequest request) {
         logger.info("GET /api/jobs/company/{} - Fetching jobs by company", company);
-        List<Job> jobs = jobService.getJobsByCompany(company);
-        return ResponseEntity.ok(jobs);
+        if (notModified(request, jobService.getJobsByCompanyVersion(company))) {
+            return null;
+        }
+        return listResponse(fields, () -> jobService.getJobsByCompany(company, cursor, limit),
+                () -> jobService.getJobSummariesByCompany(company, cursor, limit));
     }
     
     @Operation(summary = "Search jobs by position", description = "Search jobs by position keyword")
-    @ApiResponse(responseCode = "200", description = "Jobs retrieved successfully",
-                content = @Content(mediaType = "application/json", schema = @Schema(implementation = Job.class)))
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Jobs retrieved successfully",
+                    headers = @Header(name = NEXT_CURSOR_HEADER, description = "Cursor of the next page, absent on the last page"),
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Job.class)))),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match", content = @Content)
+    })
     @GetMapping("/search/position")
-    public ResponseEntity<List<Job>> searchJobsByPosition(
-            @Parameter(description = "Position keyword", required = true) @RequestParam String keyword) {
+    public ResponseEntity<?> searchJobsByPosition(
+            @Parameter(description = "Position keyword", required = true) @RequestParam String keyword,
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-500)") @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+            @Parameter(description = "Comma-separated fields to return, out of " + FIELD_NAMES + "; notes are never included") @RequestParam(required = false) String fields,
+            WebRequest request) {
         logger.info("GET /api/jobs/search/position?keyword={} - Searching jobs by position", keyword);
-        List<Job> jobs = jobService.searchJobsByPosition(keyword);
-        return ResponseEntity.ok(jobs);
+        if (notModified(request, jobService.getAllJobsVersion())) {
+            return null;
+        }
+        return listResponse(fields, () -> jobService.searchJobsByPosition(keyword, cursor, limit),
+                () -> jobService.searchJobSummariesByPosition(keyword, cursor, limit));
     }
     
     @Operation(summary = "Search jobs by notes", description = "Search jobs by notes content")
-    @ApiResponse(responseCode = "200", description = "Jobs retrieved successfully",
-                content = @Content(mediaType = "application/json", schema = @Schema(implementation = Job.class)))
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Jobs retrieved successfully",
+                    headers = @Header(name = NEXT_CURSOR_HEADER, description = "Cursor of the next page, absent on the last page"),
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Job.class)))),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match", content = @Content)
+    })
     @GetMapping("/search/notes")
-    public ResponseEntity<List<Job>> searchJobsByNotes(
-            @Parameter(description = "Notes keyword", required = true) @RequestParam String keyword) {
+    public ResponseEntity<?> searchJobsByNotes(
+            @Parameter(description = "Notes keyword", required = true) @RequestParam String keyword,
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-500)") @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+            @Parameter(description = "Comma-separated fields to return, out of " + FIELD_NAMES + "; notes are never included") @RequestParam(required = false) String fields,
+            WebRequest request) {
         logger.info("GET /api/jobs/search/notes?keyword={} - Searching jobs by notes", keyword);
-        List<Job> jobs = jobService.searchJobsByNotes(keyword);
-        return ResponseEntity.ok(jobs);
+        if (notModified(request, jobService.getAllJobsVersion())) {
+            return null;
+        }
+        return listResponse(fields, () -> jobService.searchJobsByNotes(keyword, cursor, limit),
+                () -> jobService.searchJobSummariesByNotes(keyword, cursor, limit));
+    }
+    
+    @Operation(summary = "Search jobs", description = "Full-text search over position and notes, best matches first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Jobs retrieved successfully",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Job.class)))),
+        @ApiResponse(responseCode = "503", description = "Search index is still loading", content = @Content)
+    })
+    @GetMapping("/search")
+    public ResponseEntity<List<Job>> searchJobs(
+            @Parameter(description = "Search terms", required = true) @RequestParam String q,
+            @Parameter(description = "Match all terms (AND) or any term (OR)") @RequestParam(defaultValue = "AND") JobSearchIndex.Mode mode,
+            @Parameter(description = "Maximum number of results (1-100)") @RequestParam(defaultValue = "20") int limit) {
+        logger.info("GET /api/jobs/search?q={} - Searching jobs", q);
+        return ResponseEntity.ok(jobService.searchJobs(q, mode, limit));
     }
     
     @Operation(summary = "Get job statistics", description = "Get count of jobs by status")
@@ -167,23 +370,393 @@ public class JobController {
         return ResponseEntity.ok(count);
     }
     
+    @Operation(summary = "Get job statistics for every status", description = "Get the count of jobs for each status in one response")
+    @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully")
+    @GetMapping("/stats/status")
+    public ResponseEntity<Map<JobStatus, Long>> getJobCountsByStatus() {
+        logger.info("GET /api/jobs/stats/status - Getting job counts for every status");
+        return ResponseEntity.ok(jobService.getJobCountsByStatus());
+    }
+    
+    @Operation(summary = "Get job analytics", description = "Counts per status, the APPLIED -> INTERVIEW -> OFFER funnel, "
+            + "the companies with the most jobs and jobs created per week. Company and weekly figures are refreshed every few minutes.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Analytics retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = JobAnalytics.class))),
+        @ApiResponse(responseCode = "400", description = "top or weeks out of range", content = @Content)
+    })
+    @GetMapping("/analytics")
+    public ResponseEntity<JobAnalytics> getAnalytics(
+            @Parameter(description = "Number of companies (1-100)") @RequestParam(defaultValue = "10") int top,
+            @Parameter(description = "Number of weeks up to the current one (1-104)") @RequestParam(defaultValue = "12") int weeks) {
+        logger.info("GET /api/jobs/analytics - Getting job analytics");
+        return ResponseEntity.ok(analyticsService.getAnalytics(top, weeks));
+    }
+    
+    @Operation(summary = "Get stage durations", description = "For each status, percentiles of how long jobs stayed in it "
+            + "before moving on, in milliseconds (to within 0.1%). Only completed stays count; jobs still in a status are "
+            + "left out. Rebuilt with the other analytics rollups.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stage durations retrieved successfully",
+                    content = @Content(mediaType = "application/json"))
+    })
+    @GetMapping("/analytics/stage-durations")
+    public ResponseEntity<Map<JobStatus, StageDurations>> getStageDurations() {
+        logger.info("GET /api/jobs/analytics/stage-durations - Getting stage durations");
+        return ResponseEntity.ok(analyticsService.getStageDurations());
+    }
+    
     @Operation(summary = "Get jobs ordered by date", description = "Retrieve jobs ordered by creation date (newest first)")
-    @ApiResponse(responseCode = "200", description = "Jobs retrieved successfully",
-                content = @Content(mediaType = "application/json", schema = @Schema(implementation = Job.class)))
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Jobs retrieved successfully",
+                    headers = @Header(name = NEXT_CURSOR_HEADER, description = "Cursor of the next page, absent on the last page"),
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Job.class)))),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match", content = @Content)
+    })
     @GetMapping("/ordered/date")
-    public ResponseEntity<List<Job>> getJobsOrderedByDate() {
+    public ResponseEntity<?> getJobsOrderedByDate(
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-500)") @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+            @Parameter(description = "Comma-separated fields to return, out of " + FIELD_NAMES + "; notes are never included") @RequestParam(required = false) String fields,
+            WebRequest request) {
         logger.info("GET /api/jobs/ordered/date - Fetching jobs ordered by date");
-        List<Job> jobs = jobService.getJobsOrderedByDate();
-        return ResponseEntity.ok(jobs);
+        if (notModified(request, jobService.getAllJobsVersion())) {
+            return null;
+        }
+        return listResponse(fields, () -> jobService.getJobsOrderedByDate(cursor, limit),
+                () -> jobService.getJobSummariesOrderedByDate(cursor, limit));
     }
     
     @Operation(summary = "Get jobs ordered by company", description = "Retrieve jobs ordered by company name")
-    @ApiResponse(responseCode = "200", description = "Jobs retrieved successfully",
-                content = @Content(mediaType = "application/json", schema = @Schema(implementation = Job.class)))
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Jobs retrieved successfully",
+                    headers = @Header(name = NEXT_CURSOR_HEADER, description = "Cursor of the next page, absent on the last page"),
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Job.class)))),
+        @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match", content = @Content)
+    })
     @GetMapping("/ordered/company")
-    public ResponseEntity<List<Job>> getJobsOrderedByCompany() {
+    public ResponseEntity<?> getJobsOrderedByCompany(
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-500)") @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+            @Parameter(description = "Comma-separated fields to return, out of " + FIELD_NAMES + "; notes are never included") @RequestParam(required = false) String fields,
+            WebRequest request) {
         logger.info("GET /api/jobs/ordered/company - Fetching jobs ordered by company");
-        List<Job> jobs = jobService.getJobsOrderedByCompany();
-        return ResponseEntity.ok(jobs);
+        if (notModified(request, jobService.getAllJobsVersion())) {
+            return null;
+        }
+        return listResponse(fields, () -> jobService.getJobsOrderedByCompany(cursor, limit),
+                () -> jobService.getJobSummariesOrderedByCompany(cursor, limit));
+    }
+    
+    @Operation(summary = "Create jobs in bulk", description = "Create many job applications at once; each item is validated and reported separately")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "All jobs created"),
+        @ApiResponse(responseCode = "207", description = "Some items were invalid or failed; see the per-item outcome"),
+        @ApiResponse(responseCode = "400", description = "Batch exceeds the maximum size", content = @Content)
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> createJobs(@RequestBody List<Job> jobs) {
+        logger.info("POST /api/jobs/batch - Creating {} jobs", jobs.size());
+        return batchResponse(jobService.createJobs(jobs), BatchItemResult.Outcome.CREATED, HttpStatus.CREATED);
+    }
+    
+    @Operation(summary = "Update jobs in bulk", description = "Update many job applications by id; each item is validated and reported separately")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "All jobs updated"),
+        @ApiResponse(responseCode = "207", description = "Some items were invalid, missing, changed concurrently or failed; see the per-item outcome"),
+        @ApiResponse(responseCode = "400", description = "Batch exceeds the maximum size", content = @Content)
+    })
+    @PutMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> updateJobs(@RequestBody List<Job> jobs) {
+        logger.info("PUT /api/jobs/batch - Updating {} jobs", jobs.size());
+        return batchResponse(jobService.updateJobs(jobs), BatchItemResult.Outcome.UPDATED, HttpStatus.OK);
+    }
+    
+    @Operation(summary = "Delete jobs in bulk", description = "Delete many job applications by id")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "All jobs deleted"),
+        @ApiResponse(responseCode = "207", description = "Some ids were missing, changed concurrently or failed; see the per-item outcome"),
+        @ApiResponse(responseCode = "400", description = "Batch exceeds the maximum size", content = @Content)
+    })
+    @PostMapping("/batch/delete")
+    public ResponseEntity<List<BatchItemResult>> deleteJobs(@RequestBody List<Long> ids) {
+        logger.info("POST /api/jobs/batch/delete - Deleting {} jobs", ids.size());
+        return batchResponse(jobService.deleteJobs(ids), BatchItemResult.Outcome.DELETED, HttpStatus.OK);
+    }
+    
+    @Operation(summary = "Export all jobs", description = "Stream every job as newline-delimited JSON, one job per line")
+    @ApiResponse(responseCode = "200", description = "Export streamed successfully",
+                content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE))
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportJobs() {
+        logger.info("GET /api/jobs/export - Exporting all jobs");
+        // The body is written on another thread, which has to work for the requesting tenant
+        String tenant = TenantContext.current();
+        StreamingResponseBody body = out -> TenantContext.runAs(tenant, () -> jobService.exportJobs(job -> {
+            try {
+                out.write(jobWriter.writeValueAsBytes(job));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"jobs.ndjson\"")
+                .body(body);
+    }
+    
+    @Operation(summary = "Import jobs from a file", description = "Upload a CSV file (header row with company, position, status "
+            + "and optionally notes) or an NDJSON file with one job object per line. The import runs in the background; "
+            + "poll the returned status for progress and the per-row errors.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Import queued",
+                    headers = @Header(name = HttpHeaders.LOCATION, description = "URL of the import status"),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportStatus.class))),
+        @ApiResponse(responseCode = "400", description = "Unknown file format", content = @Content),
+        @ApiResponse(responseCode = "503", description = "Too many imports in progress", content = @Content)
+    })
+    @PostMapping(value = "/imports", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportStatus> importJobs(
+            @Parameter(description = "CSV or NDJSON file", required = true) @RequestParam MultipartFile file,
+            @Parameter(description = "CSV or NDJSON; detected from the file name or type when absent") @RequestParam(required = false) String format) throws IOException {
+        logger.info("POST /api/jobs/imports - Importing {}", file.getOriginalFilename());
+        ImportStatus status = importService.submit(file, format);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/jobs/imports/" + status.getId()))
+                .body(status);
+    }
+    
+    @Operation(summary = "Get import status", description = "Progress of an import; kept for an hour after it finishes")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportStatus.class))),
+        @ApiResponse(responseCode = "404", description = "Import not found", content = @Content)
+    })
+    @GetMapping("/imports/{importId}")
+    public ResponseEntity<ImportStatus> getImportStatus(
+            @Parameter(description = "Import ID", required = true) @PathVariable String importId) {
+        logger.info("GET /api/jobs/imports/{} - Fetching import status", importId);
+        return importService.getStatus(importId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @Operation(summary = "Get import errors", description = "Rows that were not imported, by line number")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Errors retrieved successfully",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ImportRowError.class)))),
+        @ApiResponse(responseCode = "404", description = "Import not found", content = @Content)
+    })
+    @GetMapping("/imports/{importId}/errors")
+    public ResponseEntity<List<ImportRowError>> getImportErrors(
+            @Parameter(description = "Import ID", required = true) @PathVariable String importId) {
+        logger.info("GET /api/jobs/imports/{}/errors - Fetching import errors", importId);
+        return importService.getStatus(importId)
+                .map(status -> ResponseEntity.ok(status.getErrors()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @Operation(summary = "Get changes", description = "Jobs created, updated or deleted since the given token, oldest first. "
+            + "Without a token, returns no changes and the token of the current position: take it before loading all jobs, "
+            + "then poll with it. Deletes are reported as tombstones carrying only the job id.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Changes retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ChangeFeed.class))),
+        @ApiResponse(responseCode = "400", description = "Malformed token or limit", content = @Content),
+        @ApiResponse(responseCode = "410", description = "Token older than the retained change log; reload all jobs", content = @Content)
+    })
+    @GetMapping("/changes")
+    public ResponseEntity<ChangeFeed> getChanges(
+            @Parameter(description = "Token returned by the previous call") @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum number of changes (1-500)") @RequestParam(defaultValue = "500") int limit) {
+        logger.info("GET /api/jobs/changes?since={} - Fetching changes", since);
+        return ResponseEntity.ok(jobService.getChanges(since, limit));
+    }
+    
+    @Operation(summary = "Stream changes", description = "Server-Sent Events stream of the change feed: replays the changes after "
+            + "the token, then pushes new ones as they are committed. Each event's id is a token to resume from.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream opened",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)),
+        @ApiResponse(responseCode = "400", description = "Malformed token", content = @Content),
+        @ApiResponse(responseCode = "410", description = "Token older than the retained change log; reload all jobs", content = @Content)
+    })
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @Parameter(description = "Token to start after; defaults to the current position") @RequestParam(required = false) String since,
+            @Parameter(hidden = true) @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        logger.info("GET /api/jobs/changes/stream?since={} - Streaming changes", since);
+        // A reconnecting EventSource resumes from the last event it received
+        return changeBroadcaster.subscribe(lastEventId != null ? lastEventId : since);
+    }
+    
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        logger.warn("Rejected request: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+    
+    @ExceptionHandler(ChangeTokenExpiredException.class)
+    public ResponseEntity<String> handleExpiredToken(ChangeTokenExpiredException e) {
+        logger.warn("Rejected request: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.GONE).body(e.getMessage());
+    }
+    
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<String> handleUnavailable(IllegalStateException e) {
+        logger.warn("Service unavailable: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+    }
+    
+    // Full success answers with the given status, anything else with 207 Multi-Status
+    private ResponseEntity<List<BatchItemResult>> batchResponse(List<BatchItemResult> results,
+                                                                BatchItemResult.Outcome success,
+                                                                HttpStatus successStatus) {
+        boolean allSucceeded = results.stream().allMatch(result -> result.getOutcome() == success);
+        return new ResponseEntity<>(results, allSucceeded ? successStatus : HttpStatus.MULTI_STATUS);
+    }
+    
+    // A single job varies by Accept (JSON or Smile) and Accept-Encoding like the listings, and
+    // carries a strong validator of the job in the negotiated representation
+    private static ResponseEntity.BodyBuilder jobResponse(Job job, String accept) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().varyBy(REPRESENTATION_VARY.toArray(String[]::new));
+        return job.getUpdatedAt() == null ? response : response.eTag(jobETag(job, representation(accept)));
+    }
+    
+    // Strong validator of a single job: its version changes with every write, and Smile bodies
+    // carry a suffix so that neither representation ever validates a cached copy of the other
+    private static String jobETag(Job job, MediaType representation) {
+        return "\"" + job.getId() + "-" + job.getVersion() + (SMILE.equals(representation) ? SMILE_ETAG_SUFFIX : "") + "\"";
+    }
+    
+    // The version named by an If-Match header, or null when there is none or it is "*".
+    // Tags of either representation name the same version. Weak tags never match under
+    // If-Match, and neither do tags of another job or in another format: those expect
+    // version -1, which no job ever has.
+    private static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String prefix = "\"" + id + "-";
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+                String version = tag.substring(prefix.length(), tag.length() - 1);
+                if (version.endsWith(SMILE_ETAG_SUFFIX)) {
+                    version = version.substring(0, version.length() - SMILE_ETAG_SUFFIX.length());
+                }
+                try {
+                    return Long.parseLong(version);
+                } catch (NumberFormatException e) {
+                    // Not one of ours, try the next tag
+                }
+            }
+        }
+        return -1L;
+    }
+    
+    // 412 when the client asked for a version through If-Match, 409 when a concurrent writer won the race
+    private static ResponseEntity<Job> versionConflict(Long id, String ifMatch, OptimisticLockingFailureException e) {
+        logger.warn("Rejected write to job {}: {}", id, e.getMessage());
+        return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
+    }
+    
+    // Weak validator of a listing page, derived from the fingerprint of the filtered jobs and
+    // specific to the request: path and query (cursor, page size, fields, keyword) and the
+    // representation chosen from Accept. Listings check it before loading the page, so a poll
+    // that finds nothing new never reads a row.
+    private static boolean notModified(WebRequest request, CollectionVersion version) {
+        HttpServletRequest servletRequest = ((ServletWebRequest) request).getRequest();
+        varyByRepresentation(request);
+        long lastUpdated = version.getLastUpdated() != null ? epochMicros(version.getLastUpdated()) : 0;
+        CRC32 variant = new CRC32();
+        StringBuilder key = new StringBuilder(servletRequest.getRequestURI());
+        new TreeMap<>(servletRequest.getParameterMap()).forEach((name, values) ->
+                key.append('&').append(name).append('=').append(String.join(",", values)));
+        key.append(' ').append(representation(request.getHeader(HttpHeaders.ACCEPT)));
+        variant.update(key.toString().getBytes(StandardCharsets.UTF_8));
+        return request.checkNotModified("W/\"" + version.getCount() + "-" + lastUpdated + "-"
+                + Long.toHexString(variant.getValue()) + "\"");
+    }
+    
+    // Vary set on the response itself, so that it is also sent on 304s, which drop the headers
+    // of the ResponseEntity; Spring merges both without repeating a value
+    private static void varyByRepresentation(WebRequest request) {
+        HttpServletResponse servletResponse = ((ServletWebRequest) request).getResponse();
+        if (servletResponse != null) {
+            REPRESENTATION_VARY.forEach(header -> servletResponse.addHeader(HttpHeaders.VARY, header));
+        }
+    }
+    
+    // The media type a listing is rendered in for the Accept header, as the message converters
+    // pick it: the first acceptable type by specificity and quality, JSON ahead of Smile
+    static MediaType representation(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return MediaType.APPLICATION_JSON;
+            }
+            if (type.isCompatibleWith(SMILE)) {
+                return SMILE;
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+    
+    private static long epochMicros(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + timestamp.getNano() / 1_000;
+    }
+    
+    // Without fields, whole jobs; with fields, notes-free summaries reduced to the requested fields
+    private ResponseEntity<?> listResponse(String fields, Supplier<CursorPage<Job>> jobs,
+                                           Supplier<CursorPage<JobSummary>> summaries) {
+        if (fields == null) {
+            return pageResponse(jobs.get());
+        }
+        Set<String> selected = parseFields(fields);
+        CursorPage<JobSummary> page = summaries.get();
+        MappingJacksonValue body = new MappingJacksonValue(page.getItems());
+        body.setFilters(new SimpleFilterProvider()
+                .addFilter(JobSummary.FIELDS_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(selected)));
+        return pageResponse(page, body);
+    }
+    
+    private static Set<String> parseFields(String fields) {
+        Set<String> selected = new HashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!JobSummary.FIELDS.contains(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "', expected some of " + FIELD_NAMES);
+            }
+            selected.add(name);
+        }
+        return selected;
+    }
+    
+    // Pages are rendered as JSON or Smile depending on Accept, and gzipped depending on
+    // Accept-Encoding, so caches must keep them apart
+    private <T> ResponseEntity<T> pageResponse(CursorPage<?> page, T body) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().varyBy(REPRESENTATION_VARY.toArray(String[]::new));
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(body);
+    }
+    
+    private <T> ResponseEntity<List<T>> pageResponse(CursorPage<T> page) {
+        return pageResponse(page, page.getItems());
     }
 }
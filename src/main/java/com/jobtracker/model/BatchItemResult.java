@@ -0,0 +1,57 @@
+package com.jobtracker.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one item of a bulk create, update or delete request.
+ * {@code index} is the item's position in the request body.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+
+    public enum Outcome {
+        CREATED,
+        UPDATED,
+        DELETED,
+        NOT_FOUND,
+        CONFLICT,
+        INVALID,
+        FAILED
+    }
+
+    private final int index;
+    private final Long id;
+    private final Outcome outcome;
+    private final String error;
+
+    public BatchItemResult(int index, Long id, Outcome outcome, String error) {
+        this.index = index;
+        this.id = id;
+        this.outcome = outcome;
+        this.error = error;
+    }
+
+    public static BatchItemResult of(int index, Long id, Outcome outcome) {
+        return new BatchItemResult(index, id, outcome, null);
+    }
+
+    public static BatchItemResult failed(int index, Long id, Outcome outcome, String error) {
+        return new BatchItemResult(index, id, outcome, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
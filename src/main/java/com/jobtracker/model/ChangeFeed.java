@@ -0,0 +1,33 @@
+package com.jobtracker.model;
+
+import java.util.List;
+
+/**
+ * A slice of the change feed. {@code token} resumes the feed right after the
+ * last change considered and is always present, even when nothing changed;
+ * {@code hasMore} tells the client to ask again immediately.
+ */
+public class ChangeFeed {
+
+    private final List<JobChange> changes;
+    private final String token;
+    private final boolean hasMore;
+
+    public ChangeFeed(List<JobChange> changes, String token, boolean hasMore) {
+        this.changes = changes;
+        this.token = token;
+        this.hasMore = hasMore;
+    }
+
+    public List<JobChange> getChanges() {
+        return changes;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
@@ -0,0 +1,46 @@
+package com.jobtracker.model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Cheap fingerprint of a filtered set of jobs: how many there are and when the
+ * most recent one was written. Creating or updating a job moves
+ * {@code lastUpdated} forward and deleting one lowers {@code count}, so any
+ * change to the set changes the fingerprint.
+ */
+public class CollectionVersion {
+
+    private final long count;
+    private final LocalDateTime lastUpdated;
+
+    public CollectionVersion(long count, LocalDateTime lastUpdated) {
+        this.count = count;
+        this.lastUpdated = lastUpdated;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    // Null when the set is empty
+    public LocalDateTime getLastUpdated() {
+        return lastUpdated;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CollectionVersion other)) {
+            return false;
+        }
+        return count == other.count && Objects.equals(lastUpdated, other.lastUpdated);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(count, lastUpdated);
+    }
+}
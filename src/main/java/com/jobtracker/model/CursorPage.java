@@ -0,0 +1,31 @@
+package com.jobtracker.model;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is an opaque token
+ * that resumes the listing right after the last item, or {@code null} when the
+ * listing is exhausted.
+ */
+public class CursorPage<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
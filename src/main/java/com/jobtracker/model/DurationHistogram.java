@@ -0,0 +1,77 @@
+package com.jobtracker.model;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Durations in milliseconds counted in logarithmic buckets, each 0.1% wider than
+ * the one before, so that a histogram of any number of stays from milliseconds to
+ * years keeps at most a few tens of thousands of buckets, and far fewer in practice.
+ * Each bucket remembers its longest duration, which is what a percentile falling
+ * into it reports: percentiles are never below the exact nearest-rank value and at
+ * most 0.1% above it. Histograms of several tenants or shards merge by adding up
+ * their buckets.
+ */
+public class DurationHistogram {
+
+    private static final double LOG_GROWTH = Math.log(1.001);
+
+    // Bucket -> {stays, longest stay}
+    private final TreeMap<Integer, long[]> buckets = new TreeMap<>();
+    private long count;
+
+    @FunctionalInterface
+    public interface BucketConsumer {
+        void accept(int bucket, long stays, long maxMillis);
+    }
+
+    // The bucket a duration falls into; durations up to one millisecond share the first
+    public static int bucketOf(long millis) {
+        return millis <= 1 ? 0 : (int) Math.ceil(Math.log(millis) / LOG_GROWTH);
+    }
+
+    public void record(long millis) {
+        add(bucketOf(millis), 1, millis);
+    }
+
+    public void add(int bucket, long stays, long maxMillis) {
+        long[] sums = buckets.computeIfAbsent(bucket, key -> new long[] {0, maxMillis});
+        sums[0] += stays;
+        sums[1] = Math.max(sums[1], maxMillis);
+        count += stays;
+    }
+
+    public void merge(DurationHistogram other) {
+        other.forEachBucket(this::add);
+    }
+
+    public void forEachBucket(BucketConsumer consumer) {
+        buckets.forEach((bucket, sums) -> consumer.accept(bucket, sums[0], sums[1]));
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    // Nearest-rank percentile, or null when there are no durations
+    public Long percentile(int p) {
+        long rank = Math.max((long) Math.ceil(p / 100.0 * count), 1);
+        long seen = 0;
+        for (long[] sums : buckets.values()) {
+            seen += sums[0];
+            if (seen >= rank) {
+                return sums[1];
+            }
+        }
+        return null;
+    }
+
+    public Long getMax() {
+        Map.Entry<Integer, long[]> last = buckets.lastEntry();
+        return last == null ? null : last.getValue()[1];
+    }
+
+    public StageDurations toStageDurations() {
+        return new StageDurations(count, percentile(50), percentile(90), percentile(99), getMax());
+    }
+}
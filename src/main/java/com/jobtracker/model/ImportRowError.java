@@ -0,0 +1,24 @@
+package com.jobtracker.model;
+
+/**
+ * A row of an import file that was not imported. {@code line} is the row's
+ * 1-based line in the file; a quoted CSV field spanning lines reports the first.
+ */
+public class ImportRowError {
+
+    private final long line;
+    private final String error;
+
+    public ImportRowError(long line, String error) {
+        this.line = line;
+        this.error = error;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,140 @@
+package com.jobtracker.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of an asynchronous job import, updated by the import workers while
+ * clients poll it. Only the first {@code maxErrors} row errors are kept; the
+ * failed row count is always exact.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportStatus {
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String id;
+    private final String fileName;
+    private final String format;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsImported = new AtomicLong();
+    private final AtomicLong rowsFailed = new AtomicLong();
+    private final int maxErrors;
+    private final List<ImportRowError> errors = new ArrayList<>();
+    private volatile State state = State.QUEUED;
+    private volatile String message;
+    private volatile LocalDateTime finishedAt;
+
+    public ImportStatus(String id, String fileName, String format, int maxErrors) {
+        this.id = id;
+        this.fileName = fileName;
+        this.format = format;
+        this.maxErrors = maxErrors;
+    }
+
+    public void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    public void rowsImported(int count) {
+        rowsImported.addAndGet(count);
+    }
+
+    public void rowFailed(long line, String error) {
+        rowsFailed.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportRowError(line, error));
+            }
+        }
+    }
+
+    public void start() {
+        state = State.RUNNING;
+    }
+
+    public void complete() {
+        finishedAt = LocalDateTime.now();
+        state = State.COMPLETED;
+    }
+
+    public void fail(String message) {
+        this.message = message;
+        finishedAt = LocalDateTime.now();
+        state = State.FAILED;
+    }
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    // Why the import as a whole failed, e.g. an unreadable file; row problems are in the errors
+    public String getMessage() {
+        return message;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public long getRowsRead() {
+        return rowsRead.get();
+    }
+
+    public long getRowsImported() {
+        return rowsImported.get();
+    }
+
+    public long getRowsFailed() {
+        return rowsFailed.get();
+    }
+
+    // Row errors by line, at most maxErrors of them; chunks finish out of order,
+    // so when truncated these are the first errors found, not the lowest lines
+    @JsonIgnore
+    public List<ImportRowError> getErrors() {
+        List<ImportRowError> copy;
+        synchronized (errors) {
+            copy = new ArrayList<>(errors);
+        }
+        copy.sort(Comparator.comparingLong(ImportRowError::getLine));
+        return copy;
+    }
+
+    public boolean isErrorsTruncated() {
+        return rowsFailed.get() > maxErrors;
+    }
+}
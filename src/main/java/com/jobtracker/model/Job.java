@@ -1,32 +1,66 @@
 package com.jobtracker.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.TenantId;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 @Entity
-@Table(name = "jobs")
+@Table(name = "jobs", indexes = {
+    @Index(name = "idx_jobs_tenant_id", columnList = "tenant_id, id"),
+    @Index(name = "idx_jobs_tenant_status_id", columnList = "tenant_id, status, id"),
+    @Index(name = "idx_jobs_tenant_company_lc_status", columnList = "tenant_id, company_lc, status"),
+    @Index(name = "idx_jobs_tenant_company_lc_id", columnList = "tenant_id, company_lc, id"),
+    @Index(name = "idx_jobs_tenant_created_at_id", columnList = "tenant_id, created_at, id"),
+    @Index(name = "idx_jobs_tenant_company_id", columnList = "tenant_id, company, id"),
+    @Index(name = "idx_jobs_tenant_updated_at", columnList = "tenant_id, updated_at"),
+    @Index(name = "idx_jobs_tenant_status_updated_at", columnList = "tenant_id, status, updated_at"),
+    @Index(name = "idx_jobs_tenant_company_lc_updated_at", columnList = "tenant_id, company_lc, updated_at"),
+    @Index(name = "idx_jobs_deleted_at", columnList = "deleted_at")
+})
+// Deletes only stamp deleted_at and every query skips stamped rows; JobPurger removes them later
+@SQLRestriction("deleted_at IS NULL")
+@SQLDelete(sql = "UPDATE jobs SET deleted_at = CURRENT_TIMESTAMP(6), version = version + 1 WHERE id = ? AND version = ?")
 public class Job {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    // Filled in from TenantContext on insert; every query is restricted to the current tenant
+    @TenantId
+    @JsonIgnore
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+    private String tenantId;
+    
     @NotBlank(message = "Company name is required")
     @Column(nullable = false)
     private String company;
     
+    // Lowercase copy of company for indexed case-insensitive lookups
+    @JsonIgnore
+    @Column(name = "company_lc", nullable = false)
+    private String companyLc;
+    
     @NotBlank(message = "Position is required")
     @Column(nullable = false)
     private String position;
     
     @NotNull(message = "Status is required")
     @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 32)
     private JobStatus status;
     
     @Column(columnDefinition = "TEXT")
@@ -39,13 +73,24 @@ public class Job {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+    
+    // Incremented by every write; clients send it back through If-Match, never in the body
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(nullable = false)
+    private Long version;
+    
+    // Set when the job is deleted; never exposed, since deleted jobs are never read
+    @JsonIgnore
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
 
     // Default constructor
     public Job() {}
 
     // Constructor
     public Job(String company, String position, JobStatus status, String notes) {
-        this.company = company;
+        setCompany(company);
         this.position = position;
         this.status = status;
         this.notes = notes;
@@ -60,12 +105,35 @@ public class Job {
         this.id = id;
     }
 
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
     public String getCompany() {
         return company;
     }
 
     public void setCompany(String company) {
         this.company = company;
+        this.companyLc = normalizeCompany(company);
+    }
+
+    public String getCompanyLc() {
+        return companyLc;
+    }
+
+    public static String normalizeCompany(String company) {
+        return company == null ? null : company.toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void normalize() {
+        this.companyLc = normalizeCompany(company);
     }
 
     public String getPosition() {
@@ -108,6 +176,22 @@ public class Job {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
     @Override
     public String toString() {
         return "Job{" +
@@ -115,9 +199,11 @@ public class Job {
                 ", company='" + company + '\'' +
                 ", position='" + position + '\'' +
                 ", status=" + status +
-                ", notes='" + notes + '\'' +
+                // Only the length: notes are free text of arbitrary size and end up in log lines
+                ", notes=" + (notes != null ? notes.length() + " chars" : null) +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
+                ", version=" + version +
                 '}';
     }
 }
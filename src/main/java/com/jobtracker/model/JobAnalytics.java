@@ -0,0 +1,134 @@
+package com.jobtracker.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregates over all jobs for dashboards. Status counts are live; companies and
+ * weeks come from the rollup tables as of {@code refreshedAt}.
+ */
+public class JobAnalytics {
+
+    private final Map<JobStatus, Long> statusCounts;
+    private final Funnel funnel;
+    private final List<CompanyCount> topCompanies;
+    private final List<WeekCount> weekly;
+    private final LocalDateTime refreshedAt;
+
+    public JobAnalytics(Map<JobStatus, Long> statusCounts, Funnel funnel, List<CompanyCount> topCompanies,
+                        List<WeekCount> weekly, LocalDateTime refreshedAt) {
+        this.statusCounts = statusCounts;
+        this.funnel = funnel;
+        this.topCompanies = topCompanies;
+        this.weekly = weekly;
+        this.refreshedAt = refreshedAt;
+    }
+
+    public Map<JobStatus, Long> getStatusCounts() {
+        return statusCounts;
+    }
+
+    public Funnel getFunnel() {
+        return funnel;
+    }
+
+    public List<CompanyCount> getTopCompanies() {
+        return topCompanies;
+    }
+
+    public List<WeekCount> getWeekly() {
+        return weekly;
+    }
+
+    // When the rollups were last rebuilt; null before the first rebuild
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    /**
+     * APPLIED -> INTERVIEW -> OFFER. A job counts towards every stage up to its
+     * current one: every job has applied, INTERVIEW and OFFER jobs were
+     * interviewed, OFFER jobs got an offer. Rejected jobs left at an unknown stage
+     * and count as applied only. Rates are between 0 and 1, or null when the
+     * earlier stage is empty.
+     */
+    public static class Funnel {
+
+        private final long applied;
+        private final long interviewed;
+        private final long offered;
+
+        public Funnel(long applied, long interviewed, long offered) {
+            this.applied = applied;
+            this.interviewed = interviewed;
+            this.offered = offered;
+        }
+
+        public long getApplied() {
+            return applied;
+        }
+
+        public long getInterviewed() {
+            return interviewed;
+        }
+
+        public long getOffered() {
+            return offered;
+        }
+
+        public Double getInterviewRate() {
+            return applied == 0 ? null : (double) interviewed / applied;
+        }
+
+        public Double getOfferRate() {
+            return interviewed == 0 ? null : (double) offered / interviewed;
+        }
+    }
+
+    public static class CompanyCount {
+
+        private final String company;
+        private final long total;
+        private final Map<JobStatus, Long> statusCounts;
+
+        public CompanyCount(String company, long total, Map<JobStatus, Long> statusCounts) {
+            this.company = company;
+            this.total = total;
+            this.statusCounts = statusCounts;
+        }
+
+        public String getCompany() {
+            return company;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public Map<JobStatus, Long> getStatusCounts() {
+            return statusCounts;
+        }
+    }
+
+    // Jobs created in the week starting on Monday weekStart
+    public static class WeekCount {
+
+        private final LocalDate weekStart;
+        private final long created;
+
+        public WeekCount(LocalDate weekStart, long created) {
+            this.weekStart = weekStart;
+            this.created = created;
+        }
+
+        public LocalDate getWeekStart() {
+            return weekStart;
+        }
+
+        public long getCreated() {
+            return created;
+        }
+    }
+}
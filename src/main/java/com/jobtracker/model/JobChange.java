@@ -0,0 +1,57 @@
+package com.jobtracker.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the change feed. CREATED and UPDATED carry the job as it is now;
+ * DELETED is a tombstone with only the job id.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JobChange {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final long seq;
+    private final long jobId;
+    private final Type type;
+    private final LocalDateTime changedAt;
+    private final Job job;
+
+    public JobChange(long seq, long jobId, Type type, LocalDateTime changedAt, Job job) {
+        this.seq = seq;
+        this.jobId = jobId;
+        this.type = type;
+        this.changedAt = changedAt;
+        this.job = job;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public long getJobId() {
+        return jobId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public Job getJob() {
+        return job;
+    }
+
+    public JobChange withJob(Job job) {
+        return new JobChange(seq, jobId, type, changedAt, job);
+    }
+}
@@ -0,0 +1,79 @@
+package com.jobtracker.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A partial update of a job. Only the properties present in the request body are
+ * applied: Jackson calls a setter only for a property it reads, so an explicit
+ * {@code "notes": null} clears the notes while a missing notes leaves them alone.
+ */
+public class JobPatch {
+
+    private String company;
+    private String position;
+    private JobStatus status;
+    private String notes;
+    private final Set<String> present = new LinkedHashSet<>();
+
+    public String getCompany() {
+        return company;
+    }
+
+    public void setCompany(String company) {
+        this.company = company;
+        present.add("company");
+    }
+
+    public String getPosition() {
+        return position;
+    }
+
+    public void setPosition(String position) {
+        this.position = position;
+        present.add("position");
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(JobStatus status) {
+        this.status = status;
+        present.add("status");
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public void setNotes(String notes) {
+        this.notes = notes;
+        present.add("notes");
+    }
+
+    // Whether the request body contained the property
+    public boolean has(String property) {
+        return present.contains(property);
+    }
+
+    // The same rules as Job for the properties present, or null when the patch is valid
+    @JsonIgnore
+    public String getError() {
+        if (present.isEmpty()) {
+            return "A patch must set at least one of company, position, status, notes";
+        }
+        if (has("company") && (company == null || company.isBlank())) {
+            return "Company name is required";
+        }
+        if (has("position") && (position == null || position.isBlank())) {
+            return "Position is required";
+        }
+        if (has("status") && status == null) {
+            return "Status is required";
+        }
+        return null;
+    }
+}
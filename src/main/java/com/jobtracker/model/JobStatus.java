@@ -1,5 +1,6 @@
 package com.jobtracker.model;
 
+// job_status_events stores the ordinal: append new statuses at the end, never reorder
 public enum JobStatus {
     APPLIED("Applied"),
     INTERVIEW("Interview"),
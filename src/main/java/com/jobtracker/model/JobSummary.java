@@ -0,0 +1,64 @@
+package com.jobtracker.model;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A job without its notes, for listings that only show the table columns. It is
+ * built directly by constructor-expression queries, so the unbounded notes column
+ * is never read and no entity is hydrated.
+ *
+ * Serialized through the {@link #FIELDS_FILTER} filter, which the caller must
+ * supply with the fields to write.
+ */
+@JsonFilter(JobSummary.FIELDS_FILTER)
+public class JobSummary {
+
+    public static final String FIELDS_FILTER = "jobSummaryFields";
+
+    // Fields a client can ask for, in response order
+    public static final List<String> FIELDS = List.of("id", "company", "position", "status", "createdAt", "updatedAt");
+
+    private final Long id;
+    private final String company;
+    private final String position;
+    private final JobStatus status;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public JobSummary(Long id, String company, String position, JobStatus status,
+                      LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.company = company;
+        this.position = position;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getCompany() {
+        return company;
+    }
+
+    public String getPosition() {
+        return position;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,44 @@
+package com.jobtracker.model;
+
+/**
+ * How long jobs stayed in one status before moving on, over every completed stay
+ * (jobs still in the status are not counted). Percentiles are nearest-rank to
+ * within 0.1% (see {@link DurationHistogram}), in milliseconds, and null when there
+ * are no completed stays.
+ */
+public class StageDurations {
+
+    private final long count;
+    private final Long p50Millis;
+    private final Long p90Millis;
+    private final Long p99Millis;
+    private final Long maxMillis;
+
+    public StageDurations(long count, Long p50Millis, Long p90Millis, Long p99Millis, Long maxMillis) {
+        this.count = count;
+        this.p50Millis = p50Millis;
+        this.p90Millis = p90Millis;
+        this.p99Millis = p99Millis;
+        this.maxMillis = maxMillis;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public Long getP50Millis() {
+        return p50Millis;
+    }
+
+    public Long getP90Millis() {
+        return p90Millis;
+    }
+
+    public Long getP99Millis() {
+        return p99Millis;
+    }
+
+    public Long getMaxMillis() {
+        return maxMillis;
+    }
+}
@@ -0,0 +1,38 @@
+package com.jobtracker.model;
+
+import java.time.Instant;
+
+/**
+ * One entry of a job's status timeline: when the job entered the status and how
+ * long it stayed, up to the next transition or, for the current status, until now.
+ */
+public class StatusPeriod {
+
+    private final JobStatus status;
+    private final Instant enteredAt;
+    private final long durationMillis;
+    private final boolean current;
+
+    public StatusPeriod(JobStatus status, Instant enteredAt, long durationMillis, boolean current) {
+        this.status = status;
+        this.enteredAt = enteredAt;
+        this.durationMillis = durationMillis;
+        this.current = current;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public Instant getEnteredAt() {
+        return enteredAt;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public boolean isCurrent() {
+        return current;
+    }
+}
@@ -0,0 +1,228 @@
+package com.jobtracker.repository;
+
+import com.jobtracker.config.TenantContext;
+import com.jobtracker.model.Job;
+import com.jobtracker.model.JobPatch;
+import com.jobtracker.model.JobStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk and partial writes to the jobs table through plain JDBC statements.
+ *
+ * These statements bypass the soft-delete restriction on {@link Job}, so each
+ * one skips deleted rows itself. Deletes only stamp deleted_at; the rows are
+ * removed later by {@link #purge}.
+ *
+ * Every statement except the purge is scoped to the caller's tenant from
+ * {@link TenantContext}, so ids of another tenant's jobs behave as missing.
+ *
+ * Hibernate cannot batch inserts for IDENTITY ids, so bulk paths bypass the
+ * persistence context entirely. With {@code rewriteBatchedStatements=true} the
+ * MySQL driver sends each batch as a single multi-row statement and still
+ * returns the generated keys. Callers are responsible for the transaction.
+ */
+@Repository
+public class JobBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO jobs (tenant_id, company, company_lc, position, status, notes, created_at, updated_at) " +
+            "VALUES (:tenantId, :company, :companyLc, :position, :status, :notes, :createdAt, :updatedAt)";
+
+    private static final String UPDATE_SQL =
+            "UPDATE jobs SET company = :company, company_lc = :companyLc, position = :position, status = :status, " +
+            "notes = :notes, updated_at = :updatedAt, version = version + 1 WHERE id = :id AND tenant_id = :tenantId " +
+            "AND deleted_at IS NULL AND version = :version";
+
+    private static final String DELETE_SQL =
+            "UPDATE jobs SET deleted_at = :deletedAt, version = version + 1 " +
+            "WHERE id = :id AND tenant_id = :tenantId AND deleted_at IS NULL";
+
+    private static final String DELETE_VERSION_SQL = DELETE_SQL + " AND version = :version";
+
+    private static final String SELECT_CURRENT_SQL =
+            "SELECT id, company, status, version FROM jobs WHERE id IN (:ids) AND tenant_id = :tenantId " +
+            "AND deleted_at IS NULL";
+
+    private static final String SELECT_DELETED_SQL =
+            "SELECT id, company, status, version FROM jobs WHERE id = :id AND tenant_id = :tenantId";
+
+    private static final String SELECT_PURGEABLE_SQL =
+            "SELECT id FROM jobs WHERE deleted_at < :cutoff ORDER BY deleted_at LIMIT :limit";
+
+    private static final String PURGE_SQL = "DELETE FROM jobs WHERE id IN (:ids) AND deleted_at IS NOT NULL";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public JobBatchRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Insert all jobs in one batch, assigning their generated ids and timestamps
+    public void insertAll(List<Job> jobs) {
+        String tenant = TenantContext.requireTenant();
+        LocalDateTime now = LocalDateTime.now();
+        SqlParameterSource[] params = new SqlParameterSource[jobs.size()];
+        for (int i = 0; i < jobs.size(); i++) {
+            Job job = jobs.get(i);
+            job.setCreatedAt(now);
+            job.setUpdatedAt(now);
+            job.setVersion(0L);
+            job.setTenantId(tenant);
+            params[i] = toParams(job);
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT_SQL, params, keyHolder, new String[] {"id"});
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < jobs.size(); i++) {
+            jobs.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+        }
+    }
+
+    // Update all jobs by id in one batch, each only while still at its expected version; the lists are
+    // parallel. Returns the JDBC update count per job, 0 when it is missing, deleted or at another version
+    public int[] updateAll(List<Job> jobs, List<Long> expectedVersions) {
+        String tenant = TenantContext.requireTenant();
+        LocalDateTime now = LocalDateTime.now();
+        SqlParameterSource[] params = new SqlParameterSource[jobs.size()];
+        for (int i = 0; i < jobs.size(); i++) {
+            Job job = jobs.get(i);
+            job.setUpdatedAt(now);
+            params[i] = toParams(job)
+                    .addValue("id", job.getId())
+                    .addValue("tenantId", tenant)
+                    .addValue("version", expectedVersions.get(i));
+        }
+        return jdbcTemplate.batchUpdate(UPDATE_SQL, params);
+    }
+
+    // Soft-delete one job in a single statement; returns 0 when it does not exist or is already deleted
+    public int delete(long id) {
+        return jdbcTemplate.update(DELETE_SQL, new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("tenantId", TenantContext.requireTenant())
+                .addValue("deletedAt", LocalDateTime.now()));
+    }
+
+    // Soft-delete all ids in one batch, each only while still at its expected version; the lists are
+    // parallel. Returns the JDBC update count per id, 0 when it is missing, deleted or at another version
+    public int[] deleteAll(List<Long> ids, List<Long> expectedVersions) {
+        String tenant = TenantContext.requireTenant();
+        LocalDateTime now = LocalDateTime.now();
+        SqlParameterSource[] params = new SqlParameterSource[ids.size()];
+        for (int i = 0; i < ids.size(); i++) {
+            params[i] = new MapSqlParameterSource()
+                    .addValue("id", ids.get(i))
+                    .addValue("tenantId", tenant)
+                    .addValue("deletedAt", now)
+                    .addValue("version", expectedVersions.get(i));
+        }
+        return jdbcTemplate.batchUpdate(DELETE_VERSION_SQL, params);
+    }
+
+    // Company, status and version of a job whether or not it is deleted, or null when the row is gone
+    public Job findIncludingDeleted(long id) {
+        List<Job> rows = jdbcTemplate.query(SELECT_DELETED_SQL, new MapSqlParameterSource()
+                        .addValue("id", id)
+                        .addValue("tenantId", TenantContext.requireTenant()),
+                (rs, rowNum) -> currentOf(rs));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    // Hard-delete up to limit jobs of any tenant deleted before the cutoff, oldest first; returns how many were removed.
+    // The ids are picked first so the DELETE locks exactly those rows, never a range of the index.
+    public int purge(LocalDateTime cutoff, int limit) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_PURGEABLE_SQL, new MapSqlParameterSource()
+                .addValue("cutoff", cutoff)
+                .addValue("limit", limit), Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(PURGE_SQL, new MapSqlParameterSource("ids", ids));
+    }
+
+    /**
+     * Applies the properties present in the patch to one job in a single UPDATE,
+     * without reading the row first. With an expected version the update only
+     * applies while the job is still at that version. Returns the update count:
+     * 0 when the job does not exist or has moved past the expected version.
+     */
+    public int patch(long id, JobPatch patch, Long expectedVersion) {
+        StringBuilder sql = new StringBuilder("UPDATE jobs SET ");
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("tenantId", TenantContext.requireTenant())
+                .addValue("updatedAt", LocalDateTime.now());
+        if (patch.has("company")) {
+            sql.append("company = :company, company_lc = :companyLc, ");
+            params.addValue("company", patch.getCompany()).addValue("companyLc", Job.normalizeCompany(patch.getCompany()));
+        }
+        if (patch.has("position")) {
+            sql.append("position = :position, ");
+            params.addValue("position", patch.getPosition());
+        }
+        if (patch.has("status")) {
+            sql.append("status = :status, ");
+            params.addValue("status", patch.getStatus().name());
+        }
+        if (patch.has("notes")) {
+            sql.append("notes = :notes, ");
+            params.addValue("notes", patch.getNotes());
+        }
+        sql.append("updated_at = :updatedAt, version = version + 1 WHERE id = :id AND tenant_id = :tenantId AND deleted_at IS NULL");
+        if (expectedVersion != null) {
+            sql.append(" AND version = :version");
+            params.addValue("version", expectedVersion);
+        }
+        return jdbcTemplate.update(sql.toString(), params);
+    }
+
+    // Current id, company, status and version of each of the given ids that exists, keyed by id
+    public Map<Long, Job> findCurrentByIds(Collection<Long> ids) {
+        Map<Long, Job> current = new HashMap<>();
+        if (ids.isEmpty()) {
+            return current;
+        }
+        jdbcTemplate.query(SELECT_CURRENT_SQL, new MapSqlParameterSource()
+                        .addValue("ids", ids)
+                        .addValue("tenantId", TenantContext.requireTenant()),
+                rs -> {
+                    Job job = currentOf(rs);
+                    current.put(job.getId(), job);
+                });
+        return current;
+    }
+
+    private static Job currentOf(ResultSet rs) throws SQLException {
+        Job job = new Job(rs.getString("company"), null, JobStatus.valueOf(rs.getString("status")), null);
+        job.setId(rs.getLong("id"));
+        job.setVersion(rs.getLong("version"));
+        return job;
+    }
+
+    private MapSqlParameterSource toParams(Job job) {
+        return new MapSqlParameterSource()
+                .addValue("tenantId", job.getTenantId())
+                .addValue("company", job.getCompany())
+                .addValue("companyLc", Job.normalizeCompany(job.getCompany()))
+                .addValue("position", job.getPosition())
+                .addValue("status", job.getStatus().name())
+                .addValue("notes", job.getNotes())
+                .addValue("createdAt", job.getCreatedAt())
+                .addValue("updatedAt", job.getUpdatedAt());
+    }
+}
@@ -0,0 +1,177 @@
+package com.jobtracker.repository;
+
+import com.jobtracker.config.TenantContext;
+import com.jobtracker.model.JobChange;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The job_changes log behind the change feed.
+ *
+ * Writes join the caller's transaction, so a change is visible exactly when the
+ * job write it describes commits. Callers are responsible for the transaction.
+ *
+ * Entries belong to the tenant that made the change and each tenant reads only
+ * its own. Sequence numbers are shared by all tenants, so a tenant's feed has
+ * gaps, and retention applies to the log as a whole.
+ *
+ * A transaction takes its sequence number when it inserts, not when it commits,
+ * so a lower number can become visible after higher ones. Readers therefore stop
+ * at the first missing number ({@link #findVisibleThrough}) until it has been
+ * missing for longer than the gap timeout, after which it is taken to belong to a
+ * rolled-back transaction. Entry times come from the database clock, so the
+ * timeout means the same on every instance.
+ *
+ * Each entry also names the instance that recorded it ({@link #getOrigin}), which
+ * lets {@code JobCacheSync} tell the changes of other instances from its own.
+ */
+@Repository
+public class JobChangeRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO job_changes (tenant_id, job_id, change_type, changed_at, origin) " +
+            "VALUES (:tenantId, :jobId, :type, LOCALTIMESTAMP(6), :origin)";
+
+    private static final String SELECT_SINCE_SQL =
+            "SELECT seq, job_id, change_type, changed_at FROM job_changes " +
+            "WHERE tenant_id = :tenantId AND seq > :afterSeq ORDER BY seq LIMIT :limit";
+
+    private static final String SELECT_SINCE_ALL_TENANTS_SQL =
+            "SELECT seq, job_id, change_type, changed_at FROM job_changes " +
+            "WHERE seq > :afterSeq ORDER BY seq LIMIT :limit";
+
+    private static final String SELECT_FIRST_RECENT_SQL =
+            "SELECT MIN(seq) FROM job_changes WHERE seq > :afterSeq AND seq <= :throughSeq " +
+            "AND changed_at > TIMESTAMPADD(MICROSECOND, :gapTimeoutMicros, LOCALTIMESTAMP(6))";
+
+    private static final String SELECT_FIRST_GAP_SQL =
+            "SELECT MIN(c.seq) FROM job_changes c WHERE c.seq >= :fromSeq AND c.seq < :throughSeq " +
+            "AND NOT EXISTS (SELECT 1 FROM job_changes n WHERE n.seq = c.seq + 1)";
+
+    private static final String SELECT_OTHER_ORIGINS_SQL =
+            "SELECT seq, job_id FROM job_changes " +
+            "WHERE seq > :afterSeq AND seq <= :throughSeq AND (origin IS NULL OR origin <> :origin) ORDER BY seq LIMIT :limit";
+
+    private static final String DELETE_OLDER_SQL =
+            "DELETE FROM job_changes WHERE changed_at < :cutoff AND seq < :belowSeq";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final String origin = UUID.randomUUID().toString();
+
+    @Autowired
+    public JobChangeRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Record one change to a job
+    public void record(long jobId, JobChange.Type type) {
+        jdbcTemplate.update(INSERT_SQL, params(TenantContext.requireTenant(), jobId, type));
+    }
+
+    // Record the same kind of change to many jobs in one batch
+    public void recordAll(List<Long> jobIds, JobChange.Type type) {
+        if (jobIds.isEmpty()) {
+            return;
+        }
+        String tenant = TenantContext.requireTenant();
+        SqlParameterSource[] params = new SqlParameterSource[jobIds.size()];
+        for (int i = 0; i < jobIds.size(); i++) {
+            params[i] = params(tenant, jobIds.get(i), type);
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, params);
+    }
+
+    // The current tenant's changes after the given sequence number, oldest first, without the job state
+    public List<JobChange> findSince(long afterSeq, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("tenantId", TenantContext.current())
+                .addValue("afterSeq", afterSeq)
+                .addValue("limit", limit);
+        String sql = TenantContext.isAllTenants() ? SELECT_SINCE_ALL_TENANTS_SQL : SELECT_SINCE_SQL;
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new JobChange(
+                rs.getLong("seq"),
+                rs.getLong("job_id"),
+                JobChange.Type.valueOf(rs.getString("change_type")),
+                rs.getTimestamp("changed_at").toLocalDateTime(),
+                null));
+    }
+
+    /**
+     * The highest sequence number in (afterSeq, throughSeq] up to which every number is in
+     * the log or has been missing for longer than the gap timeout, or afterSeq when the
+     * next number is still missing. A number missing above it may belong to a transaction
+     * that has not committed yet, so readers must not move past it.
+     */
+    public long findVisibleThrough(long afterSeq, long throughSeq, Duration gapTimeout) {
+        // Any gap below the first recent entry was already open when that entry was written
+        Long recent = jdbcTemplate.queryForObject(SELECT_FIRST_RECENT_SQL, new MapSqlParameterSource()
+                .addValue("afterSeq", afterSeq)
+                .addValue("throughSeq", throughSeq)
+                .addValue("gapTimeoutMicros", -gapTimeout.toNanos() / 1000), Long.class);
+        if (recent == null) {
+            return throughSeq;
+        }
+        if (recent - 1 > afterSeq && !exists(recent - 1)) {
+            return recent - 1;
+        }
+        Long gap = jdbcTemplate.queryForObject(SELECT_FIRST_GAP_SQL, new MapSqlParameterSource()
+                .addValue("fromSeq", recent)
+                .addValue("throughSeq", throughSeq), Long.class);
+        return gap != null ? gap : throughSeq;
+    }
+
+    // This instance, as recorded in the origin column of the changes it writes
+    public String getOrigin() {
+        return origin;
+    }
+
+    // Ids and sequence numbers of the changes in (afterSeq, throughSeq] recorded by other instances, oldest first
+    public List<long[]> findFromOtherOrigins(long afterSeq, long throughSeq, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("afterSeq", afterSeq)
+                .addValue("throughSeq", throughSeq)
+                .addValue("origin", origin)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(SELECT_OTHER_ORIGINS_SQL, params,
+                (rs, rowNum) -> new long[] {rs.getLong("seq"), rs.getLong("job_id")});
+    }
+
+    // Lowest retained sequence number, or null when the log is empty
+    public Long findMinSeq() {
+        return jdbcTemplate.queryForObject("SELECT MIN(seq) FROM job_changes", new MapSqlParameterSource(), Long.class);
+    }
+
+    // Highest sequence number, or null when the log is empty
+    public Long findMaxSeq() {
+        return jdbcTemplate.queryForObject("SELECT MAX(seq) FROM job_changes", new MapSqlParameterSource(), Long.class);
+    }
+
+    // Delete changes older than the cutoff that are below the given sequence number
+    public int deleteOlderThan(LocalDateTime cutoff, long belowSeq) {
+        return jdbcTemplate.update(DELETE_OLDER_SQL, new MapSqlParameterSource()
+                .addValue("cutoff", cutoff)
+                .addValue("belowSeq", belowSeq));
+    }
+
+    private boolean exists(long seq) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM job_changes WHERE seq = :seq",
+                new MapSqlParameterSource("seq", seq), Integer.class);
+        return count != null && count > 0;
+    }
+
+    private MapSqlParameterSource params(String tenant, long jobId, JobChange.Type type) {
+        return new MapSqlParameterSource()
+                .addValue("tenantId", tenant)
+                .addValue("jobId", jobId)
+                .addValue("type", type.name())
+                .addValue("origin", origin);
+    }
+}
@@ -1,28 +1,55 @@
 package com.jobtracker.repository;
 
+import com.jobtracker.model.CollectionVersion;
 import com.jobtracker.model.Job;
 import com.jobtracker.model.JobStatus;
+import com.jobtracker.model.JobSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface JobRepository extends JpaRepository<Job, Long> {
     
+    String SUMMARY = "new com.jobtracker.model.JobSummary(j.id, j.company, j.position, j.status, j.createdAt, j.updatedAt)";
+    
+    // Loading by primary key bypasses the tenant restriction that Hibernate adds to
+    // queries, so the lookup by id is a query as well
+    @Override
+    @Query("SELECT j FROM Job j WHERE j.id = :id")
+    Optional<Job> findById(@Param("id") Long id);
+    
     // Find jobs by status
     List<Job> findByStatus(JobStatus status);
     
-    // Find jobs by company (case insensitive)
-    List<Job> findByCompanyIgnoreCase(String company);
+    // Find jobs by normalized lowercase company
+    List<Job> findByCompanyLc(String companyLc);
+    
+    // Find jobs by company (case insensitive), through the indexed lowercase column
+    default List<Job> findByCompanyIgnoreCase(String company) {
+        return findByCompanyLc(Job.normalizeCompany(company));
+    }
     
     // Find jobs by position containing keyword (case insensitive)
     List<Job> findByPositionContainingIgnoreCase(String keyword);
     
-    // Find jobs by company and status
-    List<Job> findByCompanyIgnoreCaseAndStatus(String company, JobStatus status);
+    // Find jobs by normalized lowercase company and status
+    List<Job> findByCompanyLcAndStatus(String companyLc, JobStatus status);
+    
+    // Find jobs by company (case insensitive) and status
+    default List<Job> findByCompanyIgnoreCaseAndStatus(String company, JobStatus status) {
+        return findByCompanyLcAndStatus(Job.normalizeCompany(company), status);
+    }
     
     // Custom query to find jobs with notes containing specific text
     @Query("SELECT j FROM Job j WHERE j.notes IS NOT NULL AND LOWER(j.notes) LIKE LOWER(CONCAT('%', :keyword, '%'))")
@@ -31,9 +58,114 @@ public interface JobRepository extends JpaRepository<Job, Long> {
     // Count jobs by status
     long countByStatus(JobStatus status);
     
+    // Count jobs for every status in one query
+    @Query("SELECT j.status AS status, COUNT(j) AS count FROM Job j GROUP BY j.status")
+    List<StatusCount> countGroupedByStatus();
+    
+    // Count jobs for every tenant and status in one query; only meaningful across all tenants
+    @Query("SELECT j.tenantId AS tenantId, j.status AS status, COUNT(j) AS count FROM Job j GROUP BY j.tenantId, j.status")
+    List<TenantStatusCount> countGroupedByTenantAndStatus();
+    
     // Find jobs ordered by creation date (newest first)
     List<Job> findAllByOrderByCreatedAtDesc();
     
     // Find jobs ordered by company name
     List<Job> findAllByOrderByCompanyAsc();
+    
+    // Keyset pagination: callers pass the sort and page size through Pageable
+    // and keep the page number at zero, so no OFFSET is ever issued.
+    
+    // Next page of jobs by id
+    List<Job> findByIdGreaterThan(Long afterId, Pageable pageable);
+    
+    // Next page of jobs with the given status by id
+    List<Job> findByStatusAndIdGreaterThan(JobStatus status, Long afterId, Pageable pageable);
+    
+    // Next page of jobs for a normalized lowercase company by id
+    List<Job> findByCompanyLcAndIdGreaterThan(String companyLc, Long afterId, Pageable pageable);
+    
+    // Next page of jobs by position keyword by id
+    List<Job> findByPositionContainingIgnoreCaseAndIdGreaterThan(String keyword, Long afterId, Pageable pageable);
+    
+    // Next page of jobs with notes containing specific text by id
+    @Query("SELECT j FROM Job j WHERE j.notes IS NOT NULL AND LOWER(j.notes) LIKE LOWER(CONCAT('%', :keyword, '%')) AND j.id > :afterId")
+    List<Job> findJobsWithNotesContaining(@Param("keyword") String keyword, @Param("afterId") Long afterId, Pageable pageable);
+    
+    // First page of jobs for an explicit sort
+    List<Job> findAllBy(Pageable pageable);
+    
+    // Next page of jobs ordered by (createdAt DESC, id DESC)
+    List<Job> findByCreatedAtLessThanOrCreatedAtAndIdLessThan(LocalDateTime createdAt, LocalDateTime sameCreatedAt,
+                                                              Long beforeId, Pageable pageable);
+    
+    // Next page of jobs ordered by (company ASC, id ASC)
+    List<Job> findByCompanyGreaterThanOrCompanyAndIdGreaterThan(String company, String sameCompany,
+                                                                Long afterId, Pageable pageable);
+    
+    // Keyset pages of notes-free summaries, one per listing above. The constructor expression
+    // selects only the summary columns, so notes are never read and no entity is hydrated.
+    
+    @Query("SELECT " + SUMMARY + " FROM Job j WHERE j.id > :afterId")
+    List<JobSummary> findSummariesByIdGreaterThan(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT " + SUMMARY + " FROM Job j WHERE j.status = :status AND j.id > :afterId")
+    List<JobSummary> findSummariesByStatusAndIdGreaterThan(@Param("status") JobStatus status,
+                                                           @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT " + SUMMARY + " FROM Job j WHERE j.companyLc = :companyLc AND j.id > :afterId")
+    List<JobSummary> findSummariesByCompanyLcAndIdGreaterThan(@Param("companyLc") String companyLc,
+                                                              @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT " + SUMMARY + " FROM Job j WHERE j.companyLc = :companyLc AND j.status = :status AND j.id > :afterId")
+    List<JobSummary> findSummariesByCompanyLcAndStatusAndIdGreaterThan(@Param("companyLc") String companyLc,
+                                                                       @Param("status") JobStatus status,
+                                                                       @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT " + SUMMARY + " FROM Job j WHERE LOWER(j.position) LIKE LOWER(CONCAT('%', :keyword, '%')) AND j.id > :afterId")
+    List<JobSummary> findSummariesByPositionContaining(@Param("keyword") String keyword,
+                                                       @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT " + SUMMARY + " FROM Job j WHERE j.notes IS NOT NULL AND LOWER(j.notes) LIKE LOWER(CONCAT('%', :keyword, '%')) AND j.id > :afterId")
+    List<JobSummary> findSummariesWithNotesContaining(@Param("keyword") String keyword,
+                                                      @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT " + SUMMARY + " FROM Job j")
+    List<JobSummary> findSummariesBy(Pageable pageable);
+    
+    @Query("SELECT " + SUMMARY + " FROM Job j WHERE j.createdAt < :createdAt OR (j.createdAt = :createdAt AND j.id < :beforeId)")
+    List<JobSummary> findSummariesCreatedBefore(@Param("createdAt") LocalDateTime createdAt,
+                                                @Param("beforeId") Long beforeId, Pageable pageable);
+    
+    @Query("SELECT " + SUMMARY + " FROM Job j WHERE j.company > :company OR (j.company = :company AND j.id > :afterId)")
+    List<JobSummary> findSummariesByCompanyAfter(@Param("company") String company,
+                                                 @Param("afterId") Long afterId, Pageable pageable);
+    
+    // Fingerprints for conditional GETs; each is answered from an index on (filter, updated_at)
+    @Query("SELECT new com.jobtracker.model.CollectionVersion(COUNT(j), MAX(j.updatedAt)) FROM Job j")
+    CollectionVersion findCollectionVersion();
+    
+    @Query("SELECT new com.jobtracker.model.CollectionVersion(COUNT(j), MAX(j.updatedAt)) FROM Job j WHERE j.status = :status")
+    CollectionVersion findCollectionVersionByStatus(@Param("status") JobStatus status);
+    
+    @Query("SELECT new com.jobtracker.model.CollectionVersion(COUNT(j), MAX(j.updatedAt)) FROM Job j WHERE j.companyLc = :companyLc")
+    CollectionVersion findCollectionVersionByCompanyLc(@Param("companyLc") String companyLc);
+    
+    // Stream every job through a forward-only cursor; must be consumed inside a transaction and closed.
+    // MySQL only honours the fetch size when the connection URL sets useCursorFetch=true.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<Job> streamAllByOrderByIdAsc();
+    
+    interface StatusCount {
+        JobStatus getStatus();
+        
+        long getCount();
+    }
+    
+    interface TenantStatusCount extends StatusCount {
+        String getTenantId();
+    }
 }
@@ -0,0 +1,195 @@
+package com.jobtracker.repository;
+
+import com.jobtracker.config.TenantContext;
+import com.jobtracker.model.DurationHistogram;
+import com.jobtracker.model.JobAnalytics;
+import com.jobtracker.model.JobStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The job_rollup_* tables behind the analytics endpoint. A rebuild reads the
+ * aggregates with plain GROUP BY selects over jobs, then replaces each table's
+ * contents with batched inserts. The read is a non-locking consistent read and
+ * should run outside the replacing transaction: INSERT ... SELECT would take
+ * shared locks on every jobs row it reads and block writes until commit.
+ * Callers are responsible for the replacing transaction, so readers see either
+ * the old or the new rollup. The stage duration histograms are counted by the
+ * caller from job_status_events and replaced the same way.
+ *
+ * Rows are kept per tenant. Reads cover the current tenant, or all tenants
+ * summed together when working for all of them.
+ */
+@Repository
+public class JobRollupRepository {
+
+    private static final String STATUS_SUMS =
+            "COUNT(*) AS total, " +
+            "SUM(CASE WHEN status = 'APPLIED' THEN 1 ELSE 0 END) AS applied, " +
+            "SUM(CASE WHEN status = 'INTERVIEW' THEN 1 ELSE 0 END) AS interview, " +
+            "SUM(CASE WHEN status = 'OFFER' THEN 1 ELSE 0 END) AS offer, " +
+            "SUM(CASE WHEN status = 'REJECTED' THEN 1 ELSE 0 END) AS rejected";
+
+    private static final String AGGREGATE_COMPANY_SQL =
+            "SELECT tenant_id, company_lc, MIN(company) AS company, " + STATUS_SUMS + " FROM jobs " +
+            "WHERE deleted_at IS NULL GROUP BY tenant_id, company_lc";
+
+    private static final String AGGREGATE_DAILY_SQL =
+            "SELECT tenant_id, CAST(created_at AS DATE) AS created_on, " + STATUS_SUMS + " FROM jobs " +
+            "WHERE created_at IS NOT NULL AND deleted_at IS NULL GROUP BY tenant_id, CAST(created_at AS DATE)";
+
+    private static final String INSERT_COMPANY_SQL =
+            "INSERT INTO job_rollup_company (tenant_id, company_lc, company, total, applied, interview, offer, rejected) " +
+            "VALUES (:tenantId, :companyLc, :company, :total, :applied, :interview, :offer, :rejected)";
+
+    private static final String INSERT_DAILY_SQL =
+            "INSERT INTO job_rollup_daily (tenant_id, created_on, total, applied, interview, offer, rejected) " +
+            "VALUES (:tenantId, :createdOn, :total, :applied, :interview, :offer, :rejected)";
+
+    private static final String TOP_COMPANIES_SQL =
+            "SELECT MIN(company) AS company, SUM(total) AS total, SUM(applied) AS applied, SUM(interview) AS interview, " +
+            "SUM(offer) AS offer, SUM(rejected) AS rejected FROM job_rollup_company " +
+            "WHERE (:allTenants OR tenant_id = :tenantId) GROUP BY company_lc ORDER BY SUM(total) DESC, company_lc LIMIT :limit";
+
+    private static final String DAILY_SQL =
+            "SELECT created_on, SUM(total) AS total FROM job_rollup_daily " +
+            "WHERE (:allTenants OR tenant_id = :tenantId) AND created_on >= :from GROUP BY created_on ORDER BY created_on";
+
+    private static final String INSERT_STAGE_DURATIONS_SQL =
+            "INSERT INTO job_rollup_stage_durations (tenant_id, status, bucket, stays, max_millis) " +
+            "VALUES (:tenantId, :status, :bucket, :stays, :maxMillis)";
+
+    private static final String STAGE_DURATIONS_SQL =
+            "SELECT status, bucket, stays, max_millis FROM job_rollup_stage_durations WHERE tenant_id = :tenantId";
+
+    private static final String STAGE_DURATIONS_ALL_TENANTS_SQL =
+            "SELECT status, bucket, SUM(stays) AS stays, MAX(max_millis) AS max_millis " +
+            "FROM job_rollup_stage_durations GROUP BY status, bucket";
+
+    private static final JobStatus[] STATUSES = JobStatus.values();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public JobRollupRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Rows of both rollups, as read by {@link #aggregate()} and written by {@link #replace}.
+     * Each row holds the tenantId, the key columns and the per-status sums.
+     */
+    public static final class Rollups {
+        private final List<SqlParameterSource> companyRows;
+        private final List<SqlParameterSource> dailyRows;
+
+        public Rollups(List<SqlParameterSource> companyRows, List<SqlParameterSource> dailyRows) {
+            this.companyRows = companyRows;
+            this.dailyRows = dailyRows;
+        }
+    }
+
+    // Fresh aggregates of the jobs table, for every tenant; a plain read that takes no row locks
+    public Rollups aggregate() {
+        MapSqlParameterSource none = new MapSqlParameterSource();
+        List<SqlParameterSource> companyRows = jdbcTemplate.query(AGGREGATE_COMPANY_SQL, none, (rs, rowNum) ->
+                statusSums(rs)
+                        .addValue("companyLc", rs.getString("company_lc"))
+                        .addValue("company", rs.getString("company")));
+        List<SqlParameterSource> dailyRows = jdbcTemplate.query(AGGREGATE_DAILY_SQL, none, (rs, rowNum) ->
+                statusSums(rs).addValue("createdOn", rs.getDate("created_on").toLocalDate()));
+        return new Rollups(companyRows, dailyRows);
+    }
+
+    // Replace both rollups with the given rows
+    public void replace(Rollups rollups) {
+        MapSqlParameterSource none = new MapSqlParameterSource();
+        jdbcTemplate.update("DELETE FROM job_rollup_company", none);
+        jdbcTemplate.batchUpdate(INSERT_COMPANY_SQL, rollups.companyRows.toArray(SqlParameterSource[]::new));
+        jdbcTemplate.update("DELETE FROM job_rollup_daily", none);
+        jdbcTemplate.batchUpdate(INSERT_DAILY_SQL, rollups.dailyRows.toArray(SqlParameterSource[]::new));
+    }
+
+    // Replace the stage duration histograms with the given ones, by tenant and status
+    public void replaceStageDurations(Map<String, Map<JobStatus, DurationHistogram>> histograms) {
+        List<SqlParameterSource> rows = new ArrayList<>();
+        histograms.forEach((tenant, byStatus) -> byStatus.forEach((status, histogram) ->
+                histogram.forEachBucket((bucket, stays, maxMillis) -> rows.add(new MapSqlParameterSource()
+                        .addValue("tenantId", tenant)
+                        .addValue("status", status.ordinal())
+                        .addValue("bucket", bucket)
+                        .addValue("stays", stays)
+                        .addValue("maxMillis", maxMillis)))));
+        jdbcTemplate.update("DELETE FROM job_rollup_stage_durations", new MapSqlParameterSource());
+        jdbcTemplate.batchUpdate(INSERT_STAGE_DURATIONS_SQL, rows.toArray(SqlParameterSource[]::new));
+    }
+
+    // Stage duration histograms of the current tenant, or of all tenants merged, for every status
+    public Map<JobStatus, DurationHistogram> findStageDurations() {
+        Map<JobStatus, DurationHistogram> histograms = new EnumMap<>(JobStatus.class);
+        for (JobStatus status : STATUSES) {
+            histograms.put(status, new DurationHistogram());
+        }
+        String sql = TenantContext.isAllTenants() ? STAGE_DURATIONS_ALL_TENANTS_SQL : STAGE_DURATIONS_SQL;
+        jdbcTemplate.query(sql, new MapSqlParameterSource("tenantId", TenantContext.current()),
+                rs -> {
+                    histograms.get(STATUSES[rs.getInt("status")])
+                            .add(rs.getInt("bucket"), rs.getLong("stays"), rs.getLong("max_millis"));
+                });
+        return histograms;
+    }
+
+    // Companies with the most jobs, most first
+    public List<JobAnalytics.CompanyCount> findTopCompanies(int limit) {
+        return jdbcTemplate.query(TOP_COMPANIES_SQL, tenantParams().addValue("limit", limit),
+                (rs, rowNum) -> new JobAnalytics.CompanyCount(rs.getString("company"), rs.getLong("total"), statusCounts(rs)));
+    }
+
+    // Jobs created per day from the given day on, oldest first; days without jobs are absent
+    public Map<LocalDate, Long> findDailyCreated(LocalDate from) {
+        Map<LocalDate, Long> days = new LinkedHashMap<>();
+        jdbcTemplate.query(DAILY_SQL, tenantParams().addValue("from", from),
+                rs -> {
+                    days.put(rs.getDate("created_on").toLocalDate(), rs.getLong("total"));
+                });
+        return days;
+    }
+
+    private static MapSqlParameterSource tenantParams() {
+        return new MapSqlParameterSource()
+                .addValue("allTenants", TenantContext.isAllTenants())
+                .addValue("tenantId", TenantContext.current());
+    }
+
+    private static MapSqlParameterSource statusSums(ResultSet rs) throws SQLException {
+        MapSqlParameterSource row = new MapSqlParameterSource()
+                .addValue("tenantId", rs.getString("tenant_id"))
+                .addValue("total", rs.getLong("total"));
+        for (JobStatus status : JobStatus.values()) {
+            String column = status.name().toLowerCase(Locale.ROOT);
+            row.addValue(column, rs.getLong(column));
+        }
+        return row;
+    }
+
+    private static Map<JobStatus, Long> statusCounts(ResultSet rs) throws SQLException {
+        Map<JobStatus, Long> counts = new EnumMap<>(JobStatus.class);
+        for (JobStatus status : JobStatus.values()) {
+            counts.put(status, rs.getLong(status.name().toLowerCase(Locale.ROOT)));
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,126 @@
+package com.jobtracker.repository;
+
+import com.jobtracker.config.TenantContext;
+import com.jobtracker.model.JobStatus;
+import com.jobtracker.model.StatusPeriod;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The append-only job_status_events log: one row each time a job enters a status.
+ *
+ * Rows are never updated or deleted, including for deleted jobs, so stage
+ * durations keep their history. Writes join the caller's transaction; callers
+ * are responsible for the transaction. Reads are scoped to the current tenant.
+ */
+@Repository
+public class JobStatusEventRepository {
+
+    private static final JobStatus[] STATUSES = JobStatus.values();
+
+    private static final String INSERT_SQL =
+            "INSERT INTO job_status_events (tenant_id, job_id, status, at_millis) " +
+            "VALUES (:tenantId, :jobId, :status, :atMillis)";
+
+    private static final String TIMELINE_SQL =
+            "SELECT status, at_millis FROM job_status_events WHERE job_id = :jobId AND tenant_id = :tenantId ORDER BY id";
+
+    // Every stay that ended with a transition, as (tenant, status, milliseconds spent in it); both
+    // read the events in idx_job_status_events_tenant_job_id order
+    private static final String COMPLETED_STAYS_SQL =
+            "SELECT tenant_id, status, next_at - at_millis AS duration FROM (" +
+            "SELECT tenant_id, status, at_millis, LEAD(at_millis) OVER (PARTITION BY tenant_id, job_id ORDER BY id) AS next_at " +
+            "FROM job_status_events WHERE tenant_id = :tenantId) stays WHERE next_at IS NOT NULL";
+
+    private static final String COMPLETED_STAYS_ALL_TENANTS_SQL =
+            "SELECT tenant_id, status, next_at - at_millis AS duration FROM (" +
+            "SELECT tenant_id, status, at_millis, LEAD(at_millis) OVER (PARTITION BY tenant_id, job_id ORDER BY id) AS next_at " +
+            "FROM job_status_events) stays WHERE next_at IS NOT NULL";
+
+    // Rows fetched per round trip when streaming completed stays, as for streamAllByOrderByIdAsc.
+    // MySQL only honours the fetch size when the connection URL sets useCursorFetch=true.
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate streamingTemplate;
+
+    @FunctionalInterface
+    public interface StayConsumer {
+        void accept(String tenant, JobStatus status, long durationMillis);
+    }
+
+    @Autowired
+    public JobStatusEventRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getJdbcTemplate().getDataSource());
+        streaming.setFetchSize(STREAM_FETCH_SIZE);
+        this.streamingTemplate = new NamedParameterJdbcTemplate(streaming);
+    }
+
+    // Record that a job entered a status now
+    public void record(long jobId, JobStatus status) {
+        jdbcTemplate.update(INSERT_SQL, params(TenantContext.requireTenant(), jobId, status, System.currentTimeMillis()));
+    }
+
+    // Record status entries for many jobs in one batch; the lists are parallel
+    public void recordAll(List<Long> jobIds, List<JobStatus> statuses) {
+        if (jobIds.isEmpty()) {
+            return;
+        }
+        String tenant = TenantContext.requireTenant();
+        long now = System.currentTimeMillis();
+        SqlParameterSource[] params = new SqlParameterSource[jobIds.size()];
+        for (int i = 0; i < jobIds.size(); i++) {
+            params[i] = params(tenant, jobIds.get(i), statuses.get(i), now);
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, params);
+    }
+
+    // The statuses a job went through, oldest first; the last one lasts until now
+    public List<StatusPeriod> findTimeline(long jobId) {
+        List<JobStatus> statuses = new ArrayList<>();
+        List<Long> entered = new ArrayList<>();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("jobId", jobId)
+                .addValue("tenantId", TenantContext.current());
+        jdbcTemplate.query(TIMELINE_SQL, params, rs -> {
+            statuses.add(STATUSES[rs.getInt("status")]);
+            entered.add(rs.getLong("at_millis"));
+        });
+        long now = System.currentTimeMillis();
+        List<StatusPeriod> timeline = new ArrayList<>(statuses.size());
+        for (int i = 0; i < statuses.size(); i++) {
+            boolean current = i == statuses.size() - 1;
+            long until = current ? Math.max(now, entered.get(i)) : entered.get(i + 1);
+            timeline.add(new StatusPeriod(statuses.get(i), Instant.ofEpochMilli(entered.get(i)),
+                    until - entered.get(i), current));
+        }
+        return timeline;
+    }
+
+    // Streams every completed stay to the consumer without holding the rows in memory
+    public void forEachCompletedStay(StayConsumer consumer) {
+        String sql = TenantContext.isAllTenants() ? COMPLETED_STAYS_ALL_TENANTS_SQL : COMPLETED_STAYS_SQL;
+        MapSqlParameterSource params = new MapSqlParameterSource("tenantId", TenantContext.current());
+        streamingTemplate.query(sql, params,
+                rs -> {
+                    consumer.accept(rs.getString("tenant_id"), STATUSES[rs.getInt("status")], rs.getLong("duration"));
+                });
+    }
+
+    private static MapSqlParameterSource params(String tenant, long jobId, JobStatus status, long atMillis) {
+        return new MapSqlParameterSource()
+                .addValue("tenantId", tenant)
+                .addValue("jobId", jobId)
+                .addValue("status", status.ordinal())
+                .addValue("atMillis", atMillis);
+    }
+}
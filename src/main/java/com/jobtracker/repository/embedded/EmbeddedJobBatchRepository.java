@@ -0,0 +1,128 @@
+package com.jobtracker.repository.embedded;
+
+import com.jobtracker.config.TenantContext;
+import com.jobtracker.model.Job;
+import com.jobtracker.model.JobPatch;
+import com.jobtracker.repository.JobBatchRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * {@link JobBatchRepository} on top of {@link EmbeddedJobStore}: every statement
+ * of the JDBC version becomes one atomic change per job, with the same update
+ * counts, tenant scoping and soft-delete rules. There are no round trips to save,
+ * so batches are simply loops.
+ */
+public class EmbeddedJobBatchRepository extends JobBatchRepository {
+
+    private final EmbeddedJobStore store;
+
+    public EmbeddedJobBatchRepository(EmbeddedJobStore store) {
+        super(null);
+        this.store = store;
+    }
+
+    @Override
+    public void insertAll(List<Job> jobs) {
+        String tenant = TenantContext.requireTenant();
+        for (Job job : jobs) {
+            JobRecord record = store.insert(tenant, job.getCompany(), job.getPosition(), job.getStatus(), job.getNotes());
+            job.setId(record.id);
+            job.setTenantId(tenant);
+            job.setCreatedAt(JobRecord.toDateTime(record.createdAt));
+            job.setUpdatedAt(JobRecord.toDateTime(record.updatedAt));
+            job.setVersion(record.version);
+        }
+    }
+
+    @Override
+    public int[] updateAll(List<Job> jobs, List<Long> expectedVersions) {
+        Predicate<JobRecord> live = live();
+        LocalDateTime now = JobRecord.now();
+        long micros = JobRecord.toMicros(now);
+        int[] counts = new int[jobs.size()];
+        for (int i = 0; i < jobs.size(); i++) {
+            Job job = jobs.get(i);
+            long expectedVersion = expectedVersions.get(i);
+            job.setUpdatedAt(now);
+            counts[i] = store.update(job.getId(), current -> live.test(current) && current.version == expectedVersion
+                    ? current.update(job.getCompany(), job.getPosition(), job.getStatus(), job.getNotes(), micros)
+                    : null) != null ? 1 : 0;
+        }
+        return counts;
+    }
+
+    @Override
+    public int delete(long id) {
+        Predicate<JobRecord> live = live();
+        long now = JobRecord.toMicros(JobRecord.now());
+        return store.update(id, current -> live.test(current) ? current.delete(now) : null) != null ? 1 : 0;
+    }
+
+    @Override
+    public int[] deleteAll(List<Long> ids, List<Long> expectedVersions) {
+        Predicate<JobRecord> live = live();
+        long now = JobRecord.toMicros(JobRecord.now());
+        int[] counts = new int[ids.size()];
+        for (int i = 0; i < ids.size(); i++) {
+            long expectedVersion = expectedVersions.get(i);
+            counts[i] = store.update(ids.get(i), current -> live.test(current) && current.version == expectedVersion
+                    ? current.delete(now) : null) != null ? 1 : 0;
+        }
+        return counts;
+    }
+
+    @Override
+    public Job findIncludingDeleted(long id) {
+        String tenant = TenantContext.requireTenant();
+        JobRecord record = store.get(id);
+        return record != null && tenant.equals(record.tenant) ? record.toJob() : null;
+    }
+
+    @Override
+    public int purge(LocalDateTime cutoff, int limit) {
+        return store.purge(JobRecord.toMicros(cutoff), limit);
+    }
+
+    @Override
+    public int patch(long id, JobPatch patch, Long expectedVersion) {
+        Predicate<JobRecord> live = live();
+        long now = JobRecord.toMicros(JobRecord.now());
+        JobRecord patched = store.update(id, current -> {
+            if (!live.test(current) || (expectedVersion != null && expectedVersion != current.version)) {
+                return null;
+            }
+            return current.update(
+                    patch.has("company") ? patch.getCompany() : current.company,
+                    patch.has("position") ? patch.getPosition() : current.position,
+                    patch.has("status") ? patch.getStatus() : current.status(),
+                    patch.has("notes") ? patch.getNotes() : current.notes,
+                    now);
+        });
+        return patched != null ? 1 : 0;
+    }
+
+    @Override
+    public Map<Long, Job> findCurrentByIds(Collection<Long> ids) {
+        Predicate<JobRecord> live = live();
+        Map<Long, Job> current = new HashMap<>();
+        for (Long id : ids) {
+            JobRecord record = store.get(id);
+            if (live.test(record)) {
+                current.put(id, record.toJob());
+            }
+        }
+        return current;
+    }
+
+    // Live jobs of the caller's tenant; like the statements it replaces, never all tenants
+    private static Predicate<JobRecord> live() {
+        String tenant = TenantContext.requireTenant();
+        return record -> record != null && !record.isDeleted() && tenant.equals(record.tenant);
+    }
+}
@@ -0,0 +1,671 @@
+package com.jobtracker.repository.embedded;
+
+import com.jobtracker.config.TenantContext;
+import com.jobtracker.model.CollectionVersion;
+import com.jobtracker.model.Job;
+import com.jobtracker.model.JobStatus;
+import com.jobtracker.model.JobSummary;
+import com.jobtracker.repository.JobRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link JobRepository} on top of {@link EmbeddedJobStore}, with the semantics of
+ * the JPA repository: finders only see live jobs of the current tenant, saves
+ * check and bump the version, and deletes only stamp the job deleted.
+ *
+ * Finders whose order matches one of the store's indexes (id, status, company,
+ * creation time) walk that index and stop after the page; any other sort keeps
+ * the best page of the matching jobs in a bounded heap. Jobs are copied out of
+ * the store, so callers may modify what they get.
+ */
+public class EmbeddedJobRepository implements JobRepository {
+
+    private static final Sort BY_ID = Sort.by(Sort.Direction.ASC, "id");
+    private static final Sort BY_CREATED_AT_DESC = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+    private static final int STREAM_CHUNK = 1000;
+
+    private final EmbeddedJobStore store;
+
+    public EmbeddedJobRepository(EmbeddedJobStore store) {
+        this.store = store;
+    }
+
+    // One walk over an index, in the order named by the sort it was created with
+    @FunctionalInterface
+    private interface Source {
+        void scan(EmbeddedJobStore.RecordVisitor visitor);
+    }
+
+    @Override
+    public <S extends Job> S save(S job) {
+        if (job.getCompany() == null || job.getPosition() == null || job.getStatus() == null) {
+            throw new DataIntegrityViolationException("Company, position and status of a job must not be null");
+        }
+        if (job.getId() == null) {
+            JobRecord record = store.insert(TenantContext.requireTenant(), job.getCompany(), job.getPosition(),
+                    job.getStatus(), job.getNotes());
+            job.setId(record.id);
+            job.setTenantId(record.tenant);
+            job.setCreatedAt(JobRecord.toDateTime(record.createdAt));
+            job.setUpdatedAt(JobRecord.toDateTime(record.updatedAt));
+            job.setVersion(record.version);
+            return job;
+        }
+        long now = JobRecord.toMicros(JobRecord.now());
+        Predicate<JobRecord> visible = visible();
+        JobRecord record = store.update(job.getId(), current -> {
+            if (current == null || !visible.test(current)
+                    || (job.getVersion() != null && job.getVersion() != current.version)) {
+                throw new ObjectOptimisticLockingFailureException(Job.class, job.getId());
+            }
+            return current.update(job.getCompany(), job.getPosition(), job.getStatus(), job.getNotes(), now);
+        });
+        job.setUpdatedAt(JobRecord.toDateTime(record.updatedAt));
+        job.setVersion(record.version);
+        return job;
+    }
+
+    @Override
+    public <S extends Job> List<S> saveAll(Iterable<S> jobs) {
+        List<S> saved = new ArrayList<>();
+        jobs.forEach(job -> saved.add(save(job)));
+        return saved;
+    }
+
+    @Override
+    public <S extends Job> S saveAndFlush(S job) {
+        return save(job);
+    }
+
+    @Override
+    public <S extends Job> List<S> saveAllAndFlush(Iterable<S> jobs) {
+        return saveAll(jobs);
+    }
+
+    @Override
+    public void flush() {
+        // Writes are applied and logged as they happen
+    }
+
+    @Override
+    public Optional<Job> findById(Long id) {
+        return Optional.ofNullable(store.get(id)).filter(visible()).map(JobRecord::toJob);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        JobRecord record = store.get(id);
+        return record != null && visible().test(record);
+    }
+
+    @Override
+    public Job getReferenceById(Long id) {
+        return findById(id).orElseThrow(() -> new EntityNotFoundException("Unable to find Job with id " + id));
+    }
+
+    @Override
+    @Deprecated
+    public Job getById(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    @Deprecated
+    public Job getOne(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    public List<Job> findAll() {
+        return select(all(0), BY_ID, visible(), Pageable.unpaged(), JobRecord::toJob);
+    }
+
+    @Override
+    public List<Job> findAll(Sort sort) {
+        return select(all(0), BY_ID, visible(), Pageable.unpaged(sort), JobRecord::toJob);
+    }
+
+    @Override
+    public Page<Job> findAll(Pageable pageable) {
+        List<Job> content = select(all(0), BY_ID, visible(), pageable, JobRecord::toJob);
+        return new PageImpl<>(content, pageable, count());
+    }
+
+    @Override
+    public List<Job> findAllById(Iterable<Long> ids) {
+        Predicate<JobRecord> visible = visible();
+        List<Job> jobs = new ArrayList<>();
+        for (Long id : ids) {
+            JobRecord record = store.get(id);
+            if (record != null && visible.test(record)) {
+                jobs.add(record.toJob());
+            }
+        }
+        return jobs;
+    }
+
+    @Override
+    public long count() {
+        return count(all(0), visible());
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        softDelete(id, null);
+    }
+
+    @Override
+    public void delete(Job job) {
+        softDelete(job.getId(), job.getVersion());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends Job> jobs) {
+        jobs.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        findAll().forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAllInBatch(Iterable<Job> jobs) {
+        jobs.forEach(job -> deleteById(job.getId()));
+    }
+
+    @Override
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAllInBatch() {
+        findAll().forEach(job -> deleteById(job.getId()));
+    }
+
+    @Override
+    public <S extends Job> Optional<S> findOne(Example<S> example) {
+        throw queryByExample();
+    }
+
+    @Override
+    public <S extends Job> List<S> findAll(Example<S> example) {
+        throw queryByExample();
+    }
+
+    @Override
+    public <S extends Job> List<S> findAll(Example<S> example, Sort sort) {
+        throw queryByExample();
+    }
+
+    @Override
+    public <S extends Job> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw queryByExample();
+    }
+
+    @Override
+    public <S extends Job> long count(Example<S> example) {
+        throw queryByExample();
+    }
+
+    @Override
+    public <S extends Job> boolean exists(Example<S> example) {
+        throw queryByExample();
+    }
+
+    @Override
+    public <S extends Job, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw queryByExample();
+    }
+
+    @Override
+    public List<Job> findByStatus(JobStatus status) {
+        return select(byStatus(status, 0), BY_ID, visible(), Pageable.unpaged(), JobRecord::toJob);
+    }
+
+    @Override
+    public List<Job> findByCompanyLc(String companyLc) {
+        return select(byCompany(companyLc, 0), BY_ID, visible(), Pageable.unpaged(), JobRecord::toJob);
+    }
+
+    @Override
+    public List<Job> findByPositionContainingIgnoreCase(String keyword) {
+        return select(all(0), BY_ID, visible().and(positionContains(keyword)), Pageable.unpaged(), JobRecord::toJob);
+    }
+
+    @Override
+    public List<Job> findByCompanyLcAndStatus(String companyLc, JobStatus status) {
+        return select(byCompany(companyLc, 0), BY_ID, visible().and(record -> record.status() == status),
+                Pageable.unpaged(), JobRecord::toJob);
+    }
+
+    @Override
+    public List<Job> findJobsWithNotesContaining(String keyword) {
+        return select(all(0), BY_ID, visible().and(notesContain(keyword)), Pageable.unpaged(), JobRecord::toJob);
+    }
+
+    @Override
+    public long countByStatus(JobStatus status) {
+        return count(byStatus(status, 0), visible());
+    }
+
+    @Override
+    public List<StatusCount> countGroupedByStatus() {
+        Predicate<JobRecord> visible = visible();
+        List<StatusCount> counts = new ArrayList<>();
+        for (JobStatus status : JobStatus.values()) {
+            long count = count(byStatus(status, 0), visible);
+            if (count > 0) {
+                counts.add(new Count(null, status, count));
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public List<TenantStatusCount> countGroupedByTenantAndStatus() {
+        Predicate<JobRecord> visible = visible();
+        Map<String, Map<JobStatus, Long>> byTenant = new TreeMap<>();
+        for (JobStatus status : JobStatus.values()) {
+            store.scanByStatus(status, 0, record -> {
+                if (visible.test(record)) {
+                    byTenant.computeIfAbsent(record.tenant, tenant -> new EnumMap<>(JobStatus.class))
+                            .merge(status, 1L, Long::sum);
+                }
+                return true;
+            });
+        }
+        List<TenantStatusCount> counts = new ArrayList<>();
+        byTenant.forEach((tenant, statuses) ->
+                statuses.forEach((status, count) -> counts.add(new Count(tenant, status, count))));
+        return counts;
+    }
+
+    @Override
+    public List<Job> findAllByOrderByCreatedAtDesc() {
+        return select(createdBefore(Long.MAX_VALUE, Long.MAX_VALUE), BY_CREATED_AT_DESC, visible(),
+                Pageable.unpaged(), JobRecord::toJob);
+    }
+
+    @Override
+    public List<Job> findAllByOrderByCompanyAsc() {
+        return select(all(0), BY_ID, visible(), Pageable.unpaged(Sort.by("company")), JobRecord::toJob);
+    }
+
+    @Override
+    public List<Job> findByIdGreaterThan(Long afterId, Pageable pageable) {
+        return select(all(afterId), BY_ID, visible(), pageable, JobRecord::toJob);
+    }
+
+    @Override
+    public List<Job> findByStatusAndIdGreaterThan(JobStatus status, Long afterId, Pageable pageable) {
+        return select(byStatus(status, afterId), BY_ID, visible(), pageable, JobRecord::toJob);
+    }
+
+    @Override
+    public List<Job> findByCompanyLcAndIdGreaterThan(String companyLc, Long afterId, Pageable pageable) {
+        return select(byCompany(companyLc, afterId), BY_ID, visible(), pageable, JobRecord::toJob);
+    }
+
+    @Override
+    public List<Job> findByPositionContainingIgnoreCaseAndIdGreaterThan(String keyword, Long afterId, Pageable pageable) {
+        return select(all(afterId), BY_ID, visible().and(positionContains(keyword)), pageable, JobRecord::toJob);
+    }
+
+    @Override
+    public List<Job> findJobsWithNotesContaining(String keyword, Long afterId, Pageable pageable) {
+        return select(all(afterId), BY_ID, visible().and(notesContain(keyword)), pageable, JobRecord::toJob);
+    }
+
+    @Override
+    public List<Job> findAllBy(Pageable pageable) {
+        return firstPage(pageable, JobRecord::toJob);
+    }
+
+    @Override
+    public List<Job> findByCreatedAtLessThanOrCreatedAtAndIdLessThan(LocalDateTime createdAt, LocalDateTime sameCreatedAt,
+                                                                     Long beforeId, Pageable pageable) {
+        return createdBefore(createdAt, sameCreatedAt, beforeId, pageable, JobRecord::toJob);
+    }
+
+    @Override
+    public List<Job> findByCompanyGreaterThanOrCompanyAndIdGreaterThan(String company, String sameCompany,
+                                                                       Long afterId, Pageable pageable) {
+        return select(all(0), BY_ID, visible().and(companyAfter(company, sameCompany, afterId)), pageable, JobRecord::toJob);
+    }
+
+    @Override
+    public List<JobSummary> findSummariesByIdGreaterThan(Long afterId, Pageable pageable) {
+        return select(all(afterId), BY_ID, visible(), pageable, JobRecord::toSummary);
+    }
+
+    @Override
+    public List<JobSummary> findSummariesByStatusAndIdGreaterThan(JobStatus status, Long afterId, Pageable pageable) {
+        return select(byStatus(status, afterId), BY_ID, visible(), pageable, JobRecord::toSummary);
+    }
+
+    @Override
+    public List<JobSummary> findSummariesByCompanyLcAndIdGreaterThan(String companyLc, Long afterId, Pageable pageable) {
+        return select(byCompany(companyLc, afterId), BY_ID, visible(), pageable, JobRecord::toSummary);
+    }
+
+    @Override
+    public List<JobSummary> findSummariesByCompanyLcAndStatusAndIdGreaterThan(String companyLc, JobStatus status,
+                                                                              Long afterId, Pageable pageable) {
+        return select(byCompany(companyLc, afterId), BY_ID, visible().and(record -> record.status() == status),
+                pageable, JobRecord::toSummary);
+    }
+
+    @Override
+    public List<JobSummary> findSummariesByPositionContaining(String keyword, Long afterId, Pageable pageable) {
+        return select(all(afterId), BY_ID, visible().and(positionContains(keyword)), pageable, JobRecord::toSummary);
+    }
+
+    @Override
+    public List<JobSummary> findSummariesWithNotesContaining(String keyword, Long afterId, Pageable pageable) {
+        return select(all(afterId), BY_ID, visible().and(notesContain(keyword)), pageable, JobRecord::toSummary);
+    }
+
+    @Override
+    public List<JobSummary> findSummariesBy(Pageable pageable) {
+        return firstPage(pageable, JobRecord::toSummary);
+    }
+
+    @Override
+    public List<JobSummary> findSummariesCreatedBefore(LocalDateTime createdAt, Long beforeId, Pageable pageable) {
+        return createdBefore(createdAt, createdAt, beforeId, pageable, JobRecord::toSummary);
+    }
+
+    @Override
+    public List<JobSummary> findSummariesByCompanyAfter(String company, Long afterId, Pageable pageable) {
+        return select(all(0), BY_ID, visible().and(companyAfter(company, company, afterId)), pageable, JobRecord::toSummary);
+    }
+
+    @Override
+    public CollectionVersion findCollectionVersion() {
+        return version(all(0));
+    }
+
+    @Override
+    public CollectionVersion findCollectionVersionByStatus(JobStatus status) {
+        return version(byStatus(status, 0));
+    }
+
+    @Override
+    public CollectionVersion findCollectionVersionByCompanyLc(String companyLc) {
+        return version(byCompany(companyLc, 0));
+    }
+
+    // Reads the store a chunk of ids at a time, so the stream holds no lock between chunks
+    @Override
+    public Stream<Job> streamAllByOrderByIdAsc() {
+        Predicate<JobRecord> visible = visible();
+        Iterator<Job> iterator = new Iterator<>() {
+            private List<JobRecord> chunk = List.of();
+            private int next;
+            private long lastId;
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                if (next < chunk.size()) {
+                    return true;
+                }
+                if (exhausted) {
+                    return false;
+                }
+                List<JobRecord> records = new ArrayList<>(STREAM_CHUNK);
+                store.scanById(lastId, record -> {
+                    if (visible.test(record)) {
+                        records.add(record);
+                    }
+                    lastId = record.id;
+                    return records.size() < STREAM_CHUNK;
+                });
+                exhausted = records.size() < STREAM_CHUNK;
+                chunk = records;
+                next = 0;
+                return !chunk.isEmpty();
+            }
+
+            @Override
+            public Job next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return chunk.get(next++).toJob();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private void softDelete(Long id, Long expectedVersion) {
+        long now = JobRecord.toMicros(JobRecord.now());
+        Predicate<JobRecord> visible = visible();
+        store.update(id, current -> {
+            if (current == null || !visible.test(current)) {
+                return null;
+            }
+            if (expectedVersion != null && expectedVersion != current.version) {
+                throw new ObjectOptimisticLockingFailureException(Job.class, id);
+            }
+            return current.delete(now);
+        });
+    }
+
+    // The first page of a listing in the order of the pageable
+    private <T> List<T> firstPage(Pageable pageable, Function<JobRecord, T> mapper) {
+        if (pageable.getSort().equals(BY_CREATED_AT_DESC)) {
+            return select(createdBefore(Long.MAX_VALUE, Long.MAX_VALUE), BY_CREATED_AT_DESC, visible(), pageable, mapper);
+        }
+        return select(all(0), BY_ID, visible(), pageable, mapper);
+    }
+
+    // Jobs before (createdAt, beforeId) in the order of the pageable, through the creation time index when it matches
+    private <T> List<T> createdBefore(LocalDateTime createdAt, LocalDateTime sameCreatedAt, Long beforeId,
+                                      Pageable pageable, Function<JobRecord, T> mapper) {
+        long before = JobRecord.toMicros(createdAt);
+        long same = JobRecord.toMicros(sameCreatedAt);
+        Predicate<JobRecord> filter = visible().and(record ->
+                record.createdAt < before || (record.createdAt == same && record.id < beforeId));
+        if (before == same) {
+            return select(createdBefore(before, beforeId), BY_CREATED_AT_DESC, filter, pageable, mapper);
+        }
+        return select(all(0), BY_ID, filter, pageable, mapper);
+    }
+
+    /**
+     * The page of matching jobs. When the pageable is unsorted or sorted the way the
+     * source walks, the walk stops once the page is full; otherwise every match is
+     * offered to a heap that keeps the first offset + size of them in sort order.
+     */
+    private <T> List<T> select(Source source, Sort sourceOrder, Predicate<JobRecord> filter, Pageable pageable,
+                               Function<JobRecord, T> mapper) {
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        long wanted = pageable.isPaged() ? offset + pageable.getPageSize() : Long.MAX_VALUE;
+        Sort sort = pageable.getSort();
+        List<JobRecord> matches = new ArrayList<>();
+        if (sort.isUnsorted() || sort.equals(sourceOrder)) {
+            source.scan(record -> {
+                if (filter.test(record)) {
+                    matches.add(record);
+                }
+                return matches.size() < wanted;
+            });
+        } else {
+            Comparator<JobRecord> order = comparator(sort);
+            if (wanted == Long.MAX_VALUE) {
+                source.scan(record -> !filter.test(record) || matches.add(record));
+            } else {
+                PriorityQueue<JobRecord> best = new PriorityQueue<>(order.reversed());
+                source.scan(record -> {
+                    if (filter.test(record)) {
+                        best.add(record);
+                        if (best.size() > wanted) {
+                            best.poll();
+                        }
+                    }
+                    return true;
+                });
+                matches.addAll(best);
+            }
+            matches.sort(order);
+        }
+        List<T> page = new ArrayList<>();
+        for (int i = (int) Math.min(offset, matches.size()); i < matches.size(); i++) {
+            page.add(mapper.apply(matches.get(i)));
+        }
+        return page;
+    }
+
+    private static long count(Source source, Predicate<JobRecord> filter) {
+        long[] count = {0};
+        source.scan(record -> {
+            if (filter.test(record)) {
+                count[0]++;
+            }
+            return true;
+        });
+        return count[0];
+    }
+
+    private CollectionVersion version(Source source) {
+        Predicate<JobRecord> visible = visible();
+        long[] count = {0};
+        long[] lastUpdated = {Long.MIN_VALUE};
+        source.scan(record -> {
+            if (visible.test(record)) {
+                count[0]++;
+                lastUpdated[0] = Math.max(lastUpdated[0], record.updatedAt);
+            }
+            return true;
+        });
+        return new CollectionVersion(count[0], count[0] == 0 ? null : JobRecord.toDateTime(lastUpdated[0]));
+    }
+
+    private Source all(long afterId) {
+        return visitor -> store.scanById(afterId, visitor);
+    }
+
+    private Source byStatus(JobStatus status, long afterId) {
+        return visitor -> store.scanByStatus(status, afterId, visitor);
+    }
+
+    private Source byCompany(String companyLc, long afterId) {
+        return visitor -> store.scanByCompany(companyLc, afterId, visitor);
+    }
+
+    private Source createdBefore(long createdAtMicros, long beforeId) {
+        return visitor -> store.scanCreatedBefore(createdAtMicros, beforeId, visitor);
+    }
+
+    // Live jobs of the current tenant, or of every tenant when working for all of them
+    static Predicate<JobRecord> visible() {
+        if (TenantContext.isAllTenants()) {
+            return record -> !record.isDeleted();
+        }
+        String tenant = TenantContext.current();
+        return record -> !record.isDeleted() && tenant.equals(record.tenant);
+    }
+
+    private static Predicate<JobRecord> positionContains(String keyword) {
+        String needle = keyword.toLowerCase(Locale.ROOT);
+        return record -> record.position.toLowerCase(Locale.ROOT).contains(needle);
+    }
+
+    private static Predicate<JobRecord> notesContain(String keyword) {
+        String needle = keyword.toLowerCase(Locale.ROOT);
+        return record -> record.notes != null && record.notes.toLowerCase(Locale.ROOT).contains(needle);
+    }
+
+    private static Predicate<JobRecord> companyAfter(String company, String sameCompany, long afterId) {
+        return record -> record.company.compareTo(company) > 0
+                || (record.company.equals(sameCompany) && record.id > afterId);
+    }
+
+    private static Comparator<JobRecord> comparator(Sort sort) {
+        Comparator<JobRecord> result = null;
+        for (Sort.Order order : sort) {
+            Comparator<JobRecord> next = switch (order.getProperty()) {
+                case "id" -> Comparator.comparingLong(record -> record.id);
+                case "company" -> Comparator.comparing(record -> record.company);
+                case "companyLc" -> Comparator.comparing(record -> record.companyLc);
+                case "position" -> Comparator.comparing(record -> record.position);
+                // Statuses are stored by name, so they sort by name as in the table
+                case "status" -> Comparator.comparing(record -> record.status().name());
+                case "createdAt" -> Comparator.comparingLong(record -> record.createdAt);
+                case "updatedAt" -> Comparator.comparingLong(record -> record.updatedAt);
+                default -> throw new IllegalArgumentException("Cannot sort jobs by " + order.getProperty());
+            };
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            result = result == null ? next : result.thenComparing(next);
+        }
+        return result;
+    }
+
+    private static UnsupportedOperationException queryByExample() {
+        return new UnsupportedOperationException("Query by example is not supported by the embedded job store");
+    }
+
+    private static final class Count implements TenantStatusCount {
+        private final String tenantId;
+        private final JobStatus status;
+        private final long count;
+
+        Count(String tenantId, JobStatus status, long count) {
+            this.tenantId = tenantId;
+            this.status = status;
+            this.count = count;
+        }
+
+        @Override
+        public String getTenantId() {
+            return tenantId;
+        }
+
+        @Override
+        public JobStatus getStatus() {
+            return status;
+        }
+
+        @Override
+        public long getCount() {
+            return count;
+        }
+    }
+}
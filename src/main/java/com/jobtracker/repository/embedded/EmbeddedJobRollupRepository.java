@@ -0,0 +1,79 @@
+package com.jobtracker.repository.embedded;
+
+import com.jobtracker.model.JobStatus;
+import com.jobtracker.repository.JobRollupRepository;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@link JobRollupRepository} for the embedded store: the rollup tables stay in
+ * the database, but since the jobs are not there, the aggregates are computed by
+ * scanning the store.
+ */
+public class EmbeddedJobRollupRepository extends JobRollupRepository {
+
+    private final EmbeddedJobStore store;
+
+    public EmbeddedJobRollupRepository(NamedParameterJdbcTemplate jdbcTemplate, EmbeddedJobStore store) {
+        super(jdbcTemplate);
+        this.store = store;
+    }
+
+    // Per-status counts of one rollup row; the company is the smallest spelling, as MIN(company) picks
+    private static final class Sums {
+        String company;
+        final long[] byStatus = new long[JobStatus.values().length];
+        long total;
+
+        void add(JobRecord record) {
+            if (company == null || record.company.compareTo(company) < 0) {
+                company = record.company;
+            }
+            byStatus[record.status]++;
+            total++;
+        }
+
+        MapSqlParameterSource params() {
+            return new MapSqlParameterSource()
+                    .addValue("total", total)
+                    .addValue("applied", byStatus[JobStatus.APPLIED.ordinal()])
+                    .addValue("interview", byStatus[JobStatus.INTERVIEW.ordinal()])
+                    .addValue("offer", byStatus[JobStatus.OFFER.ordinal()])
+                    .addValue("rejected", byStatus[JobStatus.REJECTED.ordinal()]);
+        }
+    }
+
+    @Override
+    public Rollups aggregate() {
+        Map<List<String>, Sums> companies = new TreeMap<>((a, b) -> a.get(0).equals(b.get(0))
+                ? a.get(1).compareTo(b.get(1)) : a.get(0).compareTo(b.get(0)));
+        Map<String, Map<LocalDate, Sums>> days = new TreeMap<>();
+        store.scanById(0, record -> {
+            if (!record.isDeleted()) {
+                companies.computeIfAbsent(List.of(record.tenant, record.companyLc), key -> new Sums()).add(record);
+                days.computeIfAbsent(record.tenant, tenant -> new TreeMap<>())
+                        .computeIfAbsent(JobRecord.toDateTime(record.createdAt).toLocalDate(), day -> new Sums())
+                        .add(record);
+            }
+            return true;
+        });
+
+        List<SqlParameterSource> companyRows = new ArrayList<>();
+        companies.forEach((key, sums) -> companyRows.add(sums.params()
+                .addValue("tenantId", key.get(0))
+                .addValue("companyLc", key.get(1))
+                .addValue("company", sums.company)));
+        List<SqlParameterSource> dailyRows = new ArrayList<>();
+        days.forEach((tenant, byDay) -> byDay.forEach((day, sums) -> dailyRows.add(sums.params()
+                .addValue("tenantId", tenant)
+                .addValue("createdOn", day))));
+        return new Rollups(companyRows, dailyRows);
+    }
+}
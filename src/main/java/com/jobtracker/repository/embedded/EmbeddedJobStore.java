@@ -0,0 +1,639 @@
+package com.jobtracker.repository.embedded;
+
+import com.jobtracker.model.JobStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * An embedded storage engine for jobs, used instead of the jobs table by the
+ * {@code embedded} profile.
+ *
+ * Jobs are kept as immutable {@link JobRecord}s in an id-sorted primitive array
+ * (ids are handed out in increasing order, so inserts append). Live jobs are also
+ * indexed by status, lowercase company and creation time, and deleted ones by
+ * deletion time, in {@link LongPairIndex}es; the primary array keeps deleted jobs
+ * until they are purged, like the soft-deleted rows of the table.
+ *
+ * Every write is appended to a memory-mapped {@link JobStoreLog} before it is
+ * applied. {@link #snapshot} writes all jobs to a new snapshot file and starts
+ * the next log generation; on open, the store loads the latest snapshot and
+ * replays the logs written since, which also recovers from a crash.
+ *
+ * Writes are visible to every reader at once, without isolation. Within a Spring
+ * transaction each write remembers the record it replaced and claims the job
+ * until the transaction completes, like a row lock: other writers to that job
+ * wait for the claim, and a rollback puts the replaced records back (through the
+ * log as well) before releasing it, then tells the rollback listener which jobs
+ * readers may have seen in their rolled-back state. Readers share a read lock and
+ * writers take the write lock, so each call sees one consistent state.
+ */
+public class EmbeddedJobStore implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedJobStore.class);
+
+    // Visits records in index order; returns false to stop
+    @FunctionalInterface
+    interface RecordVisitor {
+        boolean visit(JobRecord record);
+    }
+
+    static final String SNAPSHOT_FILE = "snapshot.bin";
+    private static final Pattern LOG_FILE = Pattern.compile("log-(\\d{12})\\.bin");
+    private static final int SNAPSHOT_MAGIC = 0x4A4F4253;
+    private static final int SNAPSHOT_FORMAT = 1;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    // How long a write waits for another transaction's claim on the job, like a lock wait timeout
+    private static final long CLAIM_WAIT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final Path directory;
+    private final int logSize;
+    private final boolean syncWrites;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Condition claimReleased = lock.writeLock().newCondition();
+    private final Object snapshotLock = new Object();
+    // Jobs written by transactions that have not completed yet, and the undo log of each
+    private final Map<Long, UndoLog> claims = new HashMap<>();
+    private volatile Consumer<List<Long>> rollbackListener = ids -> { };
+
+    // Primary index: ids ascending, with the record at the same position (null once purged)
+    private long[] ids = new long[1024];
+    private JobRecord[] records = new JobRecord[1024];
+    private int slots;
+    private int holes;
+
+    private final LongPairIndex[] byStatus = new LongPairIndex[JobStatus.values().length];
+    private final Map<String, LongPairIndex> byCompany = new HashMap<>();
+    private final LongPairIndex byCreatedAt = new LongPairIndex();
+    private final LongPairIndex byDeletedAt = new LongPairIndex();
+
+    private long nextId = 1;
+    private long logGeneration;
+    private JobStoreLog log;
+
+    /**
+     * Opens the store in the directory, creating it when needed, and recovers its
+     * contents from the snapshot and logs found there.
+     */
+    public EmbeddedJobStore(Path directory, int logSize, boolean syncWrites) {
+        this.directory = directory;
+        this.logSize = logSize;
+        this.syncWrites = syncWrites;
+        for (int i = 0; i < byStatus.length; i++) {
+            byStatus[i] = new LongPairIndex();
+        }
+        recover();
+    }
+
+    // Called with the ids of the jobs a transaction wrote after it was rolled back
+    public void onRollback(Consumer<List<Long>> listener) {
+        this.rollbackListener = listener;
+    }
+
+    // Number of jobs held, deleted ones included
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slots - holes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The job with the id, deleted or not, or null
+    JobRecord get(long id) {
+        lock.readLock().lock();
+        try {
+            return find(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Every job with an id above afterId, deleted ones included, in id order
+    void scanById(long afterId, RecordVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            int from = Arrays.binarySearch(ids, 0, slots, afterId);
+            for (int i = from >= 0 ? from + 1 : -from - 1; i < slots; i++) {
+                if (records[i] != null && !visitor.visit(records[i])) {
+                    return;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Live jobs with the status and an id above afterId, in id order
+    void scanByStatus(JobStatus status, long afterId, RecordVisitor visitor) {
+        scan(byStatus[status.ordinal()], afterId, visitor);
+    }
+
+    // Live jobs of the lowercase company with an id above afterId, in id order
+    void scanByCompany(String companyLc, long afterId, RecordVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            LongPairIndex index = byCompany.get(companyLc);
+            if (index != null) {
+                index.forEachAfter(0, afterId, (key, id) -> visitor.visit(find(id)));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Live jobs before (createdAt, id), newest first
+    void scanCreatedBefore(long createdAtMicros, long beforeId, RecordVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            byCreatedAt.forEachBefore(createdAtMicros, beforeId, (key, id) -> visitor.visit(find(id)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Inserts a new live job, assigning its id, timestamps and version 0
+    JobRecord insert(String tenant, String company, String position, JobStatus status, String notes) {
+        lock.writeLock().lock();
+        try {
+            long now = JobRecord.toMicros(JobRecord.now());
+            JobRecord record = new JobRecord(nextId, tenant, company, position, status, notes, now, now, 0,
+                    JobRecord.NOT_DELETED);
+            write(record, null, true);
+            return record;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Atomically replaces the job with the id by what the change makes of it. The
+     * change receives the current record, or null when there is none, and returns
+     * null to leave it alone. Returns the new record, or null when nothing was written.
+     * Waits while another transaction has written the job and not yet completed.
+     */
+    JobRecord update(long id, UnaryOperator<JobRecord> change) {
+        lock.writeLock().lock();
+        try {
+            awaitClaim(id);
+            JobRecord current = find(id);
+            JobRecord next = change.apply(current);
+            if (next == null) {
+                return null;
+            }
+            if (next.id != id) {
+                throw new IllegalArgumentException("A change cannot move job " + id + " to id " + next.id);
+            }
+            write(next, current, true);
+            return next;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Removes up to limit jobs deleted before the cutoff, oldest deletion first, skipping the ones another
+    // transaction is writing; returns how many were removed
+    int purge(long cutoffMicros, int limit) {
+        lock.writeLock().lock();
+        try {
+            List<Long> purgeable = new ArrayList<>();
+            byDeletedAt.forEachAfter(Long.MIN_VALUE, Long.MIN_VALUE, (deletedAt, id) -> {
+                if (deletedAt >= cutoffMicros || purgeable.size() >= limit) {
+                    return false;
+                }
+                if (!isClaimedByOther(id)) {
+                    purgeable.add(id);
+                }
+                return true;
+            });
+            for (long id : purgeable) {
+                remove(id, true);
+            }
+            return purgeable.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Writes every job to a new snapshot and moves on to a new log generation; the
+     * logs the snapshot covers are deleted once it is in place. Writers are only
+     * held up while the records are copied, not while the snapshot is written.
+     */
+    public void snapshot() {
+        synchronized (snapshotLock) {
+            long start = System.currentTimeMillis();
+            JobRecord[] copy;
+            long snapshotNextId;
+            long generation;
+            lock.writeLock().lock();
+            try {
+                copy = Arrays.copyOf(records, slots);
+                snapshotNextId = nextId;
+                JobStoreLog previous = log;
+                generation = logGeneration + 1;
+                log = openLog(generation, buffer -> { });
+                logGeneration = generation;
+                previous.close();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            int written = writeSnapshot(copy, snapshotNextId, generation);
+            deleteLogsBefore(generation);
+            logger.info("Embedded job store snapshot of {} jobs written in {} ms", written,
+                    System.currentTimeMillis() - start);
+        }
+    }
+
+    // Bytes appended to the current log since the last snapshot
+    public int logBytes() {
+        lock.readLock().lock();
+        try {
+            return log.position();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            log.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void scan(LongPairIndex index, long afterId, RecordVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            index.forEachAfter(0, afterId, (key, id) -> visitor.visit(find(id)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(JobRecord record, JobRecord previous, boolean undoable) {
+        log.append(1 + record.encodedSize(), buffer -> {
+            buffer.put(PUT);
+            record.writeTo(buffer);
+        });
+        apply(record);
+        if (undoable) {
+            remember(record.id, previous);
+        }
+    }
+
+    private void remove(long id, boolean undoable) {
+        JobRecord previous = find(id);
+        if (previous == null) {
+            return;
+        }
+        log.append(1 + 8, buffer -> buffer.put(REMOVE).putLong(id));
+        applyRemove(id);
+        if (undoable) {
+            remember(id, previous);
+        }
+    }
+
+    // Puts back the record a rolled back write replaced, or removes the job it created
+    private void restore(long id, JobRecord previous) {
+        if (previous == null) {
+            remove(id, false);
+        } else {
+            write(previous, find(id), false);
+        }
+    }
+
+    // Records what the write replaced and claims the job for the current transaction, if any
+    private void remember(long id, JobRecord previous) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        UndoLog undo = (UndoLog) TransactionSynchronizationManager.getResource(this);
+        if (undo == null) {
+            undo = new UndoLog();
+            TransactionSynchronizationManager.bindResource(this, undo);
+            TransactionSynchronizationManager.registerSynchronization(undo);
+        }
+        undo.ids.add(id);
+        undo.previous.add(previous);
+        claims.put(id, undo);
+    }
+
+    // Called with the write lock held; waits until no other transaction claims the job
+    private void awaitClaim(long id) {
+        long remaining = CLAIM_WAIT_NANOS;
+        try {
+            while (isClaimedByOther(id)) {
+                if (remaining <= 0) {
+                    throw new CannotAcquireLockException("Job " + id + " is being written by another transaction");
+                }
+                remaining = claimReleased.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException("Interrupted while waiting to write job " + id, e);
+        }
+    }
+
+    private boolean isClaimedByOther(long id) {
+        UndoLog owner = claims.get(id);
+        return owner != null && owner != TransactionSynchronizationManager.getResource(this);
+    }
+
+    private final class UndoLog implements TransactionSynchronization {
+        final List<Long> ids = new ArrayList<>();
+        final List<JobRecord> previous = new ArrayList<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(EmbeddedJobStore.this);
+            lock.writeLock().lock();
+            try {
+                if (status == STATUS_ROLLED_BACK) {
+                    // The claims kept other writers away, so each job still holds what this transaction wrote
+                    for (int i = ids.size() - 1; i >= 0; i--) {
+                        restore(ids.get(i), previous.get(i));
+                    }
+                }
+                for (long id : ids) {
+                    claims.remove(id, this);
+                }
+                claimReleased.signalAll();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (status == STATUS_ROLLED_BACK) {
+                rollbackListener.accept(ids.stream().distinct().toList());
+            }
+        }
+    }
+
+    private JobRecord find(long id) {
+        int pos = Arrays.binarySearch(ids, 0, slots, id);
+        return pos >= 0 ? records[pos] : null;
+    }
+
+    private void apply(JobRecord record) {
+        int pos = Arrays.binarySearch(ids, 0, slots, record.id);
+        if (pos >= 0) {
+            JobRecord previous = records[pos];
+            if (previous != null) {
+                unindex(previous);
+            } else {
+                holes--;
+            }
+            records[pos] = record;
+        } else {
+            insertSlot(-pos - 1, record);
+        }
+        index(record);
+        nextId = Math.max(nextId, record.id + 1);
+    }
+
+    private void applyRemove(long id) {
+        int pos = Arrays.binarySearch(ids, 0, slots, id);
+        if (pos < 0 || records[pos] == null) {
+            return;
+        }
+        unindex(records[pos]);
+        records[pos] = null;
+        holes++;
+        if (holes > 1024 && holes > slots / 2) {
+            compact();
+        }
+    }
+
+    private void insertSlot(int pos, JobRecord record) {
+        if (slots == ids.length) {
+            ids = Arrays.copyOf(ids, slots * 2);
+            records = Arrays.copyOf(records, slots * 2);
+        }
+        // Ids are handed out in increasing order, so this is an append except when a purge is rolled back
+        System.arraycopy(ids, pos, ids, pos + 1, slots - pos);
+        System.arraycopy(records, pos, records, pos + 1, slots - pos);
+        ids[pos] = record.id;
+        records[pos] = record;
+        slots++;
+    }
+
+    private void compact() {
+        int to = 0;
+        for (int from = 0; from < slots; from++) {
+            if (records[from] != null) {
+                ids[to] = ids[from];
+                records[to] = records[from];
+                to++;
+            }
+        }
+        Arrays.fill(records, to, slots, null);
+        slots = to;
+        holes = 0;
+    }
+
+    private void index(JobRecord record) {
+        if (record.isDeleted()) {
+            byDeletedAt.add(record.deletedAt, record.id);
+            return;
+        }
+        byStatus[record.status].add(0, record.id);
+        byCompany.computeIfAbsent(record.companyLc, company -> new LongPairIndex()).add(0, record.id);
+        byCreatedAt.add(record.createdAt, record.id);
+    }
+
+    private void unindex(JobRecord record) {
+        if (record.isDeleted()) {
+            byDeletedAt.remove(record.deletedAt, record.id);
+            return;
+        }
+        byStatus[record.status].remove(0, record.id);
+        LongPairIndex company = byCompany.get(record.companyLc);
+        if (company != null && company.remove(0, record.id) && company.size() == 0) {
+            byCompany.remove(record.companyLc);
+        }
+        byCreatedAt.remove(record.createdAt, record.id);
+    }
+
+    private void replay(ByteBuffer entry) {
+        byte op = entry.get();
+        if (op == PUT) {
+            apply(JobRecord.readFrom(entry));
+        } else if (op == REMOVE) {
+            applyRemove(entry.getLong());
+        } else {
+            throw new IllegalStateException("Unknown job store log entry " + op);
+        }
+    }
+
+    // Loads the snapshot, then replays every log generation it does not cover, oldest first
+    private void recover() {
+        long start = System.currentTimeMillis();
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create job store directory " + directory, e);
+        }
+        long firstGeneration = readSnapshot();
+        int fromSnapshot = slots - holes;
+        TreeMap<Long, Path> logs = listLogs();
+        for (Map.Entry<Long, Path> entry : logs.headMap(firstGeneration).entrySet()) {
+            deleteQuietly(entry.getValue());
+        }
+        Map<Long, Path> pending = logs.tailMap(firstGeneration);
+        logGeneration = pending.isEmpty() ? firstGeneration : logs.lastKey();
+        for (long generation : pending.keySet()) {
+            if (generation != logGeneration) {
+                openLog(generation, this::replay).close();
+            }
+        }
+        log = openLog(logGeneration, this::replay);
+        logger.info("Embedded job store opened in {}: {} jobs from the snapshot, {} after replaying {} log(s) in {} ms",
+                directory, fromSnapshot, slots - holes, Math.max(pending.size(), 1), System.currentTimeMillis() - start);
+    }
+
+    private JobStoreLog openLog(long generation, Consumer<ByteBuffer> replay) {
+        return JobStoreLog.open(directory.resolve(String.format("log-%012d.bin", generation)), logSize, syncWrites, replay);
+    }
+
+    private TreeMap<Long, Path> listLogs() {
+        TreeMap<Long, Path> logs = new TreeMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = LOG_FILE.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    logs.put(Long.parseLong(matcher.group(1)), file);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list job store directory " + directory, e);
+        }
+        return logs;
+    }
+
+    private void deleteLogsBefore(long generation) {
+        listLogs().headMap(generation).values().forEach(EmbeddedJobStore::deleteQuietly);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Cannot delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    // Snapshot layout: magic, format, next id, first log generation, record count, then each record
+    // as its length and bytes, and a CRC32 of all of it. Written to a temporary file and renamed.
+    private int writeSnapshot(JobRecord[] copy, long snapshotNextId, long firstGeneration) {
+        Path target = directory.resolve(SNAPSHOT_FILE);
+        Path temporary = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        int count = 0;
+        for (JobRecord record : copy) {
+            if (record != null) {
+                count++;
+            }
+        }
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream stream = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16);
+            CheckedOutputStream checked = new CheckedOutputStream(stream, new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_FORMAT);
+            out.writeLong(snapshotNextId);
+            out.writeLong(firstGeneration);
+            out.writeInt(count);
+            for (JobRecord record : copy) {
+                if (record != null) {
+                    ByteBuffer bytes = ByteBuffer.allocate(record.encodedSize());
+                    record.writeTo(bytes);
+                    out.writeInt(bytes.capacity());
+                    out.write(bytes.array());
+                }
+            }
+            out.flush();
+            long crc = checked.getChecksum().getValue();
+            out.writeLong(crc);
+            out.flush();
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write job store snapshot " + temporary, e);
+        }
+        try {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot replace job store snapshot " + target, e);
+        }
+        return count;
+    }
+
+    // Loads the snapshot if there is one; returns the first log generation it does not cover
+    private long readSnapshot() {
+        Path file = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try (InputStream stream = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            CheckedInputStream checked = new CheckedInputStream(stream, new CRC32());
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_FORMAT) {
+                throw new IllegalStateException("Not a job store snapshot: " + file);
+            }
+            long snapshotNextId = in.readLong();
+            long firstGeneration = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                apply(JobRecord.readFrom(ByteBuffer.wrap(bytes)));
+            }
+            long expected = checked.getChecksum().getValue();
+            if (in.readLong() != expected) {
+                throw new IllegalStateException("Job store snapshot " + file + " is corrupt");
+            }
+            nextId = Math.max(nextId, snapshotNextId);
+            return firstGeneration;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read job store snapshot " + file, e);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.jobtracker.repository.embedded;
+
+import com.jobtracker.model.Job;
+import com.jobtracker.model.JobStatus;
+import com.jobtracker.model.JobSummary;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * One job as the embedded store keeps it: immutable, with timestamps packed into
+ * epoch microseconds (the precision of the DATETIME(6) columns) and the status as
+ * its ordinal. Every write replaces the record, so readers holding one never see
+ * it change.
+ */
+final class JobRecord {
+
+    // deletedAt of a live job
+    static final long NOT_DELETED = Long.MIN_VALUE;
+
+    private static final JobStatus[] STATUSES = JobStatus.values();
+
+    final long id;
+    final String tenant;
+    final String company;
+    final String companyLc;
+    final String position;
+    final byte status;
+    final String notes;
+    final long createdAt;
+    final long updatedAt;
+    final long version;
+    final long deletedAt;
+
+    JobRecord(long id, String tenant, String company, String position, JobStatus status, String notes,
+              long createdAt, long updatedAt, long version, long deletedAt) {
+        this.id = id;
+        this.tenant = tenant;
+        this.company = company;
+        this.companyLc = Job.normalizeCompany(company);
+        this.position = position;
+        this.status = (byte) status.ordinal();
+        this.notes = notes;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+        this.deletedAt = deletedAt;
+    }
+
+    JobStatus status() {
+        return STATUSES[status];
+    }
+
+    boolean isDeleted() {
+        return deletedAt != NOT_DELETED;
+    }
+
+    JobRecord withId(long newId) {
+        return new JobRecord(newId, tenant, company, position, status(), notes, createdAt, updatedAt, version, deletedAt);
+    }
+
+    // The same job with new values, one version later
+    JobRecord update(String newCompany, String newPosition, JobStatus newStatus, String newNotes, long now) {
+        return new JobRecord(id, tenant, newCompany, newPosition, newStatus, newNotes, createdAt, now, version + 1, deletedAt);
+    }
+
+    JobRecord delete(long now) {
+        return new JobRecord(id, tenant, company, position, status(), notes, createdAt, updatedAt, version + 1, now);
+    }
+
+    Job toJob() {
+        Job job = new Job(company, position, status(), notes);
+        job.setId(id);
+        job.setTenantId(tenant);
+        job.setCreatedAt(toDateTime(createdAt));
+        job.setUpdatedAt(toDateTime(updatedAt));
+        job.setVersion(version);
+        job.setDeletedAt(isDeleted() ? toDateTime(deletedAt) : null);
+        return job;
+    }
+
+    JobSummary toSummary() {
+        return new JobSummary(id, company, position, status(), toDateTime(createdAt), toDateTime(updatedAt));
+    }
+
+    static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    static LocalDateTime toDateTime(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    // The current time at the precision the store keeps
+    static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    int encodedSize() {
+        return 8 + 1 + 8 * 4 + sizeOf(tenant) + sizeOf(company) + sizeOf(position) + sizeOf(notes);
+    }
+
+    void writeTo(ByteBuffer buffer) {
+        buffer.putLong(id);
+        buffer.put(status);
+        buffer.putLong(createdAt);
+        buffer.putLong(updatedAt);
+        buffer.putLong(version);
+        buffer.putLong(deletedAt);
+        putString(buffer, tenant);
+        putString(buffer, company);
+        putString(buffer, position);
+        putString(buffer, notes);
+    }
+
+    static JobRecord readFrom(ByteBuffer buffer) {
+        long id = buffer.getLong();
+        JobStatus status = STATUSES[buffer.get()];
+        long createdAt = buffer.getLong();
+        long updatedAt = buffer.getLong();
+        long version = buffer.getLong();
+        long deletedAt = buffer.getLong();
+        String tenant = getString(buffer);
+        return new JobRecord(id, tenant == null ? null : tenant.intern(), getString(buffer), getString(buffer), status,
+                getString(buffer), createdAt, updatedAt, version, deletedAt);
+    }
+
+    // Strings are written as a byte length (-1 for null) and UTF-8 bytes; notes may exceed 64 KB
+    private static int sizeOf(String value) {
+        return 4 + (value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,140 @@
+package com.jobtracker.repository.embedded;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * One generation of the embedded store's write-ahead log: an append-only file
+ * written through a memory mapping, so an append is a copy into the page cache
+ * and survives the process crashing. Without {@code syncWrites} it does not
+ * survive the machine crashing before the kernel writes the pages back.
+ *
+ * Entries are a payload length, a CRC32 of the payload and the payload. The
+ * file is mapped in regions that double as they fill; the unwritten tail is
+ * zeros, and the first zero length, impossible length or bad checksum marks the
+ * end, which is also how a torn final entry left by a crash is dropped.
+ * Not thread-safe; {@link EmbeddedJobStore} guards it.
+ */
+final class JobStoreLog implements AutoCloseable {
+
+    private static final int HEADER = 8;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final boolean syncWrites;
+    private MappedByteBuffer buffer;
+
+    private JobStoreLog(Path path, FileChannel channel, MappedByteBuffer buffer, boolean syncWrites) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.syncWrites = syncWrites;
+    }
+
+    /**
+     * Opens or creates the log at the path, hands every intact entry to the consumer
+     * in order and positions the log after the last one for appending.
+     */
+    static JobStoreLog open(Path path, int initialSize, boolean syncWrites, Consumer<ByteBuffer> replay) {
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            long size = Math.max(channel.size(), initialSize);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            JobStoreLog log = new JobStoreLog(path, channel, buffer, syncWrites);
+            log.replay(replay);
+            return log;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open job store log " + path, e);
+        }
+    }
+
+    Path path() {
+        return path;
+    }
+
+    // Bytes used by intact entries
+    int position() {
+        return buffer.position();
+    }
+
+    // Appends one entry; the writer fills exactly length bytes
+    void append(int length, Consumer<ByteBuffer> writer) {
+        ensureCapacity(HEADER + length);
+        int start = buffer.position();
+        ByteBuffer payload = buffer.slice(start + HEADER, length);
+        writer.accept(payload);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(start + HEADER, length));
+        buffer.putInt(start + 4, (int) crc.getValue());
+        // The length goes last, so a crash in between leaves a zero length: the end of the log
+        buffer.putInt(start, length);
+        buffer.position(start + HEADER + length);
+        if (syncWrites) {
+            buffer.force(start, HEADER + length);
+        }
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() {
+        try {
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close job store log " + path, e);
+        }
+    }
+
+    private void replay(Consumer<ByteBuffer> consumer) {
+        int position = 0;
+        int capacity = buffer.capacity();
+        while (position + HEADER <= capacity) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || length > capacity - position - HEADER) {
+                break;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(position + HEADER, length));
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+            consumer.accept(buffer.slice(position + HEADER, length).asReadOnlyBuffer());
+            position += HEADER + length;
+        }
+        // Bytes a torn write left past this point are overwritten by the next appends; any that
+        // remain beyond the last append fail the checksum on the next replay
+        buffer.position(position);
+    }
+
+    private void ensureCapacity(int needed) {
+        if (buffer.remaining() >= needed) {
+            return;
+        }
+        int position = buffer.position();
+        long size = (long) buffer.capacity() * 2;
+        while (size - position < needed) {
+            size *= 2;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Job store log " + path + " is full; take a snapshot");
+        }
+        try {
+            buffer.force();
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.position(position);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot grow job store log " + path, e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.jobtracker.repository.embedded;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Snapshots the embedded store periodically, so a restart replays at most one
+ * interval of log, and once more on shutdown, so a clean restart replays none.
+ */
+public class JobStoreSnapshotter {
+
+    private final EmbeddedJobStore store;
+
+    public JobStoreSnapshotter(EmbeddedJobStore store) {
+        this.store = store;
+    }
+
+    @Scheduled(fixedDelayString = "${jobtracker.embedded.snapshot-interval:PT10M}",
+               initialDelayString = "${jobtracker.embedded.snapshot-interval:PT10M}")
+    public void snapshot() {
+        // Nothing was written since the last snapshot
+        if (store.logBytes() > 0) {
+            store.snapshot();
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        snapshot();
+    }
+}
@@ -0,0 +1,170 @@
+package com.jobtracker.repository.embedded;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A sorted set of (key, id) pairs held in primitive arrays, the in-memory
+ * counterpart of a two-column B-tree index. Entries live in blocks of up to
+ * {@link #BLOCK_SIZE} pairs, so an insert or remove shifts at most one block and
+ * nothing is boxed. Not thread-safe; {@link EmbeddedJobStore} guards it.
+ */
+final class LongPairIndex {
+
+    static final int BLOCK_SIZE = 512;
+
+    // Visits entries in index order; returns false to stop
+    @FunctionalInterface
+    interface Visitor {
+        boolean visit(long key, long id);
+    }
+
+    private static final class Block {
+        final long[] keys = new long[BLOCK_SIZE];
+        final long[] ids = new long[BLOCK_SIZE];
+        int size;
+
+        long lastKey() {
+            return keys[size - 1];
+        }
+
+        long lastId() {
+            return ids[size - 1];
+        }
+
+        // Position of the pair, or -(insertion point) - 1 when absent
+        int search(long key, long id) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compare(keys[mid], ids[mid], key, id);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+
+    private final List<Block> blocks = new ArrayList<>();
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean add(long key, long id) {
+        if (blocks.isEmpty()) {
+            blocks.add(new Block());
+        }
+        int b = blockFor(key, id);
+        Block block = blocks.get(b);
+        int pos = block.search(key, id);
+        if (pos >= 0) {
+            return false;
+        }
+        pos = -pos - 1;
+        if (block.size == BLOCK_SIZE) {
+            // Appends in key order fill blocks completely; anything else splits in half
+            Block next = new Block();
+            int keep = pos == BLOCK_SIZE ? BLOCK_SIZE : BLOCK_SIZE / 2;
+            int moved = BLOCK_SIZE - keep;
+            System.arraycopy(block.keys, keep, next.keys, 0, moved);
+            System.arraycopy(block.ids, keep, next.ids, 0, moved);
+            next.size = moved;
+            block.size = keep;
+            blocks.add(b + 1, next);
+            if (pos >= keep) {
+                block = next;
+                pos -= keep;
+            }
+        }
+        System.arraycopy(block.keys, pos, block.keys, pos + 1, block.size - pos);
+        System.arraycopy(block.ids, pos, block.ids, pos + 1, block.size - pos);
+        block.keys[pos] = key;
+        block.ids[pos] = id;
+        block.size++;
+        size++;
+        return true;
+    }
+
+    boolean remove(long key, long id) {
+        if (blocks.isEmpty()) {
+            return false;
+        }
+        int b = blockFor(key, id);
+        Block block = blocks.get(b);
+        int pos = block.search(key, id);
+        if (pos < 0) {
+            return false;
+        }
+        System.arraycopy(block.keys, pos + 1, block.keys, pos, block.size - pos - 1);
+        System.arraycopy(block.ids, pos + 1, block.ids, pos, block.size - pos - 1);
+        block.size--;
+        size--;
+        if (block.size == 0) {
+            blocks.remove(b);
+        }
+        return true;
+    }
+
+    // Visits the entries after (key, id) in ascending order
+    void forEachAfter(long key, long id, Visitor visitor) {
+        for (int b = blocks.isEmpty() ? 0 : blockFor(key, id); b < blocks.size(); b++) {
+            Block block = blocks.get(b);
+            int pos = block.search(key, id);
+            for (int i = pos >= 0 ? pos + 1 : -pos - 1; i < block.size; i++) {
+                if (!visitor.visit(block.keys[i], block.ids[i])) {
+                    return;
+                }
+            }
+            // Later blocks hold only larger pairs, so they are read from the start
+            key = Long.MIN_VALUE;
+            id = Long.MIN_VALUE;
+        }
+    }
+
+    // Visits the entries before (key, id) in descending order
+    void forEachBefore(long key, long id, Visitor visitor) {
+        if (blocks.isEmpty()) {
+            return;
+        }
+        for (int b = blockFor(key, id); b >= 0; b--) {
+            Block block = blocks.get(b);
+            int pos = block.search(key, id);
+            for (int i = (pos >= 0 ? pos : -pos - 1) - 1; i >= 0; i--) {
+                if (!visitor.visit(block.keys[i], block.ids[i])) {
+                    return;
+                }
+            }
+            key = Long.MAX_VALUE;
+            id = Long.MAX_VALUE;
+        }
+    }
+
+    // First block whose last pair is not below (key, id), or the last block
+    private int blockFor(long key, long id) {
+        int low = 0;
+        int high = blocks.size() - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            Block block = blocks.get(mid);
+            if (compare(block.lastKey(), block.lastId(), key, id) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int compare(long key, long id, long otherKey, long otherId) {
+        int cmp = Long.compare(key, otherKey);
+        return cmp != 0 ? cmp : Long.compare(id, otherId);
+    }
+}
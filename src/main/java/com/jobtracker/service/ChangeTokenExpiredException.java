@@ -0,0 +1,12 @@
+package com.jobtracker.service;
+
+/**
+ * Thrown when a change feed token points before the retained part of the change
+ * log. The client has missed changes and must reload the full listing.
+ */
+public class ChangeTokenExpiredException extends RuntimeException {
+
+    public ChangeTokenExpiredException(String token) {
+        super("Change token has expired, reload all jobs and start from a new token: " + token);
+    }
+}
@@ -0,0 +1,16 @@
+package com.jobtracker.service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read whose identical concurrent calls share one execution and its
+ * result; see {@link ReadCoalescingAspect}. Only for methods without side
+ * effects whose results callers do not modify.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+}
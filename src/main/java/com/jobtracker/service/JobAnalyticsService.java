@@ -0,0 +1,174 @@
+package com.jobtracker.service;
+
+import com.jobtracker.config.ShardFanOut;
+import com.jobtracker.config.TenantContext;
+import com.jobtracker.model.DurationHistogram;
+import com.jobtracker.model.Job;
+import com.jobtracker.model.JobAnalytics;
+import com.jobtracker.model.JobStatus;
+import com.jobtracker.model.StageDurations;
+import com.jobtracker.repository.JobRollupRepository;
+import com.jobtracker.repository.JobStatusEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dashboard aggregates in one call. Per-company and per-week figures are read
+ * from rollup tables rebuilt at {@code jobtracker.analytics.refresh-interval}, so
+ * a request costs the same on a million jobs as on a hundred; they lag writes by
+ * up to that interval, as do stage durations, which are served from per-status
+ * histograms of the job_status_events log rebuilt with them. Status counts and the
+ * funnel use the live status counters.
+ *
+ * Figures cover the current tenant. Working for all tenants, each shard is read
+ * in parallel and the results are merged; the top companies are then merged
+ * from each shard's own top list, so a company that misses every shard's list
+ * can be missing from the merged one even if its summed count would qualify.
+ */
+@Service
+public class JobAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobAnalyticsService.class);
+
+    static final int MAX_TOP_COMPANIES = 100;
+    static final int MAX_WEEKS = 104;
+
+    private final JobService jobService;
+    private final JobRollupRepository rollupRepository;
+    private final JobStatusEventRepository statusEventRepository;
+    private final ShardFanOut shardFanOut;
+    private final TransactionTemplate transactionTemplate;
+    private volatile LocalDateTime refreshedAt;
+
+    @Autowired
+    public JobAnalyticsService(JobService jobService, JobRollupRepository rollupRepository,
+                               JobStatusEventRepository statusEventRepository,
+                               ShardFanOut shardFanOut,
+                               PlatformTransactionManager transactionManager) {
+        this.jobService = jobService;
+        this.rollupRepository = rollupRepository;
+        this.statusEventRepository = statusEventRepository;
+        this.shardFanOut = shardFanOut;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public JobAnalytics getAnalytics(int top, int weeks) {
+        if (top < 1 || top > MAX_TOP_COMPANIES) {
+            throw new IllegalArgumentException("top must be between 1 and " + MAX_TOP_COMPANIES);
+        }
+        if (weeks < 1 || weeks > MAX_WEEKS) {
+            throw new IllegalArgumentException("weeks must be between 1 and " + MAX_WEEKS);
+        }
+        Map<JobStatus, Long> statusCounts = jobService.getJobCountsByStatus();
+        long total = statusCounts.values().stream().mapToLong(Long::longValue).sum();
+        long offered = statusCounts.get(JobStatus.OFFER);
+        JobAnalytics.Funnel funnel = new JobAnalytics.Funnel(total, statusCounts.get(JobStatus.INTERVIEW) + offered, offered);
+
+        // Fold days into Monday-based weeks, oldest first, including weeks without jobs
+        LocalDate firstWeek = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).minusWeeks(weeks - 1L);
+        long[] created = new long[weeks];
+        shardFanOut.read(() -> rollupRepository.findDailyCreated(firstWeek)).forEach(days -> days.forEach((day, count) -> {
+            int week = (int) (day.toEpochDay() - firstWeek.toEpochDay()) / 7;
+            if (week < weeks) {
+                created[week] += count;
+            }
+        }));
+        List<JobAnalytics.WeekCount> weekly = new ArrayList<>(weeks);
+        for (int i = 0; i < weeks; i++) {
+            weekly.add(new JobAnalytics.WeekCount(firstWeek.plusWeeks(i), created[i]));
+        }
+
+        List<JobAnalytics.CompanyCount> topCompanies = mergeTopCompanies(
+                shardFanOut.read(() -> rollupRepository.findTopCompanies(top)), top);
+        return new JobAnalytics(statusCounts, funnel, topCompanies, weekly, refreshedAt);
+    }
+
+    // Sums the per-shard lists by normalized company name and keeps the largest
+    private static List<JobAnalytics.CompanyCount> mergeTopCompanies(List<List<JobAnalytics.CompanyCount>> shards, int top) {
+        if (shards.size() == 1) {
+            return shards.get(0);
+        }
+        Map<String, JobAnalytics.CompanyCount> merged = new HashMap<>();
+        for (List<JobAnalytics.CompanyCount> companies : shards) {
+            for (JobAnalytics.CompanyCount company : companies) {
+                merged.merge(Job.normalizeCompany(company.getCompany()), company, (a, b) -> {
+                    Map<JobStatus, Long> counts = new EnumMap<>(a.getStatusCounts());
+                    b.getStatusCounts().forEach((status, count) -> counts.merge(status, count, Long::sum));
+                    return new JobAnalytics.CompanyCount(a.getCompany(), a.getTotal() + b.getTotal(), counts);
+                });
+            }
+        }
+        return merged.entrySet().stream()
+                .sorted(Comparator.comparing((Map.Entry<String, JobAnalytics.CompanyCount> entry) -> entry.getValue().getTotal())
+                        .reversed()
+                        .thenComparing(Map.Entry::getKey))
+                .limit(top)
+                .map(Map.Entry::getValue)
+                .toList();
+    }
+
+    // Percentiles of how long jobs stayed in each status before leaving it, from the rollup
+    public Map<JobStatus, StageDurations> getStageDurations() {
+        List<Map<JobStatus, DurationHistogram>> shards = shardFanOut.read(rollupRepository::findStageDurations);
+        Map<JobStatus, StageDurations> durations = new EnumMap<>(JobStatus.class);
+        for (JobStatus status : JobStatus.values()) {
+            DurationHistogram merged = new DurationHistogram();
+            shards.forEach(histograms -> merged.merge(histograms.get(status)));
+            durations.put(status, merged.toStageDurations());
+        }
+        return durations;
+    }
+
+    // Histograms of every completed stay on the current shard, by tenant and status
+    private Map<String, Map<JobStatus, DurationHistogram>> completedStays() {
+        Map<String, Map<JobStatus, DurationHistogram>> histograms = new HashMap<>();
+        TenantContext.runAs(TenantContext.ALL_TENANTS, () -> statusEventRepository.forEachCompletedStay(
+                (tenant, status, duration) -> histograms
+                        .computeIfAbsent(tenant, key -> new EnumMap<>(JobStatus.class))
+                        .computeIfAbsent(status, key -> new DurationHistogram())
+                        .record(duration)));
+        return histograms;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        refresh();
+    }
+
+    // Rebuilds the rollups of each shard: the aggregates are read without locking jobs, then written in one
+    // transaction, so readers keep seeing the previous rollups until it commits
+    @Scheduled(fixedDelayString = "${jobtracker.analytics.refresh-interval:PT5M}",
+               initialDelayString = "${jobtracker.analytics.refresh-interval:PT5M}")
+    public void refresh() {
+        long start = System.currentTimeMillis();
+        LocalDateTime startedAt = LocalDateTime.now();
+        shardFanOut.forEachShard(() -> {
+            JobRollupRepository.Rollups rollups = rollupRepository.aggregate();
+            Map<String, Map<JobStatus, DurationHistogram>> stageDurations = completedStays();
+            transactionTemplate.executeWithoutResult(status -> {
+                rollupRepository.replace(rollups);
+                rollupRepository.replaceStageDurations(stageDurations);
+            });
+        });
+        refreshedAt = startedAt;
+        logger.debug("Analytics rollups refreshed in {} ms", System.currentTimeMillis() - start);
+    }
+}
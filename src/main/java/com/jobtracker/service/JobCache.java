@@ -0,0 +1,197 @@
+package com.jobtracker.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jobtracker.config.ReadWriteRoutingDataSource;
+import com.jobtracker.config.TenantContext;
+import com.jobtracker.model.CollectionVersion;
+import com.jobtracker.model.CursorPage;
+import com.jobtracker.model.Job;
+import com.jobtracker.model.JobStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded read-through cache for single jobs, for pages of the status and company listings
+ * and for the collection fingerprints behind conditional GETs.
+ *
+ * Single jobs are invalidated by id. Pages and fingerprints are keyed by a per-filter
+ * generation that every write to a matching job bumps, so a page loaded concurrently with a
+ * write lands under a generation nobody reads anymore. Invalidation runs after
+ * the surrounding transaction commits, so a reader can never re-cache the row
+ * being replaced or deleted.
+ *
+ * Pages and fingerprints are cached per tenant. A write invalidates the
+ * matching entries of every tenant, including the merged all-tenant ones,
+ * rather than tracking which tenants could have seen the job.
+ *
+ * The cache is local to the instance. Writes made by other instances are
+ * evicted through {@link #evictRemoteChanges} by {@link JobCacheSync}, which
+ * follows the change log, so another instance's write is served stale for at
+ * most about one sync interval.
+ */
+@Component
+public class JobCache {
+
+    // Companies are hashed onto a fixed number of generation slots to keep memory bounded
+    private static final int COMPANY_SLOTS = 1024;
+
+    private final Cache<Long, Job> jobsById;
+    private final Cache<PageKey, CursorPage<Job>> pages;
+    private final Cache<PageKey, CollectionVersion> versions;
+    private final AtomicLong allGeneration = new AtomicLong();
+    private final AtomicLongArray statusGenerations = new AtomicLongArray(JobStatus.values().length);
+    private final AtomicLongArray companyGenerations = new AtomicLongArray(COMPANY_SLOTS);
+
+    @Autowired
+    public JobCache(@Value("${jobtracker.cache.max-jobs:10000}") long maxJobs,
+                    @Value("${jobtracker.cache.max-pages:1000}") long maxPages,
+                    @Value("${jobtracker.cache.ttl:60s}") Duration ttl,
+                    MeterRegistry meterRegistry) {
+        this.jobsById = Caffeine.newBuilder()
+                .maximumSize(maxJobs)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxPages)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxPages)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, jobsById, "jobs.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "jobs.pages");
+        CaffeineCacheMetrics.monitor(meterRegistry, versions, "jobs.versions");
+    }
+
+    public Optional<Job> getJob(Long id, Function<Long, Optional<Job>> loader) {
+        // Misses are not cached, so a job created later is visible immediately. Ids are unique
+        // across tenants, so one entry serves the job's owner and is hidden from everyone else.
+        String tenant = TenantContext.current();
+        return Optional.ofNullable(jobsById.get(id, key -> load(() -> loader.apply(key)).orElse(null)))
+                .filter(job -> TenantContext.isAllTenants() || tenant.equals(job.getTenantId()));
+    }
+
+    public CursorPage<Job> getStatusPage(JobStatus status, String cursor, int limit,
+                                         Supplier<CursorPage<Job>> loader) {
+        PageKey key = new PageKey(TenantContext.current(), "status", status.name(),
+                statusGenerations.get(status.ordinal()), cursor, limit);
+        return pages.get(key, k -> load(loader));
+    }
+
+    public CursorPage<Job> getCompanyPage(String company, String cursor, int limit,
+                                          Supplier<CursorPage<Job>> loader) {
+        String normalized = Job.normalizeCompany(company);
+        PageKey key = new PageKey(TenantContext.current(), "company", normalized,
+                companyGenerations.get(companySlot(normalized)), cursor, limit);
+        return pages.get(key, k -> load(loader));
+    }
+
+    public CollectionVersion getAllVersion(Supplier<CollectionVersion> loader) {
+        PageKey key = new PageKey(TenantContext.current(), "all", "", allGeneration.get(), null, 0);
+        return versions.get(key, k -> load(loader));
+    }
+
+    public CollectionVersion getStatusVersion(JobStatus status, Supplier<CollectionVersion> loader) {
+        PageKey key = new PageKey(TenantContext.current(), "status", status.name(),
+                statusGenerations.get(status.ordinal()), null, 0);
+        return versions.get(key, k -> load(loader));
+    }
+
+    public CollectionVersion getCompanyVersion(String company, Supplier<CollectionVersion> loader) {
+        String normalized = Job.normalizeCompany(company);
+        PageKey key = new PageKey(TenantContext.current(), "company", normalized,
+                companyGenerations.get(companySlot(normalized)), null, 0);
+        return versions.get(key, k -> load(loader));
+    }
+
+    /**
+     * Advances after every committed write, once the write's invalidations are done.
+     * A read that starts under the current generation sees every write committed so far.
+     */
+    public long generation() {
+        return allGeneration.get();
+    }
+
+    // Loads read from the primary: a replica that has not caught up with the write that
+    // invalidated an entry would put the stale value back for the whole TTL
+    private static <T> T load(Supplier<T> loader) {
+        return ReadWriteRoutingDataSource.onPrimary(loader);
+    }
+
+    /**
+     * Invalidates everything a write to the given job state may have made stale.
+     * Callers pass both the previous and the new state of an updated job.
+     */
+    public void invalidate(Long id, JobStatus status, String company) {
+        AfterCommit.run(() -> {
+            if (id != null) {
+                jobsById.invalidate(id);
+            }
+            // Every write changes the set of all jobs
+            allGeneration.incrementAndGet();
+            versions.asMap().keySet().removeIf(key -> key.kind.equals("all"));
+            if (status != null) {
+                statusGenerations.incrementAndGet(status.ordinal());
+                pages.asMap().keySet().removeIf(key -> key.kind.equals("status") && key.value.equals(status.name()));
+                versions.asMap().keySet().removeIf(key -> key.kind.equals("status") && key.value.equals(status.name()));
+            }
+            if (company != null) {
+                String normalized = Job.normalizeCompany(company);
+                companyGenerations.incrementAndGet(companySlot(normalized));
+                pages.asMap().keySet().removeIf(key -> key.kind.equals("company") && key.value.equals(normalized));
+                versions.asMap().keySet().removeIf(key -> key.kind.equals("company") && key.value.equals(normalized));
+            }
+        });
+    }
+
+    /**
+     * Evicts the jobs another instance changed, or whose uncommitted state a rollback
+     * undid. Their previous status and company are unknown here, so every page and
+     * fingerprint is dropped and every generation advances.
+     */
+    public void evictRemoteChanges(Collection<Long> ids) {
+        jobsById.invalidateAll(ids);
+        evictCollections();
+    }
+
+    // Evicts everything, for when too many jobs changed elsewhere to name them
+    public void evictAll() {
+        jobsById.invalidateAll();
+        evictCollections();
+    }
+
+    private void evictCollections() {
+        allGeneration.incrementAndGet();
+        for (int i = 0; i < statusGenerations.length(); i++) {
+            statusGenerations.incrementAndGet(i);
+        }
+        for (int i = 0; i < companyGenerations.length(); i++) {
+            companyGenerations.incrementAndGet(i);
+        }
+        pages.invalidateAll();
+        versions.invalidateAll();
+    }
+
+    private static int companySlot(String normalized) {
+        return Math.floorMod(normalized.hashCode(), COMPANY_SLOTS);
+    }
+
+    private record PageKey(String tenant, String kind, String value, long generation, String cursor, int limit) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.jobtracker.service;
+
+import com.jobtracker.config.ReadWriteRoutingDataSource;
+import com.jobtracker.config.ShardFanOut;
+import com.jobtracker.repository.JobChangeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps {@link JobCache} coherent across instances by following the change log:
+ * every poll evicts the jobs that other instances changed since the previous one.
+ *
+ * A transaction takes its sequence number before it commits, so a change can
+ * become visible after higher ones. Like the change feed, each poll therefore
+ * stops at the first missing sequence number until it has been missing for the
+ * gap timeout ({@link JobChangeRepository#findVisibleThrough}). Changes of this
+ * instance are skipped, since its writes already invalidated the cache after
+ * committing.
+ */
+@Component
+public class JobCacheSync {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobCacheSync.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JobChangeRepository jobChangeRepository;
+    private final JobCache jobCache;
+    private final ShardFanOut shardFanOut;
+    private final Duration gapTimeout;
+    // Sequence number followed so far, one per shard; forEachShard visits the shards in the same order every time
+    private final List<Long> positions = new ArrayList<>();
+
+    @Autowired
+    public JobCacheSync(JobChangeRepository jobChangeRepository, JobCache jobCache, ShardFanOut shardFanOut,
+                        @Value("${jobtracker.changes.gap-timeout:10s}") Duration gapTimeout) {
+        this.jobChangeRepository = jobChangeRepository;
+        this.jobCache = jobCache;
+        this.shardFanOut = shardFanOut;
+        this.gapTimeout = gapTimeout;
+    }
+
+    @Scheduled(fixedDelayString = "${jobtracker.cache.sync-interval:PT1S}")
+    public synchronized void poll() {
+        int[] shard = {0};
+        shardFanOut.forEachShard(() -> {
+            // The primary, since a replica may not have the change yet
+            ReadWriteRoutingDataSource.onPrimary(() -> {
+                if (positions.size() == shard[0]) {
+                    // Nothing was cached before the first poll
+                    Long max = jobChangeRepository.findMaxSeq();
+                    positions.add(max != null ? max : 0L);
+                } else {
+                    positions.set(shard[0], sync(positions.get(shard[0])));
+                }
+                return null;
+            });
+            shard[0]++;
+        });
+    }
+
+    // Evicts the jobs changed by other instances after the given sequence number and returns the new position
+    private long sync(long position) {
+        Long max = jobChangeRepository.findMaxSeq();
+        if (max == null || max <= position) {
+            return position;
+        }
+        long through = jobChangeRepository.findVisibleThrough(position, max, gapTimeout);
+        if (through == position) {
+            return position;
+        }
+        List<long[]> changes = jobChangeRepository.findFromOtherOrigins(position, through, BATCH_SIZE + 1);
+        if (changes.size() > BATCH_SIZE) {
+            logger.debug("More than {} changes from other instances, evicting the whole cache", BATCH_SIZE);
+            jobCache.evictAll();
+            return through;
+        }
+        List<Long> ids = new ArrayList<>();
+        for (long[] change : changes) {
+            ids.add(change[1]);
+        }
+        if (!ids.isEmpty()) {
+            jobCache.evictRemoteChanges(ids);
+            logger.debug("Evicted {} jobs changed by other instances", ids.size());
+        }
+        return through;
+    }
+}
@@ -0,0 +1,214 @@
+package com.jobtracker.service;
+
+import com.jobtracker.config.TenantContext;
+import com.jobtracker.model.ChangeFeed;
+import com.jobtracker.model.JobChange;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes the change feed to Server-Sent Events subscribers.
+ *
+ * The change log is polled at a fixed interval rather than fed by local writes,
+ * so changes committed by other instances are pushed as well. Subscribers at the
+ * same position share one read of the log per poll, which keeps the database cost
+ * proportional to the number of changes rather than the number of subscribers.
+ * Each subscriber only receives the changes of the tenant it subscribed as.
+ *
+ * Events are written on a dedicated pool of sender threads, one page of the log
+ * per send, so a slow client cannot hold up the scheduler or other subscribers,
+ * and a long replay never sits in memory as a whole. A subscriber still sending
+ * after the send timeout is dropped and its write interrupted.
+ */
+@Component
+public class JobChangeBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobChangeBroadcaster.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JobService jobService;
+    private final Duration timeout;
+    private final Duration heartbeatInterval;
+    private final Duration sendTimeout;
+    private final ExecutorService sender;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public JobChangeBroadcaster(JobService jobService,
+                                @Value("${jobtracker.changes.sse-timeout:30m}") Duration timeout,
+                                @Value("${jobtracker.changes.heartbeat-interval:15s}") Duration heartbeatInterval,
+                                @Value("${jobtracker.changes.send-timeout:10s}") Duration sendTimeout,
+                                @Value("${jobtracker.changes.send-threads:4}") int sendThreads) {
+        this.jobService = jobService;
+        this.timeout = timeout;
+        this.heartbeatInterval = heartbeatInterval;
+        this.sendTimeout = sendTimeout;
+        this.sender = Executors.newFixedThreadPool(sendThreads, daemonThreads());
+    }
+
+    /**
+     * Opens a stream that first replays the changes after {@code since} (or starts at the
+     * current head when null) and then receives new changes as they are committed.
+     * The replay runs on the sender pool one page at a time, like any other send.
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     * @throws ChangeTokenExpiredException if the token is older than the retained log
+     */
+    public SseEmitter subscribe(String since) {
+        // Reads at most one change, so a bad or expired token is refused before the stream opens
+        ChangeFeed head = jobService.getChanges(since, 1);
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, TenantContext.requireTenant(),
+                since != null ? since : head.getToken());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        // Events sent before the emitter is returned are buffered, which is at most this first page
+        schedule(subscriber, new ConcurrentHashMap<>());
+        logger.debug("Change stream subscribed at token {}, {} subscribers", subscriber.token, subscribers.size());
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Hands each subscriber whose previous send has finished to the sender pool;
+     * subscribers still sending after the send timeout are dropped.
+     */
+    @Scheduled(fixedDelayString = "${jobtracker.changes.poll-interval:PT1S}")
+    public synchronized void poll() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Map<String, ChangeFeed> feeds = new ConcurrentHashMap<>();
+        for (Subscriber subscriber : subscribers) {
+            if (!schedule(subscriber, feeds) && subscriber.isStuck(sendTimeout)) {
+                // The interrupted write fails and completes the emitter on the sender thread
+                logger.debug("Dropping change stream subscriber stuck sending for over {}", sendTimeout);
+                subscribers.remove(subscriber);
+                subscriber.sending.cancel(true);
+            }
+        }
+    }
+
+    // Starts a send for the subscriber unless one is still in flight
+    private boolean schedule(Subscriber subscriber, Map<String, ChangeFeed> feeds) {
+        synchronized (subscriber) {
+            if (subscriber.inFlight) {
+                return false;
+            }
+            subscriber.inFlight = true;
+            subscriber.sendStartedNanos = System.nanoTime();
+            try {
+                subscriber.sending = sender.submit(() -> send(subscriber, feeds));
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                subscriber.inFlight = false;
+            }
+            return true;
+        }
+    }
+
+    // Sends one page; a subscriber that is further behind goes straight on with the next one
+    private void send(Subscriber subscriber, Map<String, ChangeFeed> feeds) {
+        boolean behind = false;
+        try {
+            behind = deliver(subscriber, feeds);
+            if (!behind && System.nanoTime() - subscriber.lastSentNanos > heartbeatInterval.toNanos()) {
+                // Keeps proxies from closing an idle stream and detects clients that went away
+                subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+                subscriber.lastSentNanos = System.nanoTime();
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Dropping change stream subscriber: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(Thread.interrupted()
+                    ? new TimeoutException("Change stream send took longer than " + sendTimeout) : e);
+            behind = false;
+        } finally {
+            synchronized (subscriber) {
+                subscriber.inFlight = false;
+            }
+        }
+        if (behind && subscribers.contains(subscriber)) {
+            schedule(subscriber, new ConcurrentHashMap<>());
+        }
+    }
+
+    // Sends the next page after the subscriber's token, reusing a page already read this round;
+    // returns whether more changes follow it
+    private boolean deliver(Subscriber subscriber, Map<String, ChangeFeed> feeds) throws IOException {
+        ChangeFeed feed = feeds.computeIfAbsent(subscriber.tenant + " " + subscriber.token, key ->
+                TenantContext.callAs(subscriber.tenant, () -> jobService.getChanges(subscriber.token, BATCH_SIZE)));
+        for (JobChange change : feed.getChanges()) {
+            subscriber.emitter.send(SseEmitter.event()
+                    .id(PageCursor.of(change.getSeq()).encode())
+                    .name("change")
+                    .data(change));
+        }
+        subscriber.token = feed.getToken();
+        if (!feed.getChanges().isEmpty()) {
+            subscriber.lastSentNanos = System.nanoTime();
+        }
+        return feed.isHasMore();
+    }
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final String tenant;
+        volatile String token;
+        volatile long lastSentNanos = System.nanoTime();
+        volatile long sendStartedNanos;
+        volatile Future<?> sending;
+        // Guarded by the subscriber itself
+        boolean inFlight;
+
+        Subscriber(SseEmitter emitter, String tenant, String token) {
+            this.emitter = emitter;
+            this.tenant = tenant;
+            this.token = token;
+        }
+
+        synchronized boolean isStuck(Duration sendTimeout) {
+            return inFlight && System.nanoTime() - sendStartedNanos > sendTimeout.toNanos();
+        }
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "change-stream-sender-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+}
@@ -0,0 +1,55 @@
+package com.jobtracker.service;
+
+import com.jobtracker.config.ShardFanOut;
+import com.jobtracker.repository.JobChangeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Bounds the change log by deleting entries older than the retention period.
+ *
+ * The newest entry is always kept, so the log is never emptied and a token from
+ * before the retained range can still be recognized as expired. Each shard
+ * keeps its own log and is pruned on its own.
+ */
+@Component
+public class JobChangeLogPruner {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobChangeLogPruner.class);
+
+    private final JobChangeRepository jobChangeRepository;
+    private final ShardFanOut shardFanOut;
+    private final Duration retention;
+
+    @Autowired
+    public JobChangeLogPruner(JobChangeRepository jobChangeRepository, ShardFanOut shardFanOut,
+                              @Value("${jobtracker.changes.retention:7d}") Duration retention) {
+        this.jobChangeRepository = jobChangeRepository;
+        this.shardFanOut = shardFanOut;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${jobtracker.changes.prune-interval:PT1H}",
+               initialDelayString = "${jobtracker.changes.prune-interval:PT1H}")
+    public void prune() {
+        shardFanOut.forEachShard(this::pruneShard);
+    }
+
+    private void pruneShard() {
+        Long head = jobChangeRepository.findMaxSeq();
+        if (head == null) {
+            return;
+        }
+        int deleted = jobChangeRepository.deleteOlderThan(LocalDateTime.now().minus(retention), head);
+        if (deleted > 0) {
+            logger.info("Pruned {} change log entries older than {}", deleted, retention);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.jobtracker.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobtracker.model.Job;
+import com.jobtracker.model.JobStatus;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads jobs one row at a time from an import file, so a file of any size is
+ * parsed in constant memory. A row that cannot be turned into a job is returned
+ * with an error instead; only a file that cannot be read at all throws.
+ *
+ * CSV files need a header row naming the company, position and status columns
+ * (notes is optional, other columns are ignored). NDJSON files hold one JSON
+ * object per line with the same properties.
+ */
+public abstract class JobImportReader implements Closeable {
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private static final List<String> COLUMNS = List.of("company", "position", "status", "notes");
+
+    protected final BufferedReader reader;
+    protected long line;
+
+    private JobImportReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    public static JobImportReader open(Path file, Format format) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        try {
+            return format == Format.CSV ? new CsvReader(reader) : new NdjsonReader(reader);
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    // Next row, or null at the end of the file
+    public abstract Row next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static Row toRow(long line, String company, String position, String status, String notes) {
+        if (status == null || status.isBlank()) {
+            return Row.failed(line, "Status is required");
+        }
+        JobStatus jobStatus;
+        try {
+            jobStatus = JobStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return Row.failed(line, "Unknown status: " + status);
+        }
+        return new Row(line, new Job(company, position, jobStatus, notes == null || notes.isEmpty() ? null : notes), null);
+    }
+
+    /**
+     * One row of the file: a job to validate and write, or the reason the row
+     * could not be read.
+     */
+    public static final class Row {
+        private final long line;
+        private final Job job;
+        private final String error;
+
+        private Row(long line, Job job, String error) {
+            this.line = line;
+            this.job = job;
+            this.error = error;
+        }
+
+        static Row failed(long line, String error) {
+            return new Row(line, null, error);
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public Job getJob() {
+            return job;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+
+    // RFC 4180: comma separated, fields optionally quoted, "" inside quotes is a quote,
+    // and quoted fields may contain commas and line breaks
+    private static final class CsvReader extends JobImportReader {
+
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        CsvReader(BufferedReader reader) throws IOException {
+            super(reader);
+            List<String> header = readRecord();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV file is empty");
+            }
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+                // A byte order mark, as spreadsheet programs write it
+                if (i == 0 && name.startsWith("\uFEFF")) {
+                    name = name.substring(1);
+                }
+                if (COLUMNS.contains(name)) {
+                    columns.putIfAbsent(name, i);
+                }
+            }
+            for (String required : COLUMNS.subList(0, 3)) {
+                if (!columns.containsKey(required)) {
+                    throw new IllegalArgumentException("CSV header has no " + required + " column");
+                }
+            }
+        }
+
+        @Override
+        public Row next() throws IOException {
+            List<String> record;
+            long start;
+            do {
+                start = line + 1;
+                record = readRecord();
+                if (record == null) {
+                    return null;
+                }
+            } while (record.size() == 1 && record.get(0).isBlank());
+            return toRow(start, field(record, "company"), field(record, "position"),
+                    field(record, "status"), field(record, "notes"));
+        }
+
+        private String field(List<String> record, String column) {
+            Integer index = columns.get(column);
+            return index == null || index >= record.size() ? null : record.get(index);
+        }
+
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            line++;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        break;
+                    }
+                    if (c == '"') {
+                        reader.mark(1);
+                        int nextChar = reader.read();
+                        if (nextChar == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            reader.reset();
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == -1) {
+                    break;
+                } else if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                    break;
+                } else {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    private static final class NdjsonReader extends JobImportReader {
+
+        private static final ObjectMapper objectMapper = new ObjectMapper();
+
+        NdjsonReader(BufferedReader reader) {
+            super(reader);
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                if (text == null) {
+                    return null;
+                }
+                line++;
+            } while (text.isBlank());
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(text);
+            } catch (JsonProcessingException e) {
+                return Row.failed(line, "Malformed JSON: " + e.getOriginalMessage());
+            }
+            if (!node.isObject()) {
+                return Row.failed(line, "Expected a JSON object");
+            }
+            return toRow(line, text(node, "company"), text(node, "position"), text(node, "status"), text(node, "notes"));
+        }
+
+        private static String text(JsonNode node, String property) {
+            JsonNode value = node.get(property);
+            return value == null || value.isNull() ? null : value.asText();
+        }
+    }
+}
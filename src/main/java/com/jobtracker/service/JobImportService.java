@@ -0,0 +1,267 @@
+package com.jobtracker.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.jobtracker.config.TenantContext;
+import com.jobtracker.model.BatchItemResult;
+import com.jobtracker.model.ImportStatus;
+import com.jobtracker.model.Job;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Imports jobs from uploaded CSV or NDJSON files in the background.
+ *
+ * The upload is saved to a temporary file and the request returns at once with
+ * an {@link ImportStatus} to poll. A reader thread then streams the file and
+ * hands chunks of rows to a fixed pool of workers, each of which validates its
+ * chunk and writes it in one batched transaction through
+ * {@link JobService#createJobs}, so imported jobs go through the same cache,
+ * counter, search index and change feed bookkeeping as any other write. The
+ * reader stops when the workers fall behind, which bounds the rows held in
+ * memory regardless of the file size.
+ *
+ * Imports are kept by tenant and id, so a tenant only ever sees its own.
+ */
+@Service
+public class JobImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobImportService.class);
+
+    private final JobService jobService;
+    private final int chunkSize;
+    private final int workerCount;
+    private final int maxErrors;
+    private final ThreadPoolExecutor readers;
+    private final ExecutorService workers;
+    // Keyed by tenant and import id
+    private final Cache<String, ImportStatus> imports;
+
+    @Autowired
+    public JobImportService(JobService jobService,
+                            @Value("${jobtracker.batch.chunk-size:500}") int chunkSize,
+                            @Value("${jobtracker.import.workers:2}") int workerCount,
+                            @Value("${jobtracker.import.max-concurrent:2}") int maxConcurrent,
+                            @Value("${jobtracker.import.max-queued:8}") int maxQueued,
+                            @Value("${jobtracker.import.max-errors:1000}") int maxErrors,
+                            @Value("${jobtracker.import.retention:1h}") Duration retention) {
+        this.jobService = jobService;
+        this.chunkSize = chunkSize;
+        this.workerCount = workerCount;
+        this.maxErrors = maxErrors;
+        this.readers = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueued), threadFactory("job-import-reader-"));
+        this.workers = Executors.newFixedThreadPool(workerCount, threadFactory("job-import-worker-"));
+        // Imports in progress never expire; finished ones are kept for the retention period
+        this.imports = Caffeine.newBuilder()
+                .expireAfter(new Expiry<String, ImportStatus>() {
+                    @Override
+                    public long expireAfterCreate(String id, ImportStatus status, long now) {
+                        return status.isFinished() ? retention.toNanos() : Long.MAX_VALUE;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String id, ImportStatus status, long now, long current) {
+                        return expireAfterCreate(id, status, now);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String id, ImportStatus status, long now, long current) {
+                        return current;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Saves the upload and queues it for import.
+     *
+     * @throws IllegalArgumentException if the format cannot be determined
+     * @throws IllegalStateException if too many imports are already queued
+     */
+    public ImportStatus submit(MultipartFile file, String format) throws IOException {
+        String tenant = TenantContext.requireTenant();
+        JobImportReader.Format resolved = resolveFormat(file, format);
+        String id = UUID.randomUUID().toString();
+        String key = key(tenant, id);
+        ImportStatus status = new ImportStatus(id, file.getOriginalFilename(), resolved.name(), maxErrors);
+        // The container deletes its copy of the upload when the request ends
+        Path upload = Files.createTempFile("job-import-", "." + resolved.name().toLowerCase(Locale.ROOT));
+        try {
+            file.transferTo(upload);
+            imports.put(key, status);
+            // Runs for the submitting tenant, as do the chunk writes it hands to the workers
+            readers.execute(TenantContext.propagate(() -> run(key, status, upload, resolved)));
+        } catch (IOException | RuntimeException e) {
+            imports.invalidate(key);
+            Files.deleteIfExists(upload);
+            if (e instanceof RejectedExecutionException) {
+                throw new IllegalStateException("Too many imports in progress, try again later", e);
+            }
+            throw e;
+        }
+        logger.info("Queued import {} of {} ({})", id, file.getOriginalFilename(), resolved);
+        return status;
+    }
+
+    // Empty for imports of other tenants, as for unknown ids
+    public Optional<ImportStatus> getStatus(String id) {
+        return Optional.ofNullable(imports.getIfPresent(key(TenantContext.current(), id)));
+    }
+
+    private static String key(String tenant, String id) {
+        return tenant + " " + id;
+    }
+
+    private void run(String key, ImportStatus status, Path upload, JobImportReader.Format format) {
+        status.start();
+        long start = System.currentTimeMillis();
+        // At most two chunks per worker are in flight; the reader waits for a permit
+        int maxInFlight = workerCount * 2;
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        try (JobImportReader reader = JobImportReader.open(upload, format)) {
+            List<JobImportReader.Row> chunk = new ArrayList<>(chunkSize);
+            JobImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                status.rowRead();
+                if (row.getError() != null) {
+                    status.rowFailed(row.getLine(), row.getError());
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    submitChunk(status, chunk, inFlight);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submitChunk(status, chunk, inFlight);
+            }
+            inFlight.acquire(maxInFlight);
+            status.complete();
+            logger.info("Import {} finished in {} ms: {} rows read, {} imported, {} failed", status.getId(),
+                    System.currentTimeMillis() - start, status.getRowsRead(), status.getRowsImported(), status.getRowsFailed());
+        } catch (IOException | RuntimeException e) {
+            logger.error("Import {} failed", status.getId(), e);
+            awaitQuietly(inFlight, maxInFlight);
+            status.fail(e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status.fail("Import was interrupted");
+        } finally {
+            // Re-put so the finished import starts its retention period
+            imports.put(key, status);
+            try {
+                Files.deleteIfExists(upload);
+            } catch (IOException e) {
+                logger.warn("Could not delete import file {}", upload, e);
+            }
+        }
+    }
+
+    private void submitChunk(ImportStatus status, List<JobImportReader.Row> chunk, Semaphore inFlight)
+            throws InterruptedException {
+        inFlight.acquire();
+        try {
+            workers.execute(TenantContext.propagate(() -> {
+                try {
+                    writeChunk(status, chunk);
+                } finally {
+                    inFlight.release();
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    // Validates and writes one chunk; createJobs reports each row separately
+    private void writeChunk(ImportStatus status, List<JobImportReader.Row> chunk) {
+        List<Job> jobs = chunk.stream().map(JobImportReader.Row::getJob).toList();
+        try {
+            List<BatchItemResult> results = jobService.createJobs(jobs);
+            int created = 0;
+            for (BatchItemResult result : results) {
+                if (result.getOutcome() == BatchItemResult.Outcome.CREATED) {
+                    created++;
+                } else {
+                    status.rowFailed(chunk.get(result.getIndex()).getLine(), result.getError());
+                }
+            }
+            status.rowsImported(created);
+        } catch (RuntimeException e) {
+            logger.error("Import {} chunk failed", status.getId(), e);
+            for (JobImportReader.Row row : chunk) {
+                status.rowFailed(row.getLine(), "Write failed");
+            }
+        }
+    }
+
+    private static void awaitQuietly(Semaphore inFlight, int permits) {
+        try {
+            inFlight.acquire(permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static JobImportReader.Format resolveFormat(MultipartFile file, String format) {
+        if (format != null) {
+            try {
+                return JobImportReader.Format.valueOf(format.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown import format: " + format + ", expected CSV or NDJSON");
+            }
+        }
+        String name = file.getOriginalFilename() == null ? "" : file.getOriginalFilename().toLowerCase(Locale.ROOT);
+        String contentType = file.getContentType() == null ? "" : file.getContentType().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv") || contentType.startsWith("text/csv")) {
+            return JobImportReader.Format.CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || contentType.startsWith("application/x-ndjson")) {
+            return JobImportReader.Format.NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot tell the import format from the file; pass format=CSV or format=NDJSON");
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        readers.shutdownNow();
+        workers.shutdownNow();
+    }
+}
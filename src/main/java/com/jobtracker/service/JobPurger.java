@@ -0,0 +1,81 @@
+package com.jobtracker.service;
+
+import com.jobtracker.config.ShardFanOut;
+import com.jobtracker.repository.JobBatchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Hard-deletes soft-deleted jobs in the background.
+ *
+ * Each batch is a short statement of its own that locks only the rows it
+ * removes, with a pause between batches, so a large cleanup never holds locks
+ * for long or saturates the database. Jobs deleted less than the grace period
+ * ago are left alone, and one run stops after max-per-run rows so that it does
+ * not occupy the scheduler thread; the next run picks up the rest.
+ */
+@Component
+public class JobPurger {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobPurger.class);
+
+    private final JobBatchRepository jobBatchRepository;
+    private final ShardFanOut shardFanOut;
+    private final Duration gracePeriod;
+    private final int batchSize;
+    private final Duration batchPause;
+    private final int maxPerRun;
+
+    @Autowired
+    public JobPurger(JobBatchRepository jobBatchRepository, ShardFanOut shardFanOut,
+                     @Value("${jobtracker.purge.grace-period:PT10M}") Duration gracePeriod,
+                     @Value("${jobtracker.purge.batch-size:200}") int batchSize,
+                     @Value("${jobtracker.purge.batch-pause:PT0.1S}") Duration batchPause,
+                     @Value("${jobtracker.purge.max-per-run:20000}") int maxPerRun) {
+        this.jobBatchRepository = jobBatchRepository;
+        this.shardFanOut = shardFanOut;
+        this.gracePeriod = gracePeriod;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.maxPerRun = maxPerRun;
+    }
+
+    // Runs without a transaction: every batch commits on its own. Shards are purged one after
+    // another and share the max-per-run budget.
+    @Scheduled(fixedDelayString = "${jobtracker.purge.interval:PT1M}",
+               initialDelayString = "${jobtracker.purge.interval:PT1M}")
+    public int purge() {
+        long start = System.currentTimeMillis();
+        LocalDateTime cutoff = LocalDateTime.now().minus(gracePeriod);
+        int[] purged = {0};
+        shardFanOut.forEachShard(() -> purged[0] += purgeShard(cutoff, maxPerRun - purged[0]));
+        if (purged[0] > 0) {
+            logger.info("Purged {} deleted jobs in {} ms", purged[0], System.currentTimeMillis() - start);
+        }
+        return purged[0];
+    }
+
+    private int purgeShard(LocalDateTime cutoff, int budget) {
+        int purged = 0;
+        try {
+            while (purged < budget && !Thread.currentThread().isInterrupted()) {
+                int removed = jobBatchRepository.purge(cutoff, Math.min(batchSize, budget - purged));
+                purged += removed;
+                if (removed < batchSize) {
+                    break;
+                }
+                Thread.sleep(batchPause.toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return purged;
+    }
+}
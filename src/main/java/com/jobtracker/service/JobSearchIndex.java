@@ -0,0 +1,230 @@
+package com.jobtracker.service;
+
+import com.jobtracker.config.TenantContext;
+import com.jobtracker.model.Job;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index over job position and notes.
+ *
+ * Each token maps to the jobs containing it with a weighted term frequency
+ * (position matches count more than notes matches), and results are ranked by
+ * TF-IDF. The index is bulk-loaded once at startup and then maintained by the
+ * service's write paths after each commit, and by {@link JobSearchIndexSync} for
+ * the writes of other instances; writes that arrive during the bulk load are
+ * queued and replayed once it finishes.
+ *
+ * One index holds every tenant's jobs; a search only returns jobs of the
+ * current tenant, while term rarity is measured over all of them.
+ */
+@Component
+public class JobSearchIndex {
+
+    public enum Mode {
+        AND,
+        OR
+    }
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int POSITION_WEIGHT = 3;
+    private static final int NOTES_WEIGHT = 1;
+
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, Set<String>> termsByJob = new HashMap<>();
+    private final Map<Long, String> tenantByJob = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private List<Runnable> pendingWrites = new ArrayList<>();
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return pendingWrites == null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Adds or replaces the job's entry once the current transaction commits
+    public void index(Job job) {
+        Map<String, Integer> terms = termFrequencies(job);
+        Long id = job.getId();
+        String tenant = TenantContext.requireTenant();
+        AfterCommit.run(() -> write(() -> replace(id, tenant, terms)));
+    }
+
+    // Removes the job's entry once the current transaction commits
+    public void remove(Long id) {
+        AfterCommit.run(() -> write(() -> replace(id, null, Map.of())));
+    }
+
+    // Replaces the entries of jobs another instance changed by their current state; ids without a live job are removed
+    void refresh(Collection<Long> ids, List<Job> jobs) {
+        Map<Long, String> tenants = new HashMap<>();
+        Map<Long, Map<String, Integer>> terms = new HashMap<>();
+        for (Job job : jobs) {
+            tenants.put(job.getId(), job.getTenantId());
+            terms.put(job.getId(), termFrequencies(job));
+        }
+        write(() -> {
+            for (Long id : ids) {
+                replace(id, tenants.get(id), terms.getOrDefault(id, Map.of()));
+            }
+        });
+    }
+
+    // Adds a job during the startup bulk load, bypassing the pending-write queue
+    void load(Job job) {
+        Map<String, Integer> terms = termFrequencies(job);
+        lock.writeLock().lock();
+        try {
+            replace(job.getId(), job.getTenantId(), terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ends the bulk load and replays the writes that arrived during it
+    void markLoaded() {
+        lock.writeLock().lock();
+        try {
+            pendingWrites.forEach(Runnable::run);
+            pendingWrites = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the best matching jobs, highest score first.
+     *
+     * @throws IllegalStateException if the index is still loading
+     */
+    public List<Long> search(String query, Mode mode, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        lock.readLock().lock();
+        try {
+            if (pendingWrites != null) {
+                throw new IllegalStateException("Search index is still loading");
+            }
+            if (terms.isEmpty()) {
+                return List.of();
+            }
+            Map<Long, Double> scores = mode == Mode.AND ? scoreAll(terms) : scoreAny(terms);
+            String tenant = TenantContext.current();
+            boolean allTenants = TenantContext.isAllTenants();
+            return scores.entrySet().stream()
+                    .filter(entry -> allTenants || tenant.equals(tenantByJob.get(entry.getKey())))
+                    .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Double> scoreAny(Set<String> terms) {
+        Map<Long, Double> scores = new HashMap<>();
+        for (String term : terms) {
+            Map<Long, Integer> jobs = postings.getOrDefault(term, Map.of());
+            double idf = idf(jobs.size());
+            jobs.forEach((id, tf) -> scores.merge(id, tf * idf, Double::sum));
+        }
+        return scores;
+    }
+
+    private Map<Long, Double> scoreAll(Set<String> terms) {
+        // Intersect starting from the rarest term so the candidate set only shrinks
+        List<Map<Long, Integer>> lists = terms.stream()
+                .map(term -> postings.getOrDefault(term, Map.of()))
+                .sorted(Comparator.comparingInt(Map::size))
+                .toList();
+        Map<Long, Double> scores = new HashMap<>();
+        Map<Long, Integer> rarest = lists.get(0);
+        candidates:
+        for (Map.Entry<Long, Integer> candidate : rarest.entrySet()) {
+            double score = candidate.getValue() * idf(rarest.size());
+            for (Map<Long, Integer> other : lists.subList(1, lists.size())) {
+                Integer tf = other.get(candidate.getKey());
+                if (tf == null) {
+                    continue candidates;
+                }
+                score += tf * idf(other.size());
+            }
+            scores.put(candidate.getKey(), score);
+        }
+        return scores;
+    }
+
+    private double idf(int documentFrequency) {
+        return Math.log(1.0 + (double) termsByJob.size() / Math.max(1, documentFrequency));
+    }
+
+    private void write(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            if (pendingWrites != null) {
+                pendingWrites.add(action);
+            } else {
+                action.run();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Must hold the write lock
+    private void replace(Long id, String tenant, Map<String, Integer> terms) {
+        tenantByJob.remove(id);
+        Set<String> previous = termsByJob.remove(id);
+        if (previous != null) {
+            for (String term : previous) {
+                Map<Long, Integer> jobs = postings.get(term);
+                jobs.remove(id);
+                if (jobs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        if (!terms.isEmpty()) {
+            terms.forEach((term, tf) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, tf));
+            termsByJob.put(id, new HashSet<>(terms.keySet()));
+            tenantByJob.put(id, tenant);
+        }
+    }
+
+    private static Map<String, Integer> termFrequencies(Job job) {
+        Map<String, Integer> terms = new HashMap<>();
+        tokenize(job.getPosition()).forEach(term -> terms.merge(term, POSITION_WEIGHT, Integer::sum));
+        tokenize(job.getNotes()).forEach(term -> terms.merge(term, NOTES_WEIGHT, Integer::sum));
+        return terms;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() > 1) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,48 @@
+package com.jobtracker.service;
+
+import com.jobtracker.config.ReadWriteRoutingDataSource;
+import com.jobtracker.config.ShardFanOut;
+import com.jobtracker.config.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bulk-loads {@link JobSearchIndex} from the jobs table of every shard once the application is ready,
+ * after {@link JobSearchIndexSync} has started following the change log.
+ */
+@Component
+public class JobSearchIndexLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobSearchIndexLoader.class);
+
+    private final JobService jobService;
+    private final JobSearchIndex searchIndex;
+    private final JobSearchIndexSync searchIndexSync;
+    private final ShardFanOut shardFanOut;
+
+    @Autowired
+    public JobSearchIndexLoader(JobService jobService, JobSearchIndex searchIndex, JobSearchIndexSync searchIndexSync,
+                                ShardFanOut shardFanOut) {
+        this.jobService = jobService;
+        this.searchIndex = searchIndex;
+        this.searchIndexSync = searchIndexSync;
+        this.shardFanOut = shardFanOut;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        searchIndexSync.start();
+        // Every tenant from every shard, and from the primary, so jobs written while a replica
+        // lags are not missing from the index
+        long count = TenantContext.callAs(TenantContext.ALL_TENANTS, () -> shardFanOut.read(
+                        () -> ReadWriteRoutingDataSource.onPrimary(() -> jobService.exportJobs(searchIndex::load))))
+                .stream().mapToLong(Long::longValue).sum();
+        searchIndex.markLoaded();
+        logger.info("Search index loaded with {} jobs in {} ms", count, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,112 @@
+package com.jobtracker.service;
+
+import com.jobtracker.config.ReadWriteRoutingDataSource;
+import com.jobtracker.config.ShardFanOut;
+import com.jobtracker.config.TenantContext;
+import com.jobtracker.model.Job;
+import com.jobtracker.repository.JobChangeRepository;
+import com.jobtracker.repository.JobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps {@link JobSearchIndex} current with the writes of other instances, which
+ * only reach it through the change log: every poll re-reads the jobs other
+ * instances changed and re-indexes them, or removes the ones that are gone. Like
+ * {@link JobCacheSync}, each poll stops at the first missing sequence number
+ * until it has been missing for the gap timeout.
+ *
+ * Following starts at the head of each shard's log just before
+ * {@link JobSearchIndexLoader} reads the jobs, so no change falls between the
+ * bulk load and the first poll; changes re-indexed while the load runs are
+ * queued by the index like its other writes.
+ */
+@Component
+public class JobSearchIndexSync {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobSearchIndexSync.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JobChangeRepository jobChangeRepository;
+    private final JobRepository jobRepository;
+    private final JobSearchIndex searchIndex;
+    private final ShardFanOut shardFanOut;
+    private final Duration gapTimeout;
+    // Sequence number followed so far, one per shard; null until the bulk load starts
+    private List<Long> positions;
+
+    @Autowired
+    public JobSearchIndexSync(JobChangeRepository jobChangeRepository, JobRepository jobRepository,
+                              JobSearchIndex searchIndex, ShardFanOut shardFanOut,
+                              @Value("${jobtracker.changes.gap-timeout:10s}") Duration gapTimeout) {
+        this.jobChangeRepository = jobChangeRepository;
+        this.jobRepository = jobRepository;
+        this.searchIndex = searchIndex;
+        this.shardFanOut = shardFanOut;
+        this.gapTimeout = gapTimeout;
+    }
+
+    // Starts following each shard's log at its current head; called before the bulk load reads the jobs
+    synchronized void start() {
+        List<Long> heads = new ArrayList<>();
+        shardFanOut.forEachShard(() -> ReadWriteRoutingDataSource.onPrimary(() -> {
+            Long max = jobChangeRepository.findMaxSeq();
+            heads.add(max != null ? max : 0L);
+            return null;
+        }));
+        positions = heads;
+    }
+
+    @Scheduled(fixedDelayString = "${jobtracker.search.sync-interval:PT1S}")
+    public synchronized void poll() {
+        if (positions == null) {
+            return;
+        }
+        int[] shard = {0};
+        shardFanOut.forEachShard(() -> {
+            // The primary, since a replica may not have the change yet
+            ReadWriteRoutingDataSource.onPrimary(() -> {
+                positions.set(shard[0], sync(positions.get(shard[0])));
+                return null;
+            });
+            shard[0]++;
+        });
+    }
+
+    // Re-indexes the jobs changed by other instances after the given sequence number and returns the new position
+    private long sync(long position) {
+        Long max = jobChangeRepository.findMaxSeq();
+        if (max == null || max <= position) {
+            return position;
+        }
+        long through = jobChangeRepository.findVisibleThrough(position, max, gapTimeout);
+        long after = position;
+        int count = 0;
+        List<long[]> changes;
+        while (!(changes = jobChangeRepository.findFromOtherOrigins(after, through, BATCH_SIZE)).isEmpty()) {
+            Set<Long> ids = new LinkedHashSet<>();
+            for (long[] change : changes) {
+                ids.add(change[1]);
+            }
+            List<Job> jobs = TenantContext.callAs(TenantContext.ALL_TENANTS, () -> jobRepository.findAllById(ids));
+            searchIndex.refresh(ids, jobs);
+            count += ids.size();
+            after = changes.get(changes.size() - 1)[0];
+        }
+        if (count > 0) {
+            logger.debug("Re-indexed {} jobs changed by other instances", count);
+        }
+        return through;
+    }
+}
@@ -1,49 +1,114 @@
 package com.jobtracker.service;
 
+import com.jobtracker.model.BatchItemResult;
+import com.jobtracker.model.ChangeFeed;
+import com.jobtracker.model.CollectionVersion;
+import com.jobtracker.model.CursorPage;
 import com.jobtracker.model.Job;
+import com.jobtracker.model.JobPatch;
 import com.jobtracker.model.JobStatus;
+import com.jobtracker.model.JobSummary;
+import com.jobtracker.model.StatusPeriod;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface JobService {
     
     // Create a new job
     Job createJob(Job job);
     
-    // Get all jobs
-    List<Job> getAllJobs();
+    // Get a page of all jobs, resuming after the given cursor (null for the first page);
+    // working for all tenants, pages are merged from every shard
+    CursorPage<Job> getAllJobs(String cursor, int limit);
     
     // Get job by ID
     Optional<Job> getJobById(Long id);
     
+    // Statuses the job went through, oldest first; empty if the job does not exist
+    Optional<List<StatusPeriod>> getStatusTimeline(Long id);
+    
     // Update existing job
     Job updateJob(Long id, Job jobDetails);
     
+    // Update existing job if it is still at the expected version; null expects any version
+    Job updateJob(Long id, Job jobDetails, Long expectedVersion);
+    
+    // Apply the properties present in the patch with a single UPDATE; null expects any version
+    Job patchJob(Long id, JobPatch patch, Long expectedVersion);
+    
     // Delete job by ID
     void deleteJob(Long id);
     
-    // Get jobs by status
-    List<Job> getJobsByStatus(JobStatus status);
+    // Get a page of jobs by status
+    CursorPage<Job> getJobsByStatus(JobStatus status, String cursor, int limit);
     
-    // Get jobs by company
-    List<Job> getJobsByCompany(String company);
+    // Get a page of jobs by company
+    CursorPage<Job> getJobsByCompany(String company, String cursor, int limit);
     
-    // Search jobs by position keyword
-    List<Job> searchJobsByPosition(String keyword);
+    // Search a page of jobs by position keyword
+    CursorPage<Job> searchJobsByPosition(String keyword, String cursor, int limit);
     
-    // Get jobs by company and status
-    List<Job> getJobsByCompanyAndStatus(String company, JobStatus status);
+    // Get a page of notes-free summaries of the jobs of a company with a status
+    CursorPage<JobSummary> getJobsByCompanyAndStatus(String company, JobStatus status, String cursor, int limit);
     
-    // Search jobs by notes content
-    List<Job> searchJobsByNotes(String keyword);
+    // Search a page of jobs by notes content
+    CursorPage<Job> searchJobsByNotes(String keyword, String cursor, int limit);
+    
+    // Full-text search over position and notes, best matches first
+    List<Job> searchJobs(String query, JobSearchIndex.Mode mode, int limit);
     
     // Get job statistics by status
     long getJobCountByStatus(JobStatus status);
     
-    // Get jobs ordered by creation date
-    List<Job> getJobsOrderedByDate();
+    // Get job statistics for every status
+    Map<JobStatus, Long> getJobCountsByStatus();
+    
+    // Fingerprint of all jobs, for conditional requests on listings over the whole table
+    CollectionVersion getAllJobsVersion();
+    
+    // Fingerprint of the jobs with the given status
+    CollectionVersion getJobsByStatusVersion(JobStatus status);
+    
+    // Fingerprint of the jobs of the given company (case insensitive)
+    CollectionVersion getJobsByCompanyVersion(String company);
+    
+    // Get a page of jobs ordered by creation date (newest first)
+    CursorPage<Job> getJobsOrderedByDate(String cursor, int limit);
+    
+    // Get a page of jobs ordered by company name
+    CursorPage<Job> getJobsOrderedByCompany(String cursor, int limit);
+    
+    // Notes-free summaries of the same pages as the listings above; notes are never read
+    
+    CursorPage<JobSummary> getAllJobSummaries(String cursor, int limit);
+    
+    CursorPage<JobSummary> getJobSummariesByStatus(JobStatus status, String cursor, int limit);
+    
+    CursorPage<JobSummary> getJobSummariesByCompany(String company, String cursor, int limit);
+    
+    CursorPage<JobSummary> searchJobSummariesByPosition(String keyword, String cursor, int limit);
+    
+    CursorPage<JobSummary> searchJobSummariesByNotes(String keyword, String cursor, int limit);
+    
+    CursorPage<JobSummary> getJobSummariesOrderedByDate(String cursor, int limit);
+    
+    CursorPage<JobSummary> getJobSummariesOrderedByCompany(String cursor, int limit);
+    
+    // Stream every job to the sink in id order without holding them in memory; returns the number exported
+    long exportJobs(Consumer<Job> sink);
+    
+    // Changes after the given token, oldest first; without a token, no changes and the token of the current head
+    ChangeFeed getChanges(String since, int limit);
+    
+    // Create many jobs in chunked JDBC batches; returns one result per input item
+    List<BatchItemResult> createJobs(List<Job> jobs);
+    
+    // Update many jobs by id in chunked JDBC batches; returns one result per input item
+    List<BatchItemResult> updateJobs(List<Job> jobs);
     
-    // Get jobs ordered by company name
-    List<Job> getJobsOrderedByCompany();
+    // Delete many jobs by id in chunked JDBC batches; returns one result per input id
+    List<BatchItemResult> deleteJobs(List<Long> ids);
 }
@@ -1,48 +1,153 @@
 package com.jobtracker.service;
 
+import com.jobtracker.config.ShardFanOut;
+import com.jobtracker.model.BatchItemResult;
+import com.jobtracker.model.BatchItemResult.Outcome;
+import com.jobtracker.model.ChangeFeed;
+import com.jobtracker.model.CollectionVersion;
+import com.jobtracker.model.CursorPage;
 import com.jobtracker.model.Job;
+import com.jobtracker.model.JobChange;
+import com.jobtracker.model.JobPatch;
 import com.jobtracker.model.JobStatus;
+import com.jobtracker.model.JobSummary;
+import com.jobtracker.model.StatusPeriod;
+import com.jobtracker.repository.JobBatchRepository;
+import com.jobtracker.repository.JobChangeRepository;
 import com.jobtracker.repository.JobRepository;
+import com.jobtracker.repository.JobStatusEventRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class JobServiceImpl implements JobService {
     
     private static final Logger logger = LoggerFactory.getLogger(JobServiceImpl.class);
     
+    // Upper bound on page size so that a single request can never load the whole table
+    static final int MAX_PAGE_SIZE = 500;
+    
+    // Upper bound on ranked search results
+    static final int MAX_SEARCH_RESULTS = 100;
+    
+    private static final Sort BY_ID = Sort.by(Sort.Direction.ASC, "id");
+    private static final Sort BY_DATE = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+    private static final Sort BY_COMPANY = Sort.by(Sort.Direction.ASC, "company", "id");
+    
     private final JobRepository jobRepository;
+    private final JobBatchRepository jobBatchRepository;
+    private final JobChangeRepository jobChangeRepository;
+    private final JobStatusEventRepository statusEventRepository;
+    private final JobCache jobCache;
+    private final JobStatusCounters statusCounters;
+    private final JobSearchIndex searchIndex;
+    private final ShardFanOut shardFanOut;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchChunkSize;
+    private final int batchMaxItems;
+    private final Duration changeGapTimeout;
     
     @Autowired
-    public JobServiceImpl(JobRepository jobRepository) {
+    public JobServiceImpl(JobRepository jobRepository,
+                          JobBatchRepository jobBatchRepository,
+                          JobChangeRepository jobChangeRepository,
+                          JobStatusEventRepository statusEventRepository,
+                          JobCache jobCache,
+                          JobStatusCounters statusCounters,
+                          JobSearchIndex searchIndex,
+                          ShardFanOut shardFanOut,
+                          EntityManager entityManager,
+                          Validator validator,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${jobtracker.batch.chunk-size:500}") int batchChunkSize,
+                          @Value("${jobtracker.batch.max-items:10000}") int batchMaxItems,
+                          @Value("${jobtracker.changes.gap-timeout:10s}") Duration changeGapTimeout) {
         this.jobRepository = jobRepository;
+        this.jobBatchRepository = jobBatchRepository;
+        this.jobChangeRepository = jobChangeRepository;
+        this.statusEventRepository = statusEventRepository;
+        this.jobCache = jobCache;
+        this.statusCounters = statusCounters;
+        this.searchIndex = searchIndex;
+        this.shardFanOut = shardFanOut;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchChunkSize = batchChunkSize;
+        this.batchMaxItems = batchMaxItems;
+        this.changeGapTimeout = changeGapTimeout;
     }
     
     @Override
+    @Transactional
     public Job createJob(Job job) {
         logger.debug("Creating new job: {}", job);
         Job savedJob = jobRepository.save(job);
+        jobCache.invalidate(savedJob.getId(), savedJob.getStatus(), savedJob.getCompany());
+        statusCounters.created(savedJob.getStatus());
+        searchIndex.index(savedJob);
+        jobChangeRepository.record(savedJob.getId(), JobChange.Type.CREATED);
+        statusEventRepository.record(savedJob.getId(), savedJob.getStatus());
         logger.info("Job created successfully with ID: {}", savedJob.getId());
         return savedJob;
     }
     
+    // The listings of all jobs run in one read-only transaction per shard and are merged here,
+    // so they accept working for all tenants
     @Override
-    public List<Job> getAllJobs() {
-        logger.debug("Fetching all jobs");
-        List<Job> jobs = jobRepository.findAll();
-        logger.info("Retrieved {} jobs", jobs.size());
-        return jobs;
+    @Coalesced
+    public CursorPage<Job> getAllJobs(String cursor, int limit) {
+        logger.debug("Fetching page of all jobs after cursor: {}", cursor);
+        long afterId = afterId(cursor);
+        PageRequest pageRequest = pageOf(limit, BY_ID);
+        List<Job> rows = mergeById(shardFanOut.read(() -> jobRepository.findByIdGreaterThan(afterId, pageRequest)),
+                Job::getId, limit);
+        CursorPage<Job> page = toPage(rows, limit, job -> PageCursor.of(job.getId()));
+        logger.info("Retrieved {} jobs", page.getItems().size());
+        return page;
     }
     
+    // Cache-fronted reads run without a transaction so that hits never open one; JobCache
+    // loads misses from the primary
     @Override
     public Optional<Job> getJobById(Long id) {
         logger.debug("Fetching job with ID: {}", id);
-        Optional<Job> job = jobRepository.findById(id);
+        Optional<Job> job = jobCache.getJob(id, jobRepository::findById);
         if (job.isPresent()) {
             logger.info("Job found with ID: {}", id);
         } else {
@@ -52,17 +157,49 @@ public class JobServiceImpl implements JobService {
     }
     
     @Override
+    @Transactional(readOnly = true)
+    public Optional<List<StatusPeriod>> getStatusTimeline(Long id) {
+        logger.debug("Fetching status timeline for job with ID: {}", id);
+        if (!jobRepository.existsById(id)) {
+            logger.warn("Job not found with ID: {}", id);
+            return Optional.empty();
+        }
+        return Optional.of(statusEventRepository.findTimeline(id));
+    }
+    
+    @Override
+    @Transactional
     public Job updateJob(Long id, Job jobDetails) {
+        return updateJob(id, jobDetails, null);
+    }
+    
+    // A writer that commits between the read and the flush makes Hibernate's versioned
+    // UPDATE match no row, which fails the commit instead of losing that writer's change
+    @Override
+    @Transactional
+    public Job updateJob(Long id, Job jobDetails, Long expectedVersion) {
         logger.debug("Updating job with ID: {}", id);
         
         return jobRepository.findById(id)
                 .map(existingJob -> {
+                    if (expectedVersion != null && !expectedVersion.equals(existingJob.getVersion())) {
+                        throw new JobVersionConflictException(id, expectedVersion);
+                    }
+                    JobStatus previousStatus = existingJob.getStatus();
+                    jobCache.invalidate(id, previousStatus, existingJob.getCompany());
                     existingJob.setCompany(jobDetails.getCompany());
                     existingJob.setPosition(jobDetails.getPosition());
                     existingJob.setStatus(jobDetails.getStatus());
                     existingJob.setNotes(jobDetails.getNotes());
                     
                     Job updatedJob = jobRepository.save(existingJob);
+                    jobCache.invalidate(id, updatedJob.getStatus(), updatedJob.getCompany());
+                    statusCounters.changed(previousStatus, updatedJob.getStatus());
+                    searchIndex.index(updatedJob);
+                    jobChangeRepository.record(id, JobChange.Type.UPDATED);
+                    if (updatedJob.getStatus() != previousStatus) {
+                        statusEventRepository.record(id, updatedJob.getStatus());
+                    }
                     logger.info("Job updated successfully with ID: {}", id);
                     return updatedJob;
                 })
@@ -72,80 +209,613 @@ public class JobServiceImpl implements JobService {
                 });
     }
     
+    // Patches that leave status and company alone are written blind; the others need the
+    // previous values for the counters and caches, so they read them first and guard the
+    // UPDATE on the version they read
+    @Override
+    @Transactional
+    public Job patchJob(Long id, JobPatch patch, Long expectedVersion) {
+        logger.debug("Patching job with ID: {}", id);
+        String error = patch.getError();
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        Job previous = null;
+        Long guard = expectedVersion;
+        if (patch.has("status") || patch.has("company")) {
+            previous = jobBatchRepository.findCurrentByIds(List.of(id)).get(id);
+            if (previous == null) {
+                logger.error("Job not found with ID: {}", id);
+                throw new RuntimeException("Job not found with id: " + id);
+            }
+            if (guard != null && !guard.equals(previous.getVersion())) {
+                throw new JobVersionConflictException(id, guard);
+            }
+            guard = previous.getVersion();
+        }
+        if (jobBatchRepository.patch(id, patch, guard) == 0) {
+            if (guard != null && jobRepository.existsById(id)) {
+                throw new JobVersionConflictException(id, guard);
+            }
+            logger.error("Job not found with ID: {}", id);
+            throw new RuntimeException("Job not found with id: " + id);
+        }
+        
+        Job patchedJob = jobRepository.findById(id).orElseThrow();
+        if (previous == null) {
+            previous = patchedJob;
+        }
+        jobCache.invalidate(id, previous.getStatus(), previous.getCompany());
+        jobCache.invalidate(id, patchedJob.getStatus(), patchedJob.getCompany());
+        statusCounters.changed(previous.getStatus(), patchedJob.getStatus());
+        searchIndex.index(patchedJob);
+        jobChangeRepository.record(id, JobChange.Type.UPDATED);
+        if (patchedJob.getStatus() != previous.getStatus()) {
+            statusEventRepository.record(id, patchedJob.getStatus());
+        }
+        logger.info("Job patched successfully with ID: {}", id);
+        return patchedJob;
+    }
+    
+    // A single UPDATE stamps the row, guarded so that concurrent deletes count once; the
+    // tombstone is then read by primary key for the bookkeeping. JobPurger removes it later.
     @Override
+    @Transactional
     public void deleteJob(Long id) {
         logger.debug("Deleting job with ID: {}", id);
         
-        if (jobRepository.existsById(id)) {
-            jobRepository.deleteById(id);
-            logger.info("Job deleted successfully with ID: {}", id);
-        } else {
+        if (jobBatchRepository.delete(id) == 0) {
             logger.error("Job not found with ID: {}", id);
             throw new RuntimeException("Job not found with id: " + id);
         }
+        Job deletedJob = jobBatchRepository.findIncludingDeleted(id);
+        jobCache.invalidate(id, deletedJob.getStatus(), deletedJob.getCompany());
+        statusCounters.deleted(deletedJob.getStatus());
+        searchIndex.remove(id);
+        jobChangeRepository.record(id, JobChange.Type.DELETED);
+        logger.info("Job deleted successfully with ID: {}", id);
     }
     
     @Override
-    public List<Job> getJobsByStatus(JobStatus status) {
+    @Coalesced
+    public CursorPage<Job> getJobsByStatus(JobStatus status, String cursor, int limit) {
         logger.debug("Fetching jobs with status: {}", status);
-        List<Job> jobs = jobRepository.findByStatus(status);
-        logger.info("Retrieved {} jobs with status: {}", jobs.size(), status);
-        return jobs;
+        CursorPage<Job> page = jobCache.getStatusPage(status, cursor, limit, () -> {
+            List<Job> rows = jobRepository.findByStatusAndIdGreaterThan(status, afterId(cursor), pageOf(limit, BY_ID));
+            return toPage(rows, limit, job -> PageCursor.of(job.getId()));
+        });
+        logger.info("Retrieved {} jobs with status: {}", page.getItems().size(), status);
+        return page;
     }
     
     @Override
-    public List<Job> getJobsByCompany(String company) {
+    @Coalesced
+    public CursorPage<Job> getJobsByCompany(String company, String cursor, int limit) {
         logger.debug("Fetching jobs for company: {}", company);
-        List<Job> jobs = jobRepository.findByCompanyIgnoreCase(company);
-        logger.info("Retrieved {} jobs for company: {}", jobs.size(), company);
-        return jobs;
+        CursorPage<Job> page = jobCache.getCompanyPage(company, cursor, limit, () -> {
+            List<Job> rows = jobRepository.findByCompanyLcAndIdGreaterThan(
+                    Job.normalizeCompany(company), afterId(cursor), pageOf(limit, BY_ID));
+            return toPage(rows, limit, job -> PageCursor.of(job.getId()));
+        });
+        logger.info("Retrieved {} jobs for company: {}", page.getItems().size(), company);
+        return page;
     }
     
     @Override
-    public List<Job> searchJobsByPosition(String keyword) {
+    @Coalesced
+    @Transactional(readOnly = true)
+    public CursorPage<Job> searchJobsByPosition(String keyword, String cursor, int limit) {
         logger.debug("Searching jobs by position keyword: {}", keyword);
-        List<Job> jobs = jobRepository.findByPositionContainingIgnoreCase(keyword);
-        logger.info("Retrieved {} jobs matching position keyword: {}", jobs.size(), keyword);
-        return jobs;
+        List<Job> rows = jobRepository.findByPositionContainingIgnoreCaseAndIdGreaterThan(keyword, afterId(cursor), pageOf(limit, BY_ID));
+        CursorPage<Job> page = toPage(rows, limit, job -> PageCursor.of(job.getId()));
+        logger.info("Retrieved {} jobs matching position keyword: {}", page.getItems().size(), keyword);
+        return page;
     }
     
     @Override
-    public List<Job> getJobsByCompanyAndStatus(String company, JobStatus status) {
+    @Coalesced
+    @Transactional(readOnly = true)
+    public CursorPage<JobSummary> getJobsByCompanyAndStatus(String company, JobStatus status, String cursor, int limit) {
         logger.debug("Fetching jobs for company: {} with status: {}", company, status);
-        List<Job> jobs = jobRepository.findByCompanyIgnoreCaseAndStatus(company, status);
-        logger.info("Retrieved {} jobs for company: {} with status: {}", jobs.size(), company, status);
-        return jobs;
+        List<JobSummary> rows = jobRepository.findSummariesByCompanyLcAndStatusAndIdGreaterThan(
+                Job.normalizeCompany(company), status, afterId(cursor), pageOf(limit, BY_ID));
+        CursorPage<JobSummary> page = toPage(rows, limit, summary -> PageCursor.of(summary.getId()));
+        logger.info("Retrieved {} jobs for company: {} with status: {}", page.getItems().size(), company, status);
+        return page;
     }
     
     @Override
-    public List<Job> searchJobsByNotes(String keyword) {
+    @Coalesced
+    @Transactional(readOnly = true)
+    public CursorPage<Job> searchJobsByNotes(String keyword, String cursor, int limit) {
         logger.debug("Searching jobs by notes keyword: {}", keyword);
-        List<Job> jobs = jobRepository.findJobsWithNotesContaining(keyword);
-        logger.info("Retrieved {} jobs matching notes keyword: {}", jobs.size(), keyword);
+        List<Job> rows = jobRepository.findJobsWithNotesContaining(keyword, afterId(cursor), pageOf(limit, BY_ID));
+        CursorPage<Job> page = toPage(rows, limit, job -> PageCursor.of(job.getId()));
+        logger.info("Retrieved {} jobs matching notes keyword: {}", page.getItems().size(), keyword);
+        return page;
+    }
+    
+    @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public List<Job> searchJobs(String query, JobSearchIndex.Mode mode, int limit) {
+        logger.debug("Searching jobs for query: {} ({})", query, mode);
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        List<Long> ids = searchIndex.search(query, mode, limit);
+        Map<Long, Job> jobsById = new HashMap<>();
+        jobRepository.findAllById(ids).forEach(job -> jobsById.put(job.getId(), job));
+        // Keep the ranking; skip ids deleted since the index was consulted
+        List<Job> jobs = ids.stream().map(jobsById::get).filter(Objects::nonNull).toList();
+        logger.info("Retrieved {} jobs matching query: {}", jobs.size(), query);
         return jobs;
     }
     
     @Override
     public long getJobCountByStatus(JobStatus status) {
         logger.debug("Counting jobs with status: {}", status);
-        long count = jobRepository.countByStatus(status);
+        long count = statusCounters.isSeeded() ? statusCounters.get(status) : jobRepository.countByStatus(status);
         logger.info("Found {} jobs with status: {}", count, status);
         return count;
     }
     
     @Override
-    public List<Job> getJobsOrderedByDate() {
-        logger.debug("Fetching jobs ordered by creation date");
-        List<Job> jobs = jobRepository.findAllByOrderByCreatedAtDesc();
-        logger.info("Retrieved {} jobs ordered by date", jobs.size());
-        return jobs;
+    public Map<JobStatus, Long> getJobCountsByStatus() {
+        logger.debug("Counting jobs for every status");
+        if (statusCounters.isSeeded()) {
+            return statusCounters.snapshot();
+        }
+        Map<JobStatus, Long> counts = new EnumMap<>(JobStatus.class);
+        for (JobStatus status : JobStatus.values()) {
+            counts.put(status, 0L);
+        }
+        shardFanOut.read(jobRepository::countGroupedByStatus).forEach(rows ->
+                rows.forEach(row -> counts.merge(row.getStatus(), row.getCount(), Long::sum)));
+        return counts;
     }
     
     @Override
-    public List<Job> getJobsOrderedByCompany() {
-        logger.debug("Fetching jobs ordered by company name");
-        List<Job> jobs = jobRepository.findAllByOrderByCompanyAsc();
-        logger.info("Retrieved {} jobs ordered by company", jobs.size());
-        return jobs;
+    public CollectionVersion getAllJobsVersion() {
+        return jobCache.getAllVersion(() -> shardFanOut.read(jobRepository::findCollectionVersion).stream()
+                .reduce(JobServiceImpl::combine)
+                .orElseThrow());
+    }
+    
+    // Fingerprint of the union of two disjoint sets of jobs
+    private static CollectionVersion combine(CollectionVersion a, CollectionVersion b) {
+        LocalDateTime lastUpdated = a.getLastUpdated() == null
+                || (b.getLastUpdated() != null && b.getLastUpdated().isAfter(a.getLastUpdated()))
+                ? b.getLastUpdated() : a.getLastUpdated();
+        return new CollectionVersion(a.getCount() + b.getCount(), lastUpdated);
+    }
+    
+    @Override
+    public CollectionVersion getJobsByStatusVersion(JobStatus status) {
+        return jobCache.getStatusVersion(status, () -> jobRepository.findCollectionVersionByStatus(status));
+    }
+    
+    @Override
+    public CollectionVersion getJobsByCompanyVersion(String company) {
+        return jobCache.getCompanyVersion(company,
+                () -> jobRepository.findCollectionVersionByCompanyLc(Job.normalizeCompany(company)));
+    }
+    
+    @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public CursorPage<Job> getJobsOrderedByDate(String cursor, int limit) {
+        logger.debug("Fetching jobs ordered by creation date after cursor: {}", cursor);
+        PageRequest pageRequest = pageOf(limit, BY_DATE);
+        List<Job> rows;
+        if (cursor == null) {
+            rows = jobRepository.findAllBy(pageRequest);
+        } else {
+            PageCursor position = keyedCursor(cursor);
+            LocalDateTime createdAt = parseCreatedAt(position);
+            rows = jobRepository.findByCreatedAtLessThanOrCreatedAtAndIdLessThan(
+                    createdAt, createdAt, position.getId(), pageRequest);
+        }
+        CursorPage<Job> page = toPage(rows, limit, job -> PageCursor.of(job.getId(), job.getCreatedAt().toString()));
+        logger.info("Retrieved {} jobs ordered by date", page.getItems().size());
+        return page;
+    }
+    
+    @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public CursorPage<Job> getJobsOrderedByCompany(String cursor, int limit) {
+        logger.debug("Fetching jobs ordered by company name after cursor: {}", cursor);
+        PageRequest pageRequest = pageOf(limit, BY_COMPANY);
+        List<Job> rows;
+        if (cursor == null) {
+            rows = jobRepository.findAllBy(pageRequest);
+        } else {
+            PageCursor position = keyedCursor(cursor);
+            rows = jobRepository.findByCompanyGreaterThanOrCompanyAndIdGreaterThan(
+                    position.getKey(), position.getKey(), position.getId(), pageRequest);
+        }
+        CursorPage<Job> page = toPage(rows, limit, job -> PageCursor.of(job.getId(), job.getCompany()));
+        logger.info("Retrieved {} jobs ordered by company", page.getItems().size());
+        return page;
+    }
+    
+    @Override
+    @Coalesced
+    public CursorPage<JobSummary> getAllJobSummaries(String cursor, int limit) {
+        long afterId = afterId(cursor);
+        PageRequest pageRequest = pageOf(limit, BY_ID);
+        List<JobSummary> rows = mergeById(
+                shardFanOut.read(() -> jobRepository.findSummariesByIdGreaterThan(afterId, pageRequest)),
+                JobSummary::getId, limit);
+        return toPage(rows, limit, summary -> PageCursor.of(summary.getId()));
+    }
+    
+    @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public CursorPage<JobSummary> getJobSummariesByStatus(JobStatus status, String cursor, int limit) {
+        List<JobSummary> rows = jobRepository.findSummariesByStatusAndIdGreaterThan(status, afterId(cursor), pageOf(limit, BY_ID));
+        return toPage(rows, limit, summary -> PageCursor.of(summary.getId()));
+    }
+    
+    @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public CursorPage<JobSummary> getJobSummariesByCompany(String company, String cursor, int limit) {
+        List<JobSummary> rows = jobRepository.findSummariesByCompanyLcAndIdGreaterThan(
+                Job.normalizeCompany(company), afterId(cursor), pageOf(limit, BY_ID));
+        return toPage(rows, limit, summary -> PageCursor.of(summary.getId()));
+    }
+    
+    @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public CursorPage<JobSummary> searchJobSummariesByPosition(String keyword, String cursor, int limit) {
+        List<JobSummary> rows = jobRepository.findSummariesByPositionContaining(keyword, afterId(cursor), pageOf(limit, BY_ID));
+        return toPage(rows, limit, summary -> PageCursor.of(summary.getId()));
+    }
+    
+    @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public CursorPage<JobSummary> searchJobSummariesByNotes(String keyword, String cursor, int limit) {
+        List<JobSummary> rows = jobRepository.findSummariesWithNotesContaining(keyword, afterId(cursor), pageOf(limit, BY_ID));
+        return toPage(rows, limit, summary -> PageCursor.of(summary.getId()));
+    }
+    
+    @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public CursorPage<JobSummary> getJobSummariesOrderedByDate(String cursor, int limit) {
+        PageRequest pageRequest = pageOf(limit, BY_DATE);
+        List<JobSummary> rows;
+        if (cursor == null) {
+            rows = jobRepository.findSummariesBy(pageRequest);
+        } else {
+            PageCursor position = keyedCursor(cursor);
+            rows = jobRepository.findSummariesCreatedBefore(parseCreatedAt(position), position.getId(), pageRequest);
+        }
+        return toPage(rows, limit, summary -> PageCursor.of(summary.getId(), summary.getCreatedAt().toString()));
+    }
+    
+    @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public CursorPage<JobSummary> getJobSummariesOrderedByCompany(String cursor, int limit) {
+        PageRequest pageRequest = pageOf(limit, BY_COMPANY);
+        List<JobSummary> rows;
+        if (cursor == null) {
+            rows = jobRepository.findSummariesBy(pageRequest);
+        } else {
+            PageCursor position = keyedCursor(cursor);
+            rows = jobRepository.findSummariesByCompanyAfter(position.getKey(), position.getId(), pageRequest);
+        }
+        return toPage(rows, limit, summary -> PageCursor.of(summary.getId(), summary.getCompany()));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public long exportJobs(Consumer<Job> sink) {
+        logger.debug("Exporting all jobs");
+        long count = 0;
+        try (Stream<Job> jobs = jobRepository.streamAllByOrderByIdAsc()) {
+            for (Job job : (Iterable<Job>) jobs::iterator) {
+                sink.accept(job);
+                // Keep the persistence context from accumulating every row of the export
+                entityManager.detach(job);
+                count++;
+            }
+        }
+        logger.info("Exported {} jobs", count);
+        return count;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public ChangeFeed getChanges(String since, int limit) {
+        logger.debug("Fetching changes since token: {}", since);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (since == null) {
+            Long head = jobChangeRepository.findMaxSeq();
+            return new ChangeFeed(List.of(), PageCursor.of(head != null ? head : 0L).encode(), false);
+        }
+        long afterSeq = PageCursor.decode(since).getId();
+        Long oldest = jobChangeRepository.findMinSeq();
+        if (oldest != null && afterSeq < oldest - 1) {
+            throw new ChangeTokenExpiredException(since);
+        }
+        
+        List<JobChange> rows = jobChangeRepository.findSince(afterSeq, limit + 1);
+        if (!rows.isEmpty()) {
+            // Stop short of a missing sequence number, which may belong to a transaction that has not
+            // committed yet; the client would otherwise move past that change for good
+            long visibleThrough = jobChangeRepository.findVisibleThrough(
+                    afterSeq, rows.get(rows.size() - 1).getSeq(), changeGapTimeout);
+            rows = rows.stream().filter(row -> row.getSeq() <= visibleThrough).toList();
+        }
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+        long lastSeq = rows.isEmpty() ? afterSeq : rows.get(rows.size() - 1).getSeq();
+        
+        // Several changes to one job collapse into the latest, which carries the job as it is now
+        Map<Long, JobChange> latest = new LinkedHashMap<>();
+        for (JobChange row : rows) {
+            latest.remove(row.getJobId());
+            latest.put(row.getJobId(), row);
+        }
+        Map<Long, Job> jobsById = new HashMap<>();
+        jobRepository.findAllById(latest.values().stream()
+                        .filter(change -> change.getType() != JobChange.Type.DELETED)
+                        .map(JobChange::getJobId)
+                        .toList())
+                .forEach(job -> jobsById.put(job.getId(), job));
+        List<JobChange> changes = new ArrayList<>();
+        for (JobChange change : latest.values()) {
+            if (change.getType() == JobChange.Type.DELETED) {
+                changes.add(change);
+            } else if (jobsById.containsKey(change.getJobId())) {
+                changes.add(change.withJob(jobsById.get(change.getJobId())));
+            }
+            // Otherwise the job was deleted after this change and its tombstone follows
+        }
+        logger.info("Retrieved {} changes since token: {}", changes.size(), since);
+        return new ChangeFeed(changes, PageCursor.of(lastSeq).encode(), hasMore);
+    }
+    
+    @Override
+    public List<BatchItemResult> createJobs(List<Job> jobs) {
+        logger.debug("Creating batch of {} jobs", jobs.size());
+        checkBatchSize(jobs.size());
+        BatchItemResult[] results = new BatchItemResult[jobs.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < jobs.size(); i++) {
+            String error = validate(jobs.get(i));
+            if (error != null) {
+                results[i] = BatchItemResult.failed(i, null, Outcome.INVALID, error);
+            } else {
+                valid.add(i);
+            }
+        }
+        
+        writeInChunks(valid, results, index -> null, chunk -> {
+            List<Job> batch = chunk.stream().map(jobs::get).toList();
+            jobBatchRepository.insertAll(batch);
+            for (int index : chunk) {
+                Job job = jobs.get(index);
+                jobCache.invalidate(job.getId(), job.getStatus(), job.getCompany());
+                statusCounters.created(job.getStatus());
+                searchIndex.index(job);
+                results[index] = BatchItemResult.of(index, job.getId(), Outcome.CREATED);
+            }
+            jobChangeRepository.recordAll(batch.stream().map(Job::getId).toList(), JobChange.Type.CREATED);
+            statusEventRepository.recordAll(batch.stream().map(Job::getId).toList(),
+                    batch.stream().map(Job::getStatus).toList());
+        });
+        logger.info("Batch create finished for {} jobs", jobs.size());
+        return Arrays.asList(results);
+    }
+    
+    @Override
+    public List<BatchItemResult> updateJobs(List<Job> jobs) {
+        logger.debug("Updating batch of {} jobs", jobs.size());
+        checkBatchSize(jobs.size());
+        BatchItemResult[] results = new BatchItemResult[jobs.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < jobs.size(); i++) {
+            Job job = jobs.get(i);
+            String error = job.getId() == null ? "id is required" : validate(job);
+            if (error != null) {
+                results[i] = BatchItemResult.failed(i, job.getId(), Outcome.INVALID, error);
+            } else {
+                valid.add(i);
+            }
+        }
+        
+        writeInChunks(valid, results, index -> jobs.get(index).getId(), chunk -> {
+            Map<Long, Job> existing = jobBatchRepository.findCurrentByIds(
+                    chunk.stream().map(index -> jobs.get(index).getId()).collect(Collectors.toSet()));
+            List<Integer> found = new ArrayList<>();
+            for (int index : chunk) {
+                if (existing.containsKey(jobs.get(index).getId())) {
+                    found.add(index);
+                } else {
+                    results[index] = BatchItemResult.of(index, jobs.get(index).getId(), Outcome.NOT_FOUND);
+                }
+            }
+            // Guarded on the versions just read, so the counters and change log below describe the rows
+            // as they were actually replaced
+            int[] counts = jobBatchRepository.updateAll(found.stream().map(jobs::get).toList(),
+                    found.stream().map(index -> existing.get(jobs.get(index).getId()).getVersion()).toList());
+            List<Long> updatedIds = new ArrayList<>();
+            List<Long> movedIds = new ArrayList<>();
+            List<JobStatus> movedTo = new ArrayList<>();
+            for (int k = 0; k < found.size(); k++) {
+                int index = found.get(k);
+                Job job = jobs.get(index);
+                Job previous = existing.get(job.getId());
+                if (counts[k] == 0) {
+                    results[index] = lostRace(index, job.getId(), previous.getVersion());
+                    continue;
+                }
+                jobCache.invalidate(job.getId(), previous.getStatus(), previous.getCompany());
+                jobCache.invalidate(job.getId(), job.getStatus(), job.getCompany());
+                statusCounters.changed(previous.getStatus(), job.getStatus());
+                searchIndex.index(job);
+                updatedIds.add(job.getId());
+                if (job.getStatus() != previous.getStatus()) {
+                    movedIds.add(job.getId());
+                    movedTo.add(job.getStatus());
+                }
+                results[index] = BatchItemResult.of(index, job.getId(), Outcome.UPDATED);
+            }
+            jobChangeRepository.recordAll(updatedIds, JobChange.Type.UPDATED);
+            statusEventRepository.recordAll(movedIds, movedTo);
+        });
+        logger.info("Batch update finished for {} jobs", jobs.size());
+        return Arrays.asList(results);
+    }
+    
+    @Override
+    public List<BatchItemResult> deleteJobs(List<Long> ids) {
+        logger.debug("Deleting batch of {} jobs", ids.size());
+        checkBatchSize(ids.size());
+        BatchItemResult[] results = new BatchItemResult[ids.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null) {
+                results[i] = BatchItemResult.failed(i, null, Outcome.INVALID, "id is required");
+            } else {
+                valid.add(i);
+            }
+        }
+        
+        writeInChunks(valid, results, ids::get, chunk -> {
+            Map<Long, Job> existing = jobBatchRepository.findCurrentByIds(
+                    chunk.stream().map(ids::get).collect(Collectors.toSet()));
+            List<Integer> found = new ArrayList<>();
+            for (int index : chunk) {
+                if (existing.containsKey(ids.get(index))) {
+                    found.add(index);
+                } else {
+                    results[index] = BatchItemResult.of(index, ids.get(index), Outcome.NOT_FOUND);
+                }
+            }
+            int[] counts = jobBatchRepository.deleteAll(found.stream().map(ids::get).toList(),
+                    found.stream().map(index -> existing.get(ids.get(index)).getVersion()).toList());
+            List<Long> deletedIds = new ArrayList<>();
+            for (int k = 0; k < found.size(); k++) {
+                int index = found.get(k);
+                Job previous = existing.get(ids.get(index));
+                if (counts[k] == 0) {
+                    results[index] = lostRace(index, previous.getId(), previous.getVersion());
+                    continue;
+                }
+                jobCache.invalidate(previous.getId(), previous.getStatus(), previous.getCompany());
+                statusCounters.deleted(previous.getStatus());
+                searchIndex.remove(previous.getId());
+                deletedIds.add(previous.getId());
+                results[index] = BatchItemResult.of(index, ids.get(index), Outcome.DELETED);
+            }
+            jobChangeRepository.recordAll(deletedIds, JobChange.Type.DELETED);
+        });
+        logger.info("Batch delete finished for {} jobs", ids.size());
+        return Arrays.asList(results);
+    }
+    
+    // A batch item whose guarded write matched no row: the job was changed since it was read, or deleted
+    private BatchItemResult lostRace(int index, long id, long readVersion) {
+        if (jobRepository.existsById(id)) {
+            return BatchItemResult.failed(index, id, Outcome.CONFLICT,
+                    new JobVersionConflictException(id, readVersion).getMessage());
+        }
+        return BatchItemResult.of(index, id, Outcome.NOT_FOUND);
+    }
+    
+    private void checkBatchSize(int size) {
+        if (size > batchMaxItems) {
+            throw new IllegalArgumentException("A batch may contain at most " + batchMaxItems + " items");
+        }
+    }
+    
+    private String validate(Job job) {
+        if (job == null) {
+            return "item is required";
+        }
+        Set<ConstraintViolation<Job>> violations = validator.validate(job);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+    }
+    
+    // Runs each chunk of item indexes in its own transaction; a failing chunk is
+    // rolled back and reported as FAILED without affecting the other chunks
+    private void writeInChunks(List<Integer> indexes, BatchItemResult[] results,
+                               IntFunction<Long> idOf, Consumer<List<Integer>> chunkWriter) {
+        for (int from = 0; from < indexes.size(); from += batchChunkSize) {
+            List<Integer> chunk = indexes.subList(from, Math.min(from + batchChunkSize, indexes.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> chunkWriter.accept(chunk));
+            } catch (DataAccessException | TransactionException e) {
+                logger.error("Batch chunk of {} items failed", chunk.size(), e);
+                for (int index : chunk) {
+                    results[index] = BatchItemResult.failed(index, idOf.apply(index), Outcome.FAILED,
+                            "Write failed, chunk rolled back");
+                }
+            }
+        }
+    }
+    
+    // Requests one row more than the page size to learn whether another page exists
+    private PageRequest pageOf(int limit, Sort sort) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return PageRequest.of(0, limit + 1, sort);
+    }
+    
+    // Pages read from several shards, merged in id order and cut back to one row more than the page size
+    private static <T> List<T> mergeById(List<List<T>> shards, Function<T, Long> idOf, int limit) {
+        if (shards.size() == 1) {
+            return shards.get(0);
+        }
+        return shards.stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(idOf))
+                .limit(limit + 1L)
+                .toList();
+    }
+    
+    private <T> CursorPage<T> toPage(List<T> rows, int limit, Function<T, PageCursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, limit));
+        return new CursorPage<>(items, cursorOf.apply(items.get(limit - 1)).encode());
+    }
+    
+    private long afterId(String cursor) {
+        return cursor == null ? 0L : PageCursor.decode(cursor).getId();
+    }
+    
+    private PageCursor keyedCursor(String cursor) {
+        PageCursor position = PageCursor.decode(cursor);
+        if (position.getKey() == null) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return position;
+    }
+    
+    private LocalDateTime parseCreatedAt(PageCursor position) {
+        try {
+            return LocalDateTime.parse(position.getKey());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + position.encode(), e);
+        }
     }
 }
@@ -0,0 +1,154 @@
+package com.jobtracker.service;
+
+import com.jobtracker.config.ReadWriteRoutingDataSource;
+import com.jobtracker.config.ShardFanOut;
+import com.jobtracker.config.TenantContext;
+import com.jobtracker.model.JobStatus;
+import com.jobtracker.repository.JobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory job count per tenant and status, seeded from the database at startup
+ * and kept current by the service's write paths after each commit. Reads cover
+ * the current tenant, or the sum over all tenants when working for all of them.
+ *
+ * Writes made by other instances are only picked up by the periodic
+ * reconciliation, which also corrects any drift from failed bookkeeping.
+ * Until the first seeding completes, callers fall back to the database.
+ */
+@Component
+public class JobStatusCounters {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobStatusCounters.class);
+
+    private final JobRepository jobRepository;
+    private final ShardFanOut shardFanOut;
+    private final Map<String, Map<JobStatus, LongAdder>> countersByTenant = new ConcurrentHashMap<>();
+    private volatile boolean seeded;
+
+    @Autowired
+    public JobStatusCounters(JobRepository jobRepository, ShardFanOut shardFanOut) {
+        this.jobRepository = jobRepository;
+        this.shardFanOut = shardFanOut;
+    }
+
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    public long get(JobStatus status) {
+        return snapshot().get(status);
+    }
+
+    public Map<JobStatus, Long> snapshot() {
+        Map<JobStatus, Long> snapshot = zeros();
+        if (TenantContext.isAllTenants()) {
+            countersByTenant.values().forEach(counters -> addTo(snapshot, counters));
+        } else {
+            Map<JobStatus, LongAdder> counters = countersByTenant.get(TenantContext.current());
+            if (counters != null) {
+                addTo(snapshot, counters);
+            }
+        }
+        return snapshot;
+    }
+
+    public void created(JobStatus status) {
+        String tenant = TenantContext.requireTenant();
+        AfterCommit.run(() -> counters(tenant).get(status).increment());
+    }
+
+    public void deleted(JobStatus status) {
+        String tenant = TenantContext.requireTenant();
+        AfterCommit.run(() -> counters(tenant).get(status).decrement());
+    }
+
+    public void changed(JobStatus from, JobStatus to) {
+        if (from != to) {
+            String tenant = TenantContext.requireTenant();
+            AfterCommit.run(() -> {
+                Map<JobStatus, LongAdder> counters = counters(tenant);
+                counters.get(from).decrement();
+                counters.get(to).increment();
+            });
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    /**
+     * Resets each tenant's counters to the database counts, read from every shard.
+     * Deltas applied while the count queries run are carried over, so concurrent
+     * writes are not lost.
+     */
+    @Scheduled(fixedDelayString = "${jobtracker.counters.reconcile-interval:PT5M}",
+               initialDelayString = "${jobtracker.counters.reconcile-interval:PT5M}")
+    public void reconcile() {
+        Map<String, Map<JobStatus, Long>> before = new HashMap<>();
+        countersByTenant.forEach((tenant, counters) -> before.put(tenant, addTo(zeros(), counters)));
+        // Read from the primary: a lagging replica would look like drift and undo recent writes
+        List<List<JobRepository.TenantStatusCount>> shards = TenantContext.callAs(TenantContext.ALL_TENANTS,
+                () -> shardFanOut.read(() -> ReadWriteRoutingDataSource.onPrimary(jobRepository::countGroupedByTenantAndStatus)));
+        Map<String, Map<JobStatus, Long>> actual = new HashMap<>();
+        for (List<JobRepository.TenantStatusCount> rows : shards) {
+            for (JobRepository.TenantStatusCount row : rows) {
+                actual.computeIfAbsent(row.getTenantId(), tenant -> zeros()).merge(row.getStatus(), row.getCount(), Long::sum);
+            }
+        }
+        Set<String> tenants = new HashSet<>(before.keySet());
+        tenants.addAll(actual.keySet());
+        for (String tenant : tenants) {
+            Map<JobStatus, LongAdder> counters = counters(tenant);
+            for (JobStatus status : JobStatus.values()) {
+                long drift = before.getOrDefault(tenant, zeros()).get(status) - actual.getOrDefault(tenant, zeros()).get(status);
+                counters.get(status).add(-drift);
+                if (seeded && drift != 0) {
+                    logger.warn("Corrected {} counter drift of {} for tenant {}", status, drift, tenant);
+                }
+            }
+        }
+        seeded = true;
+        logger.debug("Status counters reconciled for {} tenants", tenants.size());
+    }
+
+    private Map<JobStatus, LongAdder> counters(String tenant) {
+        return countersByTenant.computeIfAbsent(tenant, t -> {
+            Map<JobStatus, LongAdder> counters = new EnumMap<>(JobStatus.class);
+            for (JobStatus status : JobStatus.values()) {
+                counters.put(status, new LongAdder());
+            }
+            return counters;
+        });
+    }
+
+    private static Map<JobStatus, Long> zeros() {
+        Map<JobStatus, Long> counts = new EnumMap<>(JobStatus.class);
+        for (JobStatus status : JobStatus.values()) {
+            counts.put(status, 0L);
+        }
+        return counts;
+    }
+
+    private static Map<JobStatus, Long> addTo(Map<JobStatus, Long> counts, Map<JobStatus, LongAdder> counters) {
+        counters.forEach((status, counter) -> counts.merge(status, counter.sum(), Long::sum));
+        return counts;
+    }
+}
@@ -0,0 +1,15 @@
+package com.jobtracker.service;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * Thrown when a write expected a version of a job that is no longer current: the
+ * job was changed by someone else since the client read it. Extends Spring's
+ * optimistic locking failure so callers handle it like a stale Hibernate update.
+ */
+public class JobVersionConflictException extends OptimisticLockingFailureException {
+
+    public JobVersionConflictException(Long id, long expectedVersion) {
+        super("Job " + id + " is no longer at version " + expectedVersion + ", reload it and retry");
+    }
+}
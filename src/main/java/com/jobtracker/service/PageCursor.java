@@ -0,0 +1,63 @@
+package com.jobtracker.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination.
+ *
+ * A cursor carries the id of the last row of a page and, for listings ordered by
+ * another column, that row's sort key. Clients must treat the encoded form as opaque.
+ */
+public final class PageCursor {
+
+    private static final String VERSION = "v1";
+
+    private final long id;
+    private final String key;
+
+    private PageCursor(long id, String key) {
+        this.id = id;
+        this.key = key;
+    }
+
+    public static PageCursor of(long id) {
+        return new PageCursor(id, null);
+    }
+
+    public static PageCursor of(long id, String key) {
+        return new PageCursor(id, key);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String encode() {
+        String raw = VERSION + "|" + id + (key != null ? "|" + key : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The key goes last so that it may itself contain the separator
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length < 2 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            return new PageCursor(Long.parseLong(parts[1]), parts.length == 3 ? parts[2] : null);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.jobtracker.service;
+
+import com.jobtracker.config.ReadWriteRoutingDataSource;
+import com.jobtracker.config.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-flight for {@link Coalesced} reads: while a call is running, identical
+ * calls wait for it and return its result (or throw its exception) instead of
+ * running their own query. Nothing is kept once the call completes; caching is
+ * {@link JobCache}'s job.
+ *
+ * Calls are identical when they have the same method and arguments, and also
+ * the same tenant, the same pinning to the primary, and the same
+ * {@link JobCache#generation}: a caller never joins a query that started before
+ * a write it has already seen committed. Calls inside a transaction run on
+ * their own, since they may need to see that transaction's writes.
+ *
+ * Ordered outside the transaction advice, so waiting callers hold no
+ * connection, and inside {@code MetricsAspect}, so they are still timed.
+ * Executions and joins are counted in {@code jobtracker.reads.coalesced}.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ReadCoalescingAspect {
+
+    static final String COALESCED = "jobtracker.reads.coalesced";
+
+    private final JobCache jobCache;
+    private final MeterRegistry meterRegistry;
+    private final Map<FlightKey, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+
+    public ReadCoalescingAspect(JobCache jobCache, MeterRegistry meterRegistry) {
+        this.jobCache = jobCache;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("jobtracker.reads.in.flight", flights, Map::size)
+                .description("Coalesced reads currently executing")
+                .register(meterRegistry);
+    }
+
+    @Around("@annotation(com.jobtracker.service.Coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        FlightKey key = new FlightKey(method, Arrays.asList(joinPoint.getArgs()), TenantContext.current(),
+                ReadWriteRoutingDataSource.isPrimaryOnly(), jobCache.generation());
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = flights.putIfAbsent(key, flight);
+        if (running != null) {
+            count(method, "joined");
+            return await(running);
+        }
+        count(method, "executed");
+        try {
+            Object result = joinPoint.proceed();
+            flight.complete(result);
+            return result;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> flight) throws Throwable {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void count(Method method, String outcome) {
+        Counter.builder(COALESCED)
+                .description("Coalesced reads, by whether the call executed or joined a running identical call")
+                .tags("method", method.getName(), "outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private record FlightKey(Method method, List<Object> arguments, String tenant, boolean primaryOnly,
+                             long generation) {
+    }
+}
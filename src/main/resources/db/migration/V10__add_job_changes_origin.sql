@@ -0,0 +1,3 @@
+-- The application instance that recorded each change, so every instance can evict
+-- from its local cache the jobs that other instances changed. Older rows have none.
+ALTER TABLE job_changes ADD COLUMN origin VARCHAR(36);
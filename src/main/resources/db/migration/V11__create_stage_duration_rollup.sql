@@ -0,0 +1,16 @@
+-- Stage durations pair each status event with the next one of the same job, so the
+-- events of a tenant are read in (job, id) order; this also serves a job's timeline
+CREATE INDEX idx_job_status_events_tenant_job_id ON job_status_events (tenant_id, job_id, id);
+ALTER TABLE job_status_events DROP INDEX idx_job_status_events_job_id;
+
+-- Histograms of completed stays per tenant and status, rebuilt with the other rollups.
+-- Buckets are logarithmic (see DurationHistogram); max_millis is the longest stay in
+-- the bucket and is what a percentile falling into it reports.
+CREATE TABLE job_rollup_stage_durations (
+    tenant_id  VARCHAR(64) NOT NULL,
+    status     TINYINT     NOT NULL,
+    bucket     INT         NOT NULL,
+    stays      BIGINT      NOT NULL,
+    max_millis BIGINT      NOT NULL,
+    PRIMARY KEY (tenant_id, status, bucket)
+);
@@ -0,0 +1,12 @@
+-- Baseline: the jobs table as previously created by Hibernate (ddl-auto=update).
+-- Existing databases are baselined at version 1 and skip this script.
+CREATE TABLE IF NOT EXISTS jobs (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    company    VARCHAR(255) NOT NULL,
+    position   VARCHAR(255) NOT NULL,
+    status     ENUM ('APPLIED', 'INTERVIEW', 'OFFER', 'REJECTED') NOT NULL,
+    notes      TEXT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
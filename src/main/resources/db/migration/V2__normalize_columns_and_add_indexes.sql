@@ -0,0 +1,23 @@
+-- Store status as a plain string so new statuses need no ENUM rewrite and the
+-- mapping is identical on every database
+ALTER TABLE jobs MODIFY status VARCHAR(32) NOT NULL;
+
+-- Normalized lowercase company so case-insensitive lookups can use an index
+ALTER TABLE jobs ADD COLUMN company_lc VARCHAR(255);
+UPDATE jobs SET company_lc = LOWER(company);
+ALTER TABLE jobs MODIFY company_lc VARCHAR(255) NOT NULL;
+
+-- findByStatus, countByStatus, keyset pages by status (InnoDB appends the primary key)
+CREATE INDEX idx_jobs_status ON jobs (status);
+
+-- findByCompanyIgnoreCaseAndStatus
+CREATE INDEX idx_jobs_company_lc_status ON jobs (company_lc, status);
+
+-- findByCompanyIgnoreCase and keyset pages by company
+CREATE INDEX idx_jobs_company_lc_id ON jobs (company_lc, id);
+
+-- Ordered by creation date (newest first)
+CREATE INDEX idx_jobs_created_at_id ON jobs (created_at, id);
+
+-- Ordered by company name
+CREATE INDEX idx_jobs_company_id ON jobs (company, id);
@@ -0,0 +1,11 @@
+-- Collection fingerprints for conditional GETs: COUNT(*) and MAX(updated_at) per filter,
+-- answered from the index alone
+
+-- All jobs
+CREATE INDEX idx_jobs_updated_at ON jobs (updated_at);
+
+-- Jobs by status
+CREATE INDEX idx_jobs_status_updated_at ON jobs (status, updated_at);
+
+-- Jobs by company
+CREATE INDEX idx_jobs_company_lc_updated_at ON jobs (company_lc, updated_at);
@@ -0,0 +1,12 @@
+-- Change log behind GET /api/jobs/changes, written in the same transaction as each job write.
+-- seq orders the feed; deletes are recorded as tombstones (change_type = 'DELETED').
+CREATE TABLE job_changes (
+    seq         BIGINT      NOT NULL AUTO_INCREMENT,
+    job_id      BIGINT      NOT NULL,
+    change_type VARCHAR(16) NOT NULL,
+    changed_at  DATETIME(6) NOT NULL,
+    PRIMARY KEY (seq)
+);
+
+-- Retention pruning by age
+CREATE INDEX idx_job_changes_changed_at ON job_changes (changed_at);
@@ -0,0 +1,28 @@
+-- Rollups behind GET /api/jobs/analytics, rebuilt from jobs on a schedule so that
+-- the endpoint reads a few hundred small rows instead of aggregating the jobs table.
+
+-- Jobs per company (grouped by the normalized name) and status
+CREATE TABLE job_rollup_company (
+    company_lc VARCHAR(255) NOT NULL,
+    company    VARCHAR(255) NOT NULL,
+    total      BIGINT       NOT NULL,
+    applied    BIGINT       NOT NULL,
+    interview  BIGINT       NOT NULL,
+    offer      BIGINT       NOT NULL,
+    rejected   BIGINT       NOT NULL,
+    PRIMARY KEY (company_lc)
+);
+
+-- Top-N companies
+CREATE INDEX idx_job_rollup_company_total ON job_rollup_company (total);
+
+-- Jobs per creation day and status; the endpoint folds days into weeks
+CREATE TABLE job_rollup_daily (
+    created_on DATE   NOT NULL,
+    total      BIGINT NOT NULL,
+    applied    BIGINT NOT NULL,
+    interview  BIGINT NOT NULL,
+    offer      BIGINT NOT NULL,
+    rejected   BIGINT NOT NULL,
+    PRIMARY KEY (created_on)
+);
@@ -0,0 +1,21 @@
+-- Append-only history of job status transitions, written in the same transaction as
+-- each job write. Kept compact for large volumes: status is the JobStatus ordinal
+-- and at_millis the epoch milliseconds at which the job entered that status.
+CREATE TABLE job_status_events (
+    id        BIGINT  NOT NULL AUTO_INCREMENT,
+    job_id    BIGINT  NOT NULL,
+    status    TINYINT NOT NULL,
+    at_millis BIGINT  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Timeline of one job
+CREATE INDEX idx_job_status_events_job_id ON job_status_events (job_id, id);
+
+-- Existing jobs start their history in their current status as of their last update
+INSERT INTO job_status_events (job_id, status, at_millis)
+SELECT id,
+       CASE status WHEN 'APPLIED' THEN 0 WHEN 'INTERVIEW' THEN 1 WHEN 'OFFER' THEN 2 ELSE 3 END,
+       UNIX_TIMESTAMP(COALESCE(updated_at, created_at, CURRENT_TIMESTAMP)) * 1000
+FROM jobs
+ORDER BY id;
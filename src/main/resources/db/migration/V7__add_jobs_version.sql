@@ -0,0 +1,3 @@
+-- Optimistic locking: every write to a job increments its version, and writes that
+-- expect a version (Hibernate updates, If-Match, PATCH) only apply when it still matches
+ALTER TABLE jobs ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,6 @@
+-- Soft delete: a delete only stamps deleted_at, every finder skips stamped rows, and
+-- JobPurger hard-deletes them later in small batches
+ALTER TABLE jobs ADD COLUMN deleted_at DATETIME(6);
+
+-- Tombstones due for purging, oldest first
+CREATE INDEX idx_jobs_deleted_at ON jobs (deleted_at);
@@ -0,0 +1,71 @@
+-- Multi-tenancy: every job belongs to a tenant and every finder is scoped to the
+-- caller's tenant, so the indexes lead with tenant_id and a tenant's queries only
+-- touch its own slice of each index. Existing rows belong to the default tenant.
+ALTER TABLE jobs ADD COLUMN tenant_id VARCHAR(64) NOT NULL DEFAULT 'default';
+
+-- All jobs of a tenant, keyset pages by id
+CREATE INDEX idx_jobs_tenant_id ON jobs (tenant_id, id);
+
+-- Keyset pages by status and counts by status
+CREATE INDEX idx_jobs_tenant_status_id ON jobs (tenant_id, status, id);
+
+-- findByCompanyIgnoreCaseAndStatus
+CREATE INDEX idx_jobs_tenant_company_lc_status ON jobs (tenant_id, company_lc, status);
+
+-- findByCompanyIgnoreCase and keyset pages by company
+CREATE INDEX idx_jobs_tenant_company_lc_id ON jobs (tenant_id, company_lc, id);
+
+-- Ordered by creation date (newest first)
+CREATE INDEX idx_jobs_tenant_created_at_id ON jobs (tenant_id, created_at, id);
+
+-- Ordered by company name
+CREATE INDEX idx_jobs_tenant_company_id ON jobs (tenant_id, company, id);
+
+-- Collection fingerprints for conditional GETs
+CREATE INDEX idx_jobs_tenant_updated_at ON jobs (tenant_id, updated_at);
+CREATE INDEX idx_jobs_tenant_status_updated_at ON jobs (tenant_id, status, updated_at);
+CREATE INDEX idx_jobs_tenant_company_lc_updated_at ON jobs (tenant_id, company_lc, updated_at);
+
+-- The unscoped indexes they replace
+ALTER TABLE jobs DROP INDEX idx_jobs_status;
+ALTER TABLE jobs DROP INDEX idx_jobs_company_lc_status;
+ALTER TABLE jobs DROP INDEX idx_jobs_company_lc_id;
+ALTER TABLE jobs DROP INDEX idx_jobs_created_at_id;
+ALTER TABLE jobs DROP INDEX idx_jobs_company_id;
+ALTER TABLE jobs DROP INDEX idx_jobs_updated_at;
+ALTER TABLE jobs DROP INDEX idx_jobs_status_updated_at;
+ALTER TABLE jobs DROP INDEX idx_jobs_company_lc_updated_at;
+
+-- The change feed of a tenant
+ALTER TABLE job_changes ADD COLUMN tenant_id VARCHAR(64) NOT NULL DEFAULT 'default';
+CREATE INDEX idx_job_changes_tenant_seq ON job_changes (tenant_id, seq);
+
+-- Stage durations of a tenant
+ALTER TABLE job_status_events ADD COLUMN tenant_id VARCHAR(64) NOT NULL DEFAULT 'default';
+
+-- Rollups per tenant; they are rebuilt from jobs, so they are recreated empty
+DROP TABLE job_rollup_company;
+CREATE TABLE job_rollup_company (
+    tenant_id  VARCHAR(64)  NOT NULL,
+    company_lc VARCHAR(255) NOT NULL,
+    company    VARCHAR(255) NOT NULL,
+    total      BIGINT       NOT NULL,
+    applied    BIGINT       NOT NULL,
+    interview  BIGINT       NOT NULL,
+    offer      BIGINT       NOT NULL,
+    rejected   BIGINT       NOT NULL,
+    PRIMARY KEY (tenant_id, company_lc)
+);
+CREATE INDEX idx_job_rollup_company_total ON job_rollup_company (tenant_id, total);
+
+DROP TABLE job_rollup_daily;
+CREATE TABLE job_rollup_daily (
+    tenant_id  VARCHAR(64) NOT NULL,
+    created_on DATE        NOT NULL,
+    total      BIGINT      NOT NULL,
+    applied    BIGINT      NOT NULL,
+    interview  BIGINT      NOT NULL,
+    offer      BIGINT      NOT NULL,
+    rejected   BIGINT      NOT NULL,
+    PRIMARY KEY (tenant_id, created_on)
+);
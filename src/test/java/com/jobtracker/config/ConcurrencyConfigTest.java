@@ -0,0 +1,19 @@
+package com.jobtracker.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyConfigTest {
+
+    @Test
+    void testVirtualThreadsProfileRequiresJava21() {
+        // When / Then
+        assertThatThrownBy(() -> ConcurrencyConfig.requireVirtualThreadSupport(true, 17))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Java 17");
+        assertThatCode(() -> ConcurrencyConfig.requireVirtualThreadSupport(true, 21)).doesNotThrowAnyException();
+        assertThatCode(() -> ConcurrencyConfig.requireVirtualThreadSupport(false, 17)).doesNotThrowAnyException();
+    }
+}
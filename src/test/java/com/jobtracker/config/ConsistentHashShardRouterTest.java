@@ -0,0 +1,47 @@
+package com.jobtracker.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsistentHashShardRouterTest {
+
+    private static final List<String> TENANTS = IntStream.range(0, 10_000).mapToObj(i -> "tenant-" + i).toList();
+
+    @Test
+    void testTenantsAreSpreadEvenlyAndStably() {
+        // Given
+        ConsistentHashShardRouter router = new ConsistentHashShardRouter(List.of("shard-0", "shard-1", "shard-2"), 128);
+        ConsistentHashShardRouter sameShards = new ConsistentHashShardRouter(List.of("shard-0", "shard-1", "shard-2"), 128);
+        
+        // When
+        Map<String, Integer> perShard = new HashMap<>();
+        TENANTS.forEach(tenant -> perShard.merge(router.shardFor(tenant), 1, Integer::sum));
+        
+        // Then
+        assertThat(perShard).hasSize(3);
+        assertThat(perShard.values()).allSatisfy(count -> assertThat(count).isBetween(2_500, 4_200));
+        assertThat(TENANTS).allSatisfy(tenant -> assertThat(sameShards.shardFor(tenant)).isEqualTo(router.shardFor(tenant)));
+    }
+
+    @Test
+    void testAddingAShardOnlyMovesTenantsOntoIt() {
+        // Given
+        ConsistentHashShardRouter before = new ConsistentHashShardRouter(List.of("shard-0", "shard-1", "shard-2"), 128);
+        ConsistentHashShardRouter after = new ConsistentHashShardRouter(List.of("shard-0", "shard-1", "shard-2", "shard-3"), 128);
+        
+        // When
+        List<String> moved = TENANTS.stream()
+                .filter(tenant -> !before.shardFor(tenant).equals(after.shardFor(tenant)))
+                .toList();
+        
+        // Then: about a quarter move, all of them to the new shard
+        assertThat(moved.size()).isBetween(1_800, 3_200);
+        assertThat(moved).allSatisfy(tenant -> assertThat(after.shardFor(tenant)).isEqualTo("shard-3"));
+    }
+}
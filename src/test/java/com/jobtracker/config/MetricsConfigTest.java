@@ -0,0 +1,55 @@
+package com.jobtracker.config;
+
+import com.jobtracker.model.Job;
+import com.jobtracker.model.JobStatus;
+import com.jobtracker.service.JobService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=prometheus",
+        "management.metrics.distribution.percentiles.jobtracker.invocations=0.5,0.99"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class MetricsConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JobService jobService;
+
+    @Test
+    void testServiceRepositoryAndQueryMetricsAreScraped() throws Exception {
+        // Given
+        Job google = jobService.createJob(new Job("Google", "Software Engineer", JobStatus.APPLIED, null));
+
+        // When
+        mockMvc.perform(get("/api/jobs/{id}", google.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/jobs").param("limit", "10")).andExpect(status().isOk());
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        assertThat(scrape)
+                .contains("jobtracker_invocations_seconds{exception=\"none\",layer=\"service\",method=\"getAllJobs\",type=\"JobServiceImpl\",quantile=\"0.99\"")
+                .contains("jobtracker_invocations_seconds_count{exception=\"none\",layer=\"repository\",method=\"findByIdGreaterThan\",type=\"JobRepository\"")
+                .contains("jobtracker_invocations_seconds_count{exception=\"none\",layer=\"repository\",method=\"findById\",type=\"JobRepository\"")
+                .contains("jobtracker_result_size_rows_sum{layer=\"service\",method=\"getAllJobs\",type=\"JobServiceImpl\",} 1.0")
+                .contains("jobtracker_http_db_queries_statements_count{method=\"GET\",uri=\"/api/jobs\",} 1.0")
+                .contains("jobtracker_reads_coalesced_total{method=\"getAllJobs\",outcome=\"executed\",} 1.0")
+                .contains("hikaricp_connections_active");
+    }
+}
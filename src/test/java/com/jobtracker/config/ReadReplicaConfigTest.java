@@ -0,0 +1,97 @@
+package com.jobtracker.config;
+
+import com.jobtracker.model.Job;
+import com.jobtracker.model.JobStatus;
+import com.jobtracker.service.JobService;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Two extra H2 databases stand in for replicas; nothing replicates to them, so
+// the rows a read returns show which database served it
+@SpringBootTest(properties = {
+        "jobtracker.datasource.replica-urls=" + ReadReplicaConfigTest.REPLICA_1 + "," + ReadReplicaConfigTest.REPLICA_2,
+        "jobtracker.datasource.read-your-writes-window=5s"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReadReplicaConfigTest {
+
+    static final String REPLICA_1 = "jdbc:h2:mem:replica-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_2 = "jdbc:h2:mem:replica-2;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JobService jobService;
+
+    @BeforeAll
+    static void createReplicas() {
+        for (String url : List.of(REPLICA_1, REPLICA_2)) {
+            DriverManagerDataSource dataSource = new DriverManagerDataSource(url, "sa", "");
+            Flyway.configure().dataSource(dataSource).load().migrate();
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.update("DELETE FROM jobs");
+            jdbcTemplate.update("INSERT INTO jobs (company, company_lc, position, status, created_at, updated_at) "
+                    + "VALUES (?, ?, 'Engineer', 'APPLIED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+                    url.equals(REPLICA_1) ? "Replica One" : "Replica Two",
+                    url.equals(REPLICA_1) ? "replica one" : "replica two");
+        }
+    }
+
+    @Test
+    void testReadOnlyTransactionsAreSpreadOverReplicas() {
+        // Given
+        jobService.createJob(new Job("Primary", "Engineer", JobStatus.APPLIED, null));
+
+        // When
+        List<String> companies = Stream.of(jobService.getAllJobs(null, 10), jobService.getAllJobs(null, 10))
+                .map(page -> page.getItems().get(0).getCompany())
+                .toList();
+
+        // Then
+        assertThat(companies).containsExactlyInAnyOrder("Replica One", "Replica Two");
+    }
+
+    @Test
+    void testClientReadsItsOwnWritesFromPrimary() throws Exception {
+        // Given
+        MvcResult created = mockMvc.perform(post("/api/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"company\":\"Netflix\",\"position\":\"Engineer\",\"status\":\"APPLIED\"}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Cookie lastWrite = created.getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertThat(lastWrite).isNotNull();
+
+        // When / Then
+        mockMvc.perform(get("/api/jobs").cookie(lastWrite))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].company", hasItem("Netflix")));
+        mockMvc.perform(get("/api/jobs"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].company", not(hasItem("Netflix"))));
+    }
+}
@@ -0,0 +1,41 @@
+package com.jobtracker.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@JdbcTest
+@ActiveProfiles("test")
+@Import(SchemaIndexVerifier.class)
+class SchemaIndexVerifierTest {
+
+    @Autowired
+    private SchemaIndexVerifier schemaIndexVerifier;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testMigratedSchemaHasRequiredIndexes() {
+        assertThatCode(() -> schemaIndexVerifier.run(null)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DirtiesContext
+    void testMissingIndexFailsVerification() {
+        // Given
+        jdbcTemplate.execute("DROP INDEX idx_jobs_tenant_created_at_id");
+        
+        // Then
+        assertThatThrownBy(() -> schemaIndexVerifier.run(null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("[tenant_id, created_at, id]");
+    }
+}
@@ -0,0 +1,76 @@
+package com.jobtracker.config;
+
+import com.jobtracker.model.Job;
+import com.jobtracker.model.JobStatus;
+import com.jobtracker.service.JobAnalyticsService;
+import com.jobtracker.service.JobService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// shard-0 is the test's own in-memory database and shard-1 a second one that the
+// test can inspect directly
+@SpringBootTest(properties = "jobtracker.sharding.shard-urls=" + ShardingConfigTest.SHARD_1)
+@ActiveProfiles("test")
+class ShardingConfigTest {
+
+    static final String SHARD_1 = "jdbc:h2:mem:shard-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private JobAnalyticsService analyticsService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Test
+    void testTenantsAreWrittenToTheirShardAndMergedAcrossShards() {
+        // Given
+        String onShard0 = tenantOn("shard-0");
+        String onShard1 = tenantOn("shard-1");
+        
+        // When
+        Job first = TenantContext.callAs(onShard0,
+                () -> jobService.createJob(new Job("Initech", "Engineer", JobStatus.APPLIED, null)));
+        Job second = TenantContext.callAs(onShard1,
+                () -> jobService.createJob(new Job("Globex", "Analyst", JobStatus.OFFER, null)));
+        
+        // Then: each job lives on its tenant's shard, with ids from that shard's range
+        JdbcTemplate shard1 = new JdbcTemplate(new DriverManagerDataSource(SHARD_1, "sa", ""));
+        assertThat(second.getId()).isGreaterThanOrEqualTo(1L << ShardingConfig.ID_RANGE_BITS);
+        assertThat(first.getId()).isLessThan(1L << ShardingConfig.ID_RANGE_BITS);
+        assertThat(shard1.queryForList("SELECT id FROM jobs", Long.class)).contains(second.getId()).doesNotContain(first.getId());
+        assertThat(TenantContext.callAs(onShard0, () -> jobService.getJobById(second.getId()))).isEmpty();
+        assertThat(TenantContext.callAs(onShard1, () -> jobService.getJobById(second.getId()))).isPresent();
+        
+        // Then: working for all tenants reads every shard and merges in id order
+        List<Long> allIds = TenantContext.callAs(TenantContext.ALL_TENANTS,
+                () -> jobService.getAllJobs(null, 500).getItems().stream().map(Job::getId).toList());
+        assertThat(allIds).contains(first.getId(), second.getId()).isSorted();
+        assertThat(TenantContext.callAs(TenantContext.ALL_TENANTS, () -> jobService.getAllJobsVersion().getCount()))
+                .isEqualTo(allIds.size());
+        assertThat(TenantContext.callAs(TenantContext.ALL_TENANTS, () -> jobService.getJobCountsByStatus()))
+                .containsEntry(JobStatus.OFFER, (long) shard1.queryForObject(
+                        "SELECT COUNT(*) FROM jobs WHERE status = 'OFFER' AND deleted_at IS NULL", Integer.class));
+        assertThat(TenantContext.callAs(TenantContext.ALL_TENANTS, () -> analyticsService.getStageDurations()))
+                .containsKey(JobStatus.APPLIED);
+    }
+
+    private String tenantOn(String shard) {
+        return IntStream.range(0, 1000)
+                .mapToObj(i -> "tenant-" + i)
+                .filter(tenant -> shardRouter.shardFor(tenant).equals(shard))
+                .findFirst()
+                .orElseThrow();
+    }
+}
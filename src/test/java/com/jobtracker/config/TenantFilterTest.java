@@ -0,0 +1,37 @@
+package com.jobtracker.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TenantFilterTest {
+
+    @Test
+    void testAllTenantsIsRefusedUnlessEnabled() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/jobs");
+        request.addHeader(TenantFilter.HEADER_NAME, TenantContext.ALL_TENANTS);
+        request.addHeader(TenantFilter.ADMIN_TOKEN_HEADER, "secret");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        new TenantFilter(false, "secret").doFilter(request, response, chain);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(403);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void testEnablingAllTenantsRequiresAnAdminToken() {
+        // When / Then
+        assertThatThrownBy(() -> new TenantFilter(true, " "))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("admin-token");
+    }
+}
@@ -0,0 +1,357 @@
+package com.jobtracker.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.jayway.jsonpath.JsonPath;
+import com.jobtracker.model.Job;
+import com.jobtracker.model.JobStatus;
+import com.jobtracker.repository.JobRepository;
+import com.jobtracker.service.JobChangeBroadcaster;
+import com.jobtracker.service.JobService;
+import com.jobtracker.service.PageCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JobControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobChangeBroadcaster changeBroadcaster;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository.deleteAll();
+    }
+
+    @Test
+    void testGetJobByIdAnswersConditionalRequests() throws Exception {
+        // Given
+        Job job = jobService.createJob(new Job("Google", "Software Engineer", JobStatus.APPLIED, null));
+        String etag = mockMvc.perform(get("/api/jobs/{id}", job.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When / Then: unchanged
+        mockMvc.perform(get("/api/jobs/{id}", job.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // When / Then: updated
+        jobService.updateJob(job.getId(), new Job("Google", "Software Engineer", JobStatus.INTERVIEW, null));
+        String newEtag = mockMvc.perform(get("/api/jobs/{id}", job.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"");
+        assertThat(newEtag).isNotEqualTo(etag);
+    }
+
+    @Test
+    void testJobETagIsSpecificToTheRepresentation() throws Exception {
+        // Given
+        MediaType smile = MediaType.valueOf("application/x-jackson-smile");
+        Job job = jobService.createJob(new Job("Google", "Software Engineer", JobStatus.APPLIED, null));
+        String jsonEtag = mockMvc.perform(get("/api/jobs/{id}", job.getId()))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String smileEtag = mockMvc.perform(get("/api/jobs/{id}", job.getId()).accept(smile))
+                .andExpect(content().contentType(smile))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When / Then: a JSON validator never revalidates a Smile body
+        assertThat(smileEtag).isNotEqualTo(jsonEtag);
+        mockMvc.perform(get("/api/jobs/{id}", job.getId()).accept(smile).header(HttpHeaders.IF_NONE_MATCH, jsonEtag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/jobs/{id}", job.getId()).accept(smile).header(HttpHeaders.IF_NONE_MATCH, smileEtag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+
+        // When / Then: either tag names the same version under If-Match
+        mockMvc.perform(patch("/api/jobs/{id}", job.getId()).header(HttpHeaders.IF_MATCH, smileEtag)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"position\":\"SRE\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + job.getId() + "-1\""));
+    }
+
+    @Test
+    void testListingAnswersConditionalRequestsUntilTheFilterChanges() throws Exception {
+        // Given
+        Job google = jobService.createJob(new Job("Google", "Software Engineer", JobStatus.APPLIED, null));
+        jobService.createJob(new Job("Amazon", "Backend Engineer", JobStatus.APPLIED, null));
+        String etag = mockMvc.perform(get("/api/jobs/status/APPLIED"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When / Then: a write to another status leaves the listing unchanged
+        jobService.createJob(new Job("Microsoft", "Developer", JobStatus.OFFER, null));
+        mockMvc.perform(get("/api/jobs/status/APPLIED").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // When / Then: a delete within the status changes it
+        jobService.deleteJob(google.getId());
+        mockMvc.perform(get("/api/jobs/status/APPLIED").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+        assertThat(etag).startsWith("W/\"");
+    }
+
+    @Test
+    void testListingETagIsSpecificToPageFieldsAndRepresentation() throws Exception {
+        // Given
+        jobService.createJob(new Job("Google", "Software Engineer", JobStatus.APPLIED, null));
+        String etag = mockMvc.perform(get("/api/jobs/status/APPLIED"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When / Then: the same representation is not modified, and says what it varies by
+        mockMvc.perform(get("/api/jobs/status/APPLIED").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)));
+
+        // When / Then: another page size, field selection or media type is a different representation
+        mockMvc.perform(get("/api/jobs/status/APPLIED").param("limit", "10").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/jobs/status/APPLIED").param("fields", "company").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/jobs/status/APPLIED").accept(MediaType.valueOf("application/x-jackson-smile"))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        assertThat(JobController.representation("application/json;q=0.5, application/x-jackson-smile").toString())
+                .isEqualTo("application/x-jackson-smile");
+        assertThat(JobController.representation("*/*")).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void testChangeStreamReplaysAndPushesChanges() throws Exception {
+        // Given
+        String token = jobService.getChanges(null, 1).getToken();
+        Job google = jobService.createJob(new Job("Google", "Software Engineer", JobStatus.APPLIED, null));
+        
+        // When
+        MvcResult stream = mockMvc.perform(get("/api/jobs/changes/stream").param("since", token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // The replay is sent on the broadcaster's sender threads
+        String replayed = awaitEvent(stream, "\"type\":\"CREATED\"");
+        jobService.deleteJob(google.getId());
+        changeBroadcaster.poll();
+        
+        // Then
+        String events = awaitEvent(stream, "\"type\":\"DELETED\"");
+        assertThat(replayed).contains("event:change").contains("\"jobId\":" + google.getId());
+        assertThat(events).contains("event:change").contains("\"type\":\"CREATED\"").contains("\"type\":\"DELETED\"");
+        stream.getRequest().getAsyncContext().complete();
+    }
+
+    private String awaitEvent(MvcResult stream, String text) throws Exception {
+        String events = stream.getResponse().getContentAsString();
+        for (int i = 0; i < 100 && !events.contains(text); i++) {
+            Thread.sleep(50);
+            events = stream.getResponse().getContentAsString();
+        }
+        return events;
+    }
+
+    @Test
+    void testExpiredChangeTokenIsGone() throws Exception {
+        // Given: a token from before the retained log
+        jobService.createJob(new Job("Google", "Software Engineer", JobStatus.APPLIED, null));
+        jdbcTemplate.update("DELETE FROM job_changes WHERE seq < (SELECT MAX(seq) FROM job_changes)");
+        
+        // When / Then
+        mockMvc.perform(get("/api/jobs/changes").param("since", PageCursor.of(0).encode()))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    void testListingReturnsOnlyRequestedFields() throws Exception {
+        // Given
+        jobService.createJob(new Job("Google", "Software Engineer", JobStatus.APPLIED, "Very long notes"));
+        jobService.createJob(new Job("Amazon", "Backend Engineer", JobStatus.APPLIED, null));
+
+        // When / Then
+        mockMvc.perform(get("/api/jobs/status/APPLIED").param("fields", "company, status").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(JobController.NEXT_CURSOR_HEADER))
+                .andExpect(content().json("[{\"company\":\"Google\",\"status\":\"APPLIED\"}]", true));
+        mockMvc.perform(get("/api/jobs/ordered/company").param("fields", "company,position"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"company\":\"Amazon\",\"position\":\"Backend Engineer\"},"
+                        + "{\"company\":\"Google\",\"position\":\"Software Engineer\"}]", true));
+        mockMvc.perform(get("/api/jobs").param("fields", "company,notes"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testListingIsRenderedAsSmileWhenAccepted() throws Exception {
+        // Given
+        jobService.createJob(new Job("Google", "Software Engineer", JobStatus.APPLIED, "Very long notes"));
+        jobService.createJob(new Job("Google", "Backend Engineer", JobStatus.APPLIED, "Very long notes"));
+        MediaType smile = MediaType.valueOf("application/x-jackson-smile");
+
+        // When
+        MvcResult json = mockMvc.perform(get("/api/jobs"))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult binary = mockMvc.perform(get("/api/jobs").accept(smile))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(smile))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn();
+
+        // Then: the same tree, in fewer bytes
+        byte[] smileBytes = binary.getResponse().getContentAsByteArray();
+        byte[] jsonBytes = json.getResponse().getContentAsByteArray();
+        assertThat(new SmileMapper().readTree(smileBytes)).isEqualTo(new ObjectMapper().readTree(jsonBytes));
+        assertThat(smileBytes.length).isLessThan(jsonBytes.length);
+    }
+
+    @Test
+    void testImportReturnsImmediatelyWithStatusLocation() throws Exception {
+        // Given
+        MockMultipartFile file = new MockMultipartFile("file", "jobs.csv", "text/csv",
+                "company,position,status\nGoogle,SRE,APPLIED\n".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        MvcResult result = mockMvc.perform(multipart("/api/jobs/imports").file(file))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andReturn();
+
+        // Then
+        String location = result.getResponse().getHeader(HttpHeaders.LOCATION);
+        mockMvc.perform(get(location)).andExpect(status().isOk());
+        mockMvc.perform(get(location + "/errors")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/jobs/imports/unknown")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testPutWithStaleIfMatchIsRejected() throws Exception {
+        // Given
+        Job job = jobService.createJob(new Job("Google", "Software Engineer", JobStatus.APPLIED, null));
+        String etag = mockMvc.perform(get("/api/jobs/{id}", job.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String body = "{\"company\":\"Google\",\"position\":\"SRE\",\"status\":\"INTERVIEW\"}";
+
+        // When / Then: the first writer holding the ETag wins
+        String newEtag = mockMvc.perform(put("/api/jobs/{id}", job.getId()).header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When / Then: a second writer holding the same ETag would overwrite it
+        mockMvc.perform(put("/api/jobs/{id}", job.getId()).header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isPreconditionFailed());
+        assertThat(newEtag).isNotEqualTo(etag);
+    }
+
+    @Test
+    void testPatchChangesOnlyPresentProperties() throws Exception {
+        // Given
+        Job job = jobService.createJob(new Job("Google", "Software Engineer", JobStatus.APPLIED, "Referral"));
+        String etag = mockMvc.perform(get("/api/jobs/{id}", job.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When / Then
+        mockMvc.perform(patch("/api/jobs/{id}", job.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"INTERVIEW\",\"notes\":null}"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.position").value("Software Engineer"))
+                .andExpect(jsonPath("$.status").value("INTERVIEW"))
+                .andExpect(jsonPath("$.notes").doesNotExist());
+        mockMvc.perform(patch("/api/jobs/{id}", job.getId()).header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"position\":\"SRE\"}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patch("/api/jobs/{id}", job.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"company\":\" \"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/jobs/{id}", Long.MAX_VALUE).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"position\":\"SRE\"}"))
+                .andExpect(status().isNotFound());
+        assertThat(jobService.getJobCountsByStatus()).containsEntry(JobStatus.INTERVIEW, 1L);
+    }
+
+    @Test
+    void testTenantsOnlySeeTheirOwnJobs() throws Exception {
+        // Given
+        String created = mockMvc.perform(post("/api/jobs").header("X-Tenant-Id", "acme")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"company\":\"Initech\",\"position\":\"Engineer\",\"status\":\"APPLIED\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.tenantId").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+        long id = JsonPath.parse(created).read("$.id", Long.class);
+
+        // When / Then
+        mockMvc.perform(get("/api/jobs/{id}", id).header("X-Tenant-Id", "acme"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/jobs/{id}", id).header("X-Tenant-Id", "globex"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/jobs/{id}", id))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(put("/api/jobs/{id}", id).header("X-Tenant-Id", "globex")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"company\":\"Initech\",\"position\":\"Engineer\",\"status\":\"OFFER\"}"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/jobs").header("X-Tenant-Id", "globex"))
+                .andExpect(jsonPath("$[*].id", not(hasItem((int) id))));
+        mockMvc.perform(get("/api/jobs").header("X-Tenant-Id", "*").header("X-Admin-Token", "test-admin-token")
+                        .param("limit", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem((int) id)));
+        mockMvc.perform(get("/api/jobs").header("X-Tenant-Id", "*").header("X-Admin-Token", "guess"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/jobs").header("X-Tenant-Id", "*"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/api/jobs/{id}", id).header("X-Tenant-Id", "*").header("X-Admin-Token", "test-admin-token"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/jobs").header("X-Tenant-Id", "no spaces"))
+                .andExpect(status().isBadRequest());
+    }
+}
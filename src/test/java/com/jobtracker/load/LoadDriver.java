@@ -0,0 +1,75 @@
+package com.jobtracker.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load shared by the load tests: each client thread sends GET
+ * requests back to back to one of the given paths for the warm-up plus the
+ * measurement window, and only responses completed inside the window count.
+ */
+final class LoadDriver {
+
+    private LoadDriver() {
+    }
+
+    // Clients are spread round-robin over the paths
+    static Result drive(int port, List<String> paths, int clients, Duration warmUp, Duration measure)
+            throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        Result result = new Result(measure);
+        long measureFrom = System.nanoTime() + warmUp.toNanos();
+        long deadline = measureFrom + measure.toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        for (int c = 0; c < clients; c++) {
+            URI uri = URI.create("http://localhost:" + port + paths.get(c % paths.size()));
+            executor.submit(() -> {
+                HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).build();
+                while (System.nanoTime() < deadline) {
+                    int status;
+                    try {
+                        status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    if (System.nanoTime() >= measureFrom) {
+                        (status == 200 ? result.ok : status == 503 ? result.rejected : result.failed).increment();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(warmUp.plus(measure).toSeconds() + 60, TimeUnit.SECONDS);
+        return result;
+    }
+
+    static final class Result {
+        final LongAdder ok = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        private final Duration measure;
+
+        private Result(Duration measure) {
+            this.measure = measure;
+        }
+
+        double throughput() {
+            return ok.sum() / (double) measure.toSeconds();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.0f req/s (ok=%d, rejected=%d, failed=%d)",
+                    throughput(), ok.sum(), rejected.sum(), failed.sum());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.jobtracker.load;
+
+import com.jobtracker.JobTrackerApplication;
+import com.jobtracker.model.Job;
+import com.jobtracker.model.JobStatus;
+import com.jobtracker.service.JobService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares API throughput under the default logging configuration (DEBUG for the
+ * application and Spring MVC, formatted SQL echo) against the prod profile's
+ * async, sampled logging. Excluded from the default build; run with
+ * {@code mvn -Pload-test test}.
+ */
+@Tag("load")
+class LoggingProfileLoadTest {
+
+    private static final int CLIENTS = 16;
+    private static final Duration WARM_UP = Duration.ofSeconds(3);
+    private static final Duration MEASURE = Duration.ofSeconds(10);
+
+    @Test
+    void compareDefaultAndProdLoggingThroughput() throws Exception {
+        // The same settings as the main application.properties, which the test profile replaces
+        LoadDriver.Result verbose = run(List.of("test"),
+                "logging.level.com.jobtracker=DEBUG",
+                "logging.level.org.springframework.web=DEBUG",
+                "spring.jpa.show-sql=true",
+                "spring.jpa.properties.hibernate.format_sql=true");
+        LoadDriver.Result prod = run(List.of("test", "prod"));
+
+        System.out.println("default logging: " + verbose);
+        System.out.println("prod logging: " + prod);
+        System.out.printf("prod/default throughput: %.2fx%n", prod.throughput() / verbose.throughput());
+        assertThat(verbose.ok).isPositive();
+        assertThat(prod.ok).isPositive();
+    }
+
+    private LoadDriver.Result run(List<String> profiles, String... properties) throws Exception {
+        List<String> allProperties = new ArrayList<>(List.of(properties));
+        allProperties.add("server.port=0");
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(JobTrackerApplication.class)
+                .profiles(profiles.toArray(String[]::new))
+                .properties(allProperties.toArray(String[]::new))
+                .run()) {
+            List<Job> jobs = seed(context.getBean(JobService.class));
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            return LoadDriver.drive(port, List.of("/api/jobs?limit=50", "/api/jobs/" + jobs.get(0).getId(),
+                            "/api/jobs/search/notes?keyword=remote&limit=20"),
+                    CLIENTS, WARM_UP, MEASURE);
+        }
+    }
+
+    private List<Job> seed(JobService jobService) {
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            jobs.add(new Job("Company " + (i % 50), "Engineer " + i, JobStatus.values()[i % 4],
+                    "Remote friendly, referred by a former colleague. Follow up " + i));
+        }
+        jobService.createJobs(jobs);
+        return jobs;
+    }
+}
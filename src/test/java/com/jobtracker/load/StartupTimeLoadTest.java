@@ -0,0 +1,127 @@
+package com.jobtracker.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reports the time from launching the JVM to the first successful
+ * {@code GET /api/jobs}, which is what an autoscaler waits for.
+ *
+ * Each variant starts the application in a fresh JVM against an in-memory H2
+ * database: from the classpath with the prod profile, the same with the
+ * fast-startup profile (lazy beans, no springdoc), and the artifact of the
+ * fast-startup Maven profile with Spring AOT and its CDS archive. The last one
+ * is skipped unless {@code mvn -Pfast-startup package -DskipTests} ran first.
+ * Excluded from the default build; run with {@code mvn -Pload-test test -Dtest=StartupTimeLoadTest}.
+ */
+@Tag("load")
+class StartupTimeLoadTest {
+
+    private static final String MAIN_CLASS = "com.jobtracker.JobTrackerApplication";
+    private static final Path JAR = Path.of("target", "job-tracker-api-1.0.0.jar");
+    private static final Path CDS_ARCHIVE = Path.of("target", "job-tracker-api.jsa");
+    private static final int RUNS = 3;
+    private static final Duration TIMEOUT = Duration.ofSeconds(90);
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+    @Test
+    void reportTimeToFirstSuccessfulRequest() throws Exception {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        // The application's own classes and dependencies, without the test classes and their properties
+        String classpath = Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                .filter(entry -> !entry.endsWith("test-classes"))
+                .collect(Collectors.joining(File.pathSeparator));
+
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        variants.put("classpath, prod", List.of(java, "-cp", classpath, MAIN_CLASS, "--spring.profiles.active=prod"));
+        variants.put("classpath, prod + fast-startup",
+                List.of(java, "-cp", classpath, MAIN_CLASS, "--spring.profiles.active=prod,fast-startup"));
+        if (Files.exists(CDS_ARCHIVE) && Files.exists(JAR)) {
+            variants.put("AOT + CDS jar, prod + fast-startup", List.of(java, "-XX:SharedArchiveFile=" + CDS_ARCHIVE,
+                    "-Dspring.aot.enabled=true", "-jar", JAR.toString(), "--spring.profiles.active=prod,fast-startup"));
+        } else {
+            System.out.println("AOT + CDS jar: skipped, build it with mvn -Pfast-startup package -DskipTests");
+        }
+
+        for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+            List<Long> millis = new ArrayList<>();
+            for (int run = 0; run < RUNS; run++) {
+                millis.add(timeToFirstRequest(variant.getKey(), variant.getValue()));
+            }
+            millis.sort(null);
+            System.out.printf("%-36s first GET /api/jobs after %5d ms (median of %d, best %d ms)%n",
+                    variant.getKey() + ":", millis.get(RUNS / 2), RUNS, millis.get(0));
+            assertThat(millis).allMatch(ms -> ms > 0);
+        }
+    }
+
+    private long timeToFirstRequest(String name, List<String> command) throws Exception {
+        int port = freePort();
+        List<String> arguments = new ArrayList<>(command);
+        arguments.addAll(List.of(
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:startup;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"));
+        Path log = Path.of("target", "startup-" + name.replaceAll("[^A-Za-z0-9]+", "-") + ".log");
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/jobs?limit=1"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(arguments).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            long deadline = start + TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(name + " exited with " + process.exitValue() + ", see " + log);
+                }
+                if (succeeds(request)) {
+                    return (System.nanoTime() - start) / 1_000_000;
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(name + " did not answer within " + TIMEOUT + ", see " + log);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private boolean succeeds(HttpRequest request) throws InterruptedException {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            // Not listening yet
+            return false;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.jobtracker.load;
+
+import com.jobtracker.JobTrackerApplication;
+import com.jobtracker.model.Job;
+import com.jobtracker.model.JobStatus;
+import com.jobtracker.service.JobService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares API throughput on platform threads against the virtual-threads profile.
+ *
+ * Every query is delayed to simulate MySQL latency, and half of the requests hit
+ * the cached status listing, so the run shows whether cheap requests get stuck
+ * behind threads blocked on JDBC. Excluded from the default build; run with
+ * {@code mvn -Pload-test test}. The virtual-thread run needs Java 21+.
+ */
+@Tag("load")
+class ThreadingModeLoadTest {
+
+    private static final int CLIENTS = 200;
+    private static final Duration WARM_UP = Duration.ofSeconds(3);
+    private static final Duration MEASURE = Duration.ofSeconds(10);
+    private static final long QUERY_LATENCY_MS = 20;
+
+    @Test
+    void comparePlatformAndVirtualThreadThroughput() throws Exception {
+        LoadDriver.Result platform = run(false);
+        System.out.println("platform threads: " + platform);
+        assertThat(platform.ok).isPositive();
+
+        if (Runtime.version().feature() < 21) {
+            System.out.println("virtual threads: skipped, requires Java 21+ (running " + Runtime.version() + ")");
+            return;
+        }
+        LoadDriver.Result virtual = run(true);
+        System.out.println("virtual threads: " + virtual);
+        System.out.printf("virtual/platform throughput: %.2fx%n", virtual.throughput() / platform.throughput());
+        assertThat(virtual.ok).isPositive();
+    }
+
+    private LoadDriver.Result run(boolean virtualThreads) throws Exception {
+        List<String> profiles = new ArrayList<>(List.of("test"));
+        if (virtualThreads) {
+            profiles.add("virtual-threads");
+        }
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(JobTrackerApplication.class, SlowDatabaseConfig.class)
+                .profiles(profiles.toArray(String[]::new))
+                .properties("server.port=0",
+                        "server.tomcat.threads.max=40",
+                        "spring.datasource.hikari.maximum-pool-size=40",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.com.jobtracker=WARN")
+                .run()) {
+            seed(context.getBean(JobService.class));
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            return LoadDriver.drive(port, List.of("/api/jobs/status/APPLIED?limit=50", "/api/jobs?limit=50"),
+                    CLIENTS, WARM_UP, MEASURE);
+        }
+    }
+
+    private void seed(JobService jobService) {
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            jobs.add(new Job("Company " + (i % 50), "Engineer " + i, JobStatus.values()[i % 4], "Notes " + i));
+        }
+        jobService.createJobs(jobs);
+    }
+
+    /**
+     * Delays every statement execution to stand in for network and MySQL latency
+     * while the connection is held.
+     */
+    @Configuration
+    static class SlowDatabaseConfig {
+
+        @Bean
+        static BeanPostProcessor slowDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        return proxy(DataSource.class, dataSource);
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        private static <T> T proxy(Class<T> type, T target) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (p, method, args) -> {
+                if (method.getName().startsWith("execute")) {
+                    Thread.sleep(QUERY_LATENCY_MS);
+                }
+                Object value;
+                try {
+                    value = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (value instanceof PreparedStatement statement) {
+                    return proxy(PreparedStatement.class, statement);
+                }
+                if (value instanceof Connection connection) {
+                    return proxy(Connection.class, connection);
+                }
+                return value;
+            }));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.jobtracker.repository;
+
+import com.jobtracker.model.Job;
+import com.jobtracker.model.JobStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(JobBatchRepository.class)
+class JobBatchRepositoryTest {
+
+    @Autowired
+    private JobBatchRepository jobBatchRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Test
+    void testInsertAllAssignsIds() {
+        // Given
+        Job job1 = new Job("Google", "Software Engineer", JobStatus.APPLIED, "Applied via LinkedIn");
+        Job job2 = new Job("Microsoft", "Developer", JobStatus.INTERVIEW, null);
+        
+        // When
+        jobBatchRepository.insertAll(List.of(job1, job2));
+        
+        // Then
+        assertThat(job1.getId()).isNotNull();
+        assertThat(job2.getId()).isGreaterThan(job1.getId());
+        assertThat(jobRepository.findById(job2.getId())).hasValueSatisfying(found -> {
+            assertThat(found.getCompany()).isEqualTo("Microsoft");
+            assertThat(found.getCreatedAt()).isNotNull();
+        });
+    }
+
+    @Test
+    void testUpdateAndDeleteAllReportPerItemCounts() {
+        // Given
+        Job job = new Job("Google", "Software Engineer", JobStatus.APPLIED, null);
+        jobBatchRepository.insertAll(List.of(job));
+        Job missing = new Job("Amazon", "Backend Engineer", JobStatus.APPLIED, null);
+        missing.setId(job.getId() + 1000);
+        job.setStatus(JobStatus.OFFER);
+        
+        // When
+        int[] updated = jobBatchRepository.updateAll(List.of(job, missing), List.of(0L, 0L));
+        int[] updatedStale = jobBatchRepository.updateAll(List.of(job), List.of(0L));
+        Map<Long, Job> current = jobBatchRepository.findCurrentByIds(List.of(job.getId(), missing.getId()));
+        int[] deletedStale = jobBatchRepository.deleteAll(List.of(job.getId()), List.of(0L));
+        int[] deleted = jobBatchRepository.deleteAll(List.of(job.getId(), missing.getId()), List.of(1L, 0L));
+        
+        // Then
+        assertThat(updated).containsExactly(1, 0);
+        assertThat(updatedStale).containsExactly(0);
+        assertThat(deletedStale).containsExactly(0);
+        assertThat(current).containsOnlyKeys(job.getId());
+        assertThat(current.get(job.getId()).getStatus()).isEqualTo(JobStatus.OFFER);
+        assertThat(deleted).containsExactly(1, 0);
+    }
+
+    @Test
+    void testDeleteLeavesTombstoneUntilPurged() {
+        // Given
+        Job job = new Job("Google", "Software Engineer", JobStatus.APPLIED, null);
+        Job kept = new Job("Amazon", "Backend Engineer", JobStatus.APPLIED, null);
+        jobBatchRepository.insertAll(List.of(job, kept));
+        
+        // When
+        int deleted = jobBatchRepository.delete(job.getId());
+        int deletedAgain = jobBatchRepository.delete(job.getId());
+        
+        // Then: hidden from the finders, but still in the table
+        assertThat(deleted).isEqualTo(1);
+        assertThat(deletedAgain).isZero();
+        assertThat(jobRepository.findById(job.getId())).isEmpty();
+        assertThat(jobRepository.count()).isEqualTo(1);
+        assertThat(jobBatchRepository.findIncludingDeleted(job.getId()).getStatus()).isEqualTo(JobStatus.APPLIED);
+        assertThat(jobBatchRepository.purge(LocalDateTime.now().minusMinutes(1), 10)).isZero();
+        assertThat(jobBatchRepository.purge(LocalDateTime.now().plusMinutes(1), 10)).isEqualTo(1);
+        assertThat(jobBatchRepository.findIncludingDeleted(job.getId())).isNull();
+        assertThat(jobRepository.findById(kept.getId())).isPresent();
+    }
+}
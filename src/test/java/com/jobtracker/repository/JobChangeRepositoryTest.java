@@ -0,0 +1,49 @@
+package com.jobtracker.repository;
+
+import com.jobtracker.model.JobChange;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(JobChangeRepository.class)
+class JobChangeRepositoryTest {
+
+    @Autowired
+    private JobChangeRepository jobChangeRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Test
+    void testReadersStopAtAMissingSequenceNumberUntilTheGapTimesOut() {
+        // Given
+        Long before = jobChangeRepository.findMaxSeq();
+        long afterSeq = before != null ? before : 0L;
+        jobChangeRepository.record(1L, JobChange.Type.CREATED);
+        jobChangeRepository.record(2L, JobChange.Type.CREATED);
+        jobChangeRepository.record(3L, JobChange.Type.CREATED);
+        long head = jobChangeRepository.findMaxSeq();
+        // As if the middle write had not committed yet
+        jdbcTemplate.update("DELETE FROM job_changes WHERE seq = :seq", new MapSqlParameterSource("seq", head - 1));
+
+        // When
+        long visibleWhileOpen = jobChangeRepository.findVisibleThrough(afterSeq, head, Duration.ofMinutes(1));
+        long visibleAfterTimeout = jobChangeRepository.findVisibleThrough(afterSeq, head, Duration.ZERO);
+        long visibleWithoutGap = jobChangeRepository.findVisibleThrough(afterSeq, head - 2, Duration.ofMinutes(1));
+
+        // Then
+        assertThat(visibleWhileOpen).isEqualTo(head - 2);
+        assertThat(visibleAfterTimeout).isEqualTo(head);
+        assertThat(visibleWithoutGap).isEqualTo(head - 2);
+    }
+}
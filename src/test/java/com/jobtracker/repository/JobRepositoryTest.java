@@ -1,14 +1,19 @@
 package com.jobtracker.repository;
 
+import com.jobtracker.model.CollectionVersion;
 import com.jobtracker.model.Job;
 import com.jobtracker.model.JobStatus;
+import com.jobtracker.model.JobSummary;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -89,4 +94,113 @@ class JobRepositoryTest {
         assertThat(appliedCount).isEqualTo(2);
         assertThat(interviewCount).isEqualTo(1);
     }
+
+    @Test
+    void testKeysetPaginationById() {
+        // Given
+        Job job1 = jobRepository.save(new Job("Google", "Software Engineer", JobStatus.APPLIED, null));
+        Job job2 = jobRepository.save(new Job("Microsoft", "Developer", JobStatus.APPLIED, null));
+        Job job3 = jobRepository.save(new Job("Amazon", "Backend Engineer", JobStatus.APPLIED, null));
+        PageRequest twoById = PageRequest.of(0, 2, Sort.by("id"));
+        
+        // When
+        List<Job> firstPage = jobRepository.findByStatusAndIdGreaterThan(JobStatus.APPLIED, 0L, twoById);
+        List<Job> secondPage = jobRepository.findByStatusAndIdGreaterThan(
+                JobStatus.APPLIED, firstPage.get(1).getId(), twoById);
+        
+        // Then
+        assertThat(firstPage).extracting(Job::getId).containsExactly(job1.getId(), job2.getId());
+        assertThat(secondPage).extracting(Job::getId).containsExactly(job3.getId());
+    }
+
+    @Test
+    void testKeysetPaginationByCompany() {
+        // Given
+        jobRepository.save(new Job("Microsoft", "Developer", JobStatus.APPLIED, null));
+        Job google1 = jobRepository.save(new Job("Google", "Software Engineer", JobStatus.APPLIED, null));
+        Job google2 = jobRepository.save(new Job("Google", "SRE", JobStatus.INTERVIEW, null));
+        jobRepository.save(new Job("Amazon", "Backend Engineer", JobStatus.APPLIED, null));
+        PageRequest twoByCompany = PageRequest.of(0, 2, Sort.by("company", "id"));
+        
+        // When
+        List<Job> firstPage = jobRepository.findAllBy(twoByCompany);
+        Job last = firstPage.get(1);
+        List<Job> secondPage = jobRepository.findByCompanyGreaterThanOrCompanyAndIdGreaterThan(
+                last.getCompany(), last.getCompany(), last.getId(), twoByCompany);
+        
+        // Then
+        assertThat(firstPage).extracting(Job::getCompany).containsExactly("Amazon", "Google");
+        assertThat(last.getId()).isEqualTo(google1.getId());
+        assertThat(secondPage).extracting(Job::getId).first().isEqualTo(google2.getId());
+        assertThat(secondPage).extracting(Job::getCompany).containsExactly("Google", "Microsoft");
+    }
+
+    @Test
+    void testStreamAllOrderedById() {
+        // Given
+        Job job1 = jobRepository.save(new Job("Google", "Software Engineer", JobStatus.APPLIED, null));
+        Job job2 = jobRepository.save(new Job("Microsoft", "Developer", JobStatus.OFFER, null));
+        
+        // When
+        List<Long> ids;
+        try (Stream<Job> jobs = jobRepository.streamAllByOrderByIdAsc()) {
+            ids = jobs.map(Job::getId).toList();
+        }
+        
+        // Then
+        assertThat(ids).containsExactly(job1.getId(), job2.getId());
+    }
+
+    @Test
+    void testCollectionVersionTracksCountAndLatestUpdate() {
+        // Given
+        Job google = jobRepository.saveAndFlush(new Job("Google", "Software Engineer", JobStatus.APPLIED, null));
+        Job amazon = jobRepository.saveAndFlush(new Job("Amazon", "Backend Engineer", JobStatus.INTERVIEW, null));
+        
+        // When
+        CollectionVersion all = jobRepository.findCollectionVersion();
+        CollectionVersion applied = jobRepository.findCollectionVersionByStatus(JobStatus.APPLIED);
+        CollectionVersion googleJobs = jobRepository.findCollectionVersionByCompanyLc("google");
+        CollectionVersion offers = jobRepository.findCollectionVersionByStatus(JobStatus.OFFER);
+        
+        // Then
+        assertThat(all.getCount()).isEqualTo(2);
+        assertThat(all.getLastUpdated()).isEqualTo(amazon.getUpdatedAt().isAfter(google.getUpdatedAt())
+                ? amazon.getUpdatedAt() : google.getUpdatedAt());
+        assertThat(applied.getCount()).isEqualTo(1);
+        assertThat(googleJobs.getCount()).isEqualTo(1);
+        assertThat(offers.getCount()).isZero();
+        assertThat(offers.getLastUpdated()).isNull();
+    }
+
+    @Test
+    void testSummaryPagesMatchEntityPages() {
+        // Given
+        jobRepository.save(new Job("Microsoft", "Developer", JobStatus.APPLIED, "Long notes"));
+        Job google = jobRepository.save(new Job("Google", "Software Engineer", JobStatus.APPLIED, "Referral"));
+        jobRepository.save(new Job("Amazon", "Backend Engineer", JobStatus.OFFER, null));
+        PageRequest twoByCompany = PageRequest.of(0, 2, Sort.by("company", "id"));
+        
+        // When
+        List<JobSummary> firstPage = jobRepository.findSummariesBy(twoByCompany);
+        List<JobSummary> secondPage = jobRepository.findSummariesByCompanyAfter("Google", google.getId(), twoByCompany);
+        List<JobSummary> applied = jobRepository.findSummariesByStatusAndIdGreaterThan(
+                JobStatus.APPLIED, 0L, PageRequest.of(0, 10, Sort.by("id")));
+        List<JobSummary> byNotes = jobRepository.findSummariesWithNotesContaining(
+                "referral", 0L, PageRequest.of(0, 10, Sort.by("id")));
+        List<JobSummary> googleApplied = jobRepository.findSummariesByCompanyLcAndStatusAndIdGreaterThan(
+                "google", JobStatus.APPLIED, 0L, PageRequest.of(0, 10, Sort.by("id")));
+        
+        // Then
+        assertThat(firstPage).extracting(JobSummary::getCompany).containsExactly("Amazon", "Google");
+        assertThat(secondPage).extracting(JobSummary::getCompany).containsExactly("Microsoft");
+        assertThat(applied).extracting(JobSummary::getCompany).containsExactly("Microsoft", "Google");
+        assertThat(googleApplied).extracting(JobSummary::getId).containsExactly(google.getId());
+        assertThat(byNotes).singleElement().satisfies(summary -> {
+            assertThat(summary.getId()).isEqualTo(google.getId());
+            assertThat(summary.getPosition()).isEqualTo("Software Engineer");
+            assertThat(summary.getStatus()).isEqualTo(JobStatus.APPLIED);
+            assertThat(summary.getCreatedAt()).isEqualTo(google.getCreatedAt());
+        });
+    }
 }
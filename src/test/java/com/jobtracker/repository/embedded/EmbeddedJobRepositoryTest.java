@@ -0,0 +1,126 @@
+package com.jobtracker.repository.embedded;
+
+import com.jobtracker.model.CursorPage;
+import com.jobtracker.model.Job;
+import com.jobtracker.model.JobChange;
+import com.jobtracker.model.JobPatch;
+import com.jobtracker.model.JobStatus;
+import com.jobtracker.repository.JobRepository;
+import com.jobtracker.service.JobService;
+import com.jobtracker.service.JobStatusCounters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+// The service layer running unchanged on the embedded store; the side tables stay in the test database
+@SpringBootTest
+@ActiveProfiles({"test", "embedded"})
+class EmbeddedJobRepositoryTest {
+
+    @TempDir
+    static Path dataDir;
+
+    @DynamicPropertySource
+    static void embeddedStore(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url",
+                () -> "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        registry.add("jobtracker.embedded.data-dir", dataDir::toString);
+    }
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobStatusCounters statusCounters;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository.deleteAll();
+        statusCounters.reconcile();
+    }
+
+    @Test
+    void testServiceWritesGoToTheStoreAndKeepTheirBookkeeping() {
+        // Given
+        String token = jobService.getChanges(null, 10).getToken();
+        Job google = jobService.createJob(new Job("Google", "Engineer", JobStatus.APPLIED, null));
+        Job acme = jobService.createJob(new Job("ACME", "Analyst", JobStatus.APPLIED, null));
+
+        // When
+        Job updated = jobService.updateJob(google.getId(), new Job("Google", "Staff Engineer", JobStatus.INTERVIEW, null),
+                google.getVersion());
+        JobPatch patch = new JobPatch();
+        patch.setStatus(JobStatus.OFFER);
+        Job patched = jobService.patchJob(google.getId(), patch, updated.getVersion());
+        jobService.deleteJob(acme.getId());
+
+        // Then
+        assertThat(patched.getVersion()).isEqualTo(2L);
+        assertThat(jobService.getJobById(google.getId())).get()
+                .extracting(Job::getPosition, Job::getStatus)
+                .containsExactly("Staff Engineer", JobStatus.OFFER);
+        assertThat(jobService.getJobById(acme.getId())).isEmpty();
+        assertThat(jobService.getJobsByStatus(JobStatus.OFFER, null, 10).getItems()).extracting(Job::getId)
+                .containsExactly(google.getId());
+        assertThat(jobService.getJobCountsByStatus()).containsEntry(JobStatus.OFFER, 1L).containsEntry(JobStatus.APPLIED, 0L);
+        assertThat(jobService.getChanges(token, 10).getChanges())
+                .extracting(JobChange::getJobId, JobChange::getType)
+                .containsExactly(tuple(google.getId(), JobChange.Type.UPDATED), tuple(acme.getId(), JobChange.Type.DELETED));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM jobs", Long.class)).isZero();
+    }
+
+    @Test
+    void testKeysetPagesWalkTheIndexes() {
+        // Given
+        jobService.createJobs(List.of(
+                new Job("Initech", "Engineer", JobStatus.APPLIED, null),
+                new Job("acme", "Analyst", JobStatus.APPLIED, null),
+                new Job("Globex", "Manager", JobStatus.REJECTED, null),
+                new Job("ACME", "Designer", JobStatus.APPLIED, null)));
+
+        // When
+        List<String> byCompany = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<Job> page = jobService.getJobsOrderedByCompany(cursor, 2);
+            page.getItems().forEach(job -> byCompany.add(job.getCompany()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        List<Long> byDate = new ArrayList<>();
+        cursor = null;
+        do {
+            CursorPage<Job> page = jobService.getJobsOrderedByDate(cursor, 3);
+            page.getItems().forEach(job -> byDate.add(job.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Then
+        assertThat(byCompany).containsExactly("ACME", "Globex", "Initech", "acme");
+        assertThat(byDate).hasSize(4).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+        assertThat(jobService.getJobsByCompany("Acme", null, 10).getItems()).extracting(Job::getPosition)
+                .containsExactly("Analyst", "Designer");
+        assertThat(jobService.searchJobsByPosition("SIGN", null, 10).getItems()).extracting(Job::getCompany)
+                .containsExactly("ACME");
+        assertThat(jobService.exportJobs(job -> { })).isEqualTo(4);
+    }
+}
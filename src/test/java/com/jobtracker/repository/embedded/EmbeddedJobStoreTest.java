@@ -0,0 +1,204 @@
+package com.jobtracker.repository.embedded;
+
+import com.jobtracker.model.JobStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmbeddedJobStoreTest {
+
+    private static final int LOG_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testSecondaryIndexesFollowUpdatesAndDeletes() {
+        // Given
+        EmbeddedJobStore store = new EmbeddedJobStore(directory, LOG_SIZE, false);
+        JobRecord google = store.insert("default", "Google", "Engineer", JobStatus.APPLIED, null);
+        JobRecord acme = store.insert("default", "ACME", "Analyst", JobStatus.APPLIED, null);
+
+        // When
+        store.update(google.id, current -> current.update("Google", "Engineer", JobStatus.OFFER, null, current.updatedAt));
+        store.update(acme.id, current -> current.delete(current.updatedAt));
+
+        // Then
+        assertThat(ids(visitor -> store.scanByStatus(JobStatus.APPLIED, 0, visitor))).isEmpty();
+        assertThat(ids(visitor -> store.scanByStatus(JobStatus.OFFER, 0, visitor))).containsExactly(google.id);
+        assertThat(ids(visitor -> store.scanByCompany("acme", 0, visitor))).isEmpty();
+        assertThat(ids(visitor -> store.scanCreatedBefore(Long.MAX_VALUE, Long.MAX_VALUE, visitor))).containsExactly(google.id);
+        assertThat(store.get(acme.id).isDeleted()).isTrue();
+        assertThat(store.purge(Long.MAX_VALUE, 10)).isEqualTo(1);
+        assertThat(store.get(acme.id)).isNull();
+        store.close();
+    }
+
+    @Test
+    void testRecoversFromTheLogAfterACrashAndDropsATornEntry() throws IOException {
+        // Given: a store that is never closed, and half an entry after its last write
+        EmbeddedJobStore crashed = new EmbeddedJobStore(directory, LOG_SIZE, false);
+        JobRecord first = crashed.insert("default", "Google", "Engineer", JobStatus.APPLIED, "x".repeat(5000));
+        crashed.update(first.id, current -> current.update("Google", "Staff Engineer", JobStatus.INTERVIEW, null, current.updatedAt));
+        JobRecord second = crashed.insert("default", "ACME", "Analyst", JobStatus.APPLIED, null);
+        int end = crashed.logBytes();
+        try (FileChannel channel = FileChannel.open(onlyLog(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(8).putInt(64).putInt(12345).flip(), end);
+            channel.write(ByteBuffer.wrap(new byte[] {1, 2, 3}), end + 8);
+        }
+
+        // When
+        EmbeddedJobStore recovered = new EmbeddedJobStore(directory, LOG_SIZE, false);
+        JobRecord third = recovered.insert("default", "Initech", "Manager", JobStatus.OFFER, null);
+
+        // Then
+        assertThat(recovered.size()).isEqualTo(3);
+        assertThat(recovered.get(first.id).position).isEqualTo("Staff Engineer");
+        assertThat(recovered.get(first.id).version).isEqualTo(1);
+        assertThat(recovered.get(second.id).company).isEqualTo("ACME");
+        assertThat(third.id).isGreaterThan(second.id);
+        recovered.close();
+        assertThat(new EmbeddedJobStore(directory, LOG_SIZE, false).size()).isEqualTo(3);
+    }
+
+    @Test
+    void testSnapshotReplacesTheLogsItCovers() throws IOException {
+        // Given
+        EmbeddedJobStore store = new EmbeddedJobStore(directory, LOG_SIZE, false);
+        JobRecord purged = store.insert("default", "Google", "Engineer", JobStatus.APPLIED, null);
+        store.update(purged.id, current -> current.delete(current.updatedAt));
+        store.purge(Long.MAX_VALUE, 10);
+        store.insert("default", "ACME", "Analyst", JobStatus.APPLIED, null);
+
+        // When
+        store.snapshot();
+        JobRecord afterSnapshot = store.insert("default", "Initech", "Manager", JobStatus.OFFER, null);
+        store.close();
+        EmbeddedJobStore reopened = new EmbeddedJobStore(directory, LOG_SIZE, false);
+
+        // Then: the snapshot and the newer log are both applied, and purged ids are never reused
+        assertThat(logs()).hasSize(1);
+        assertThat(reopened.size()).isEqualTo(2);
+        assertThat(reopened.get(afterSnapshot.id).company).isEqualTo("Initech");
+        assertThat(reopened.insert("default", "Hooli", "CEO", JobStatus.APPLIED, null).id).isEqualTo(afterSnapshot.id + 1);
+        reopened.close();
+    }
+
+    @Test
+    void testRollbackRestoresTheReplacedRecords() {
+        // Given
+        EmbeddedJobStore store = new EmbeddedJobStore(directory, LOG_SIZE, false);
+        JobRecord existing = store.insert("default", "Google", "Engineer", JobStatus.APPLIED, null);
+
+        // When: a transaction updates one job, creates another and rolls back
+        TransactionSynchronizationManager.initSynchronization();
+        JobRecord created;
+        try {
+            store.update(existing.id, current -> current.update("Google", "Manager", JobStatus.OFFER, null, current.updatedAt));
+            created = store.insert("default", "ACME", "Analyst", JobStatus.APPLIED, null);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertThat(store.get(existing.id).position).isEqualTo("Engineer");
+        assertThat(store.get(created.id)).isNull();
+        assertThat(ids(visitor -> store.scanByStatus(JobStatus.APPLIED, 0, visitor))).containsExactly(existing.id);
+        store.close();
+        assertThat(new EmbeddedJobStore(directory, LOG_SIZE, false).get(existing.id).position).isEqualTo("Engineer");
+    }
+
+    @Test
+    void testWriterWaitsForTheClaimOfAnUncommittedTransaction() throws Exception {
+        // Given: a transaction that has updated a job but not completed
+        EmbeddedJobStore store = new EmbeddedJobStore(directory, LOG_SIZE, false);
+        JobRecord existing = store.insert("default", "Google", "Engineer", JobStatus.APPLIED, null);
+        List<Long> rolledBack = new ArrayList<>();
+        store.onRollback(rolledBack::addAll);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            store.update(existing.id, current -> current.update("Google", "Manager", JobStatus.OFFER, null, current.updatedAt));
+
+            // When: another writer updates the same job, and the transaction rolls back
+            CompletableFuture<JobRecord> other = CompletableFuture.supplyAsync(() -> store.update(existing.id,
+                    current -> current.update(current.company, current.position, JobStatus.INTERVIEW, null, current.updatedAt)));
+            Thread.sleep(100);
+            assertThat(other).isNotDone();
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+            // Then: the other write applies to the restored record, which the rollback left alone
+            assertThat(other.get(5, TimeUnit.SECONDS).position).isEqualTo("Engineer");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(store.get(existing.id).status()).isEqualTo(JobStatus.INTERVIEW);
+        assertThat(rolledBack).containsExactly(existing.id);
+        store.close();
+    }
+
+    @Test
+    void testPairIndexKeepsOrderAcrossBlockSplits() {
+        // Given
+        LongPairIndex index = new LongPairIndex();
+        TreeSet<Long> expected = new TreeSet<>();
+        Random random = new Random(42);
+
+        // When
+        for (int i = 0; i < 5000; i++) {
+            long id = random.nextInt(20_000);
+            if (random.nextInt(4) == 0) {
+                assertThat(index.remove(7, id)).isEqualTo(expected.remove(id));
+            } else {
+                assertThat(index.add(7, id)).isEqualTo(expected.add(id));
+            }
+        }
+
+        // Then
+        List<Long> after = new ArrayList<>();
+        index.forEachAfter(7, 10_000, (key, id) -> after.add(id));
+        List<Long> before = new ArrayList<>();
+        index.forEachBefore(7, 10_000, (key, id) -> before.add(id));
+        assertThat(index.size()).isEqualTo(expected.size());
+        assertThat(after).containsExactlyElementsOf(expected.tailSet(10_000L, false));
+        assertThat(before).containsExactlyElementsOf(expected.headSet(10_000L, false).descendingSet());
+    }
+
+    private static List<Long> ids(Consumer<EmbeddedJobStore.RecordVisitor> scan) {
+        List<Long> ids = new ArrayList<>();
+        scan.accept(record -> ids.add(record.id));
+        return ids;
+    }
+
+    private Path onlyLog() throws IOException {
+        List<Path> logs = logs();
+        assertThat(logs).hasSize(1);
+        return logs.get(0);
+    }
+
+    private List<Path> logs() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("log-")).toList();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.jobtracker.service;
+
+import com.jobtracker.model.Job;
+import com.jobtracker.model.JobAnalytics;
+import com.jobtracker.model.JobStatus;
+import com.jobtracker.model.StageDurations;
+import com.jobtracker.repository.JobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class JobAnalyticsServiceTest {
+
+    @Autowired
+    private JobAnalyticsService analyticsService;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobStatusCounters statusCounters;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM job_status_events");
+        statusCounters.reconcile();
+    }
+
+    @Test
+    void testAnalyticsAggregateRollups() {
+        // Given
+        jobService.createJob(new Job("Google", "Software Engineer", JobStatus.APPLIED, null));
+        jobService.createJob(new Job("google", "SRE", JobStatus.INTERVIEW, null));
+        jobService.createJob(new Job("Google", "Data Engineer", JobStatus.OFFER, null));
+        jobService.createJob(new Job("Amazon", "Backend Engineer", JobStatus.INTERVIEW, null));
+        Job old = jobService.createJob(new Job("Netflix", "Engineer", JobStatus.REJECTED, null));
+        jdbcTemplate.update("UPDATE jobs SET created_at = ? WHERE id = ?", LocalDateTime.now().minusWeeks(2), old.getId());
+
+        // When
+        analyticsService.refresh();
+        JobAnalytics analytics = analyticsService.getAnalytics(2, 4);
+
+        // Then
+        assertThat(analytics.getStatusCounts())
+                .containsEntry(JobStatus.APPLIED, 1L)
+                .containsEntry(JobStatus.INTERVIEW, 2L)
+                .containsEntry(JobStatus.REJECTED, 1L);
+        assertThat(analytics.getFunnel().getApplied()).isEqualTo(5);
+        assertThat(analytics.getFunnel().getInterviewed()).isEqualTo(3);
+        assertThat(analytics.getFunnel().getOffered()).isEqualTo(1);
+        assertThat(analytics.getFunnel().getOfferRate()).isEqualTo(1.0 / 3);
+        assertThat(analytics.getTopCompanies())
+                .extracting(JobAnalytics.CompanyCount::getCompany, JobAnalytics.CompanyCount::getTotal)
+                .containsExactly(tuple("Google", 3L), tuple("Amazon", 1L));
+        assertThat(analytics.getTopCompanies().get(0).getStatusCounts()).containsEntry(JobStatus.INTERVIEW, 1L);
+        assertThat(analytics.getWeekly()).extracting(JobAnalytics.WeekCount::getCreated).containsExactly(0L, 1L, 0L, 4L);
+        assertThat(analytics.getRefreshedAt()).isNotNull();
+    }
+
+    @Test
+    void testRollupsLagUntilRefreshed() {
+        // Given
+        analyticsService.refresh();
+        jobService.createJob(new Job("Google", "Software Engineer", JobStatus.APPLIED, null));
+
+        // When
+        JobAnalytics analytics = analyticsService.getAnalytics(10, 1);
+
+        // Then
+        assertThat(analytics.getStatusCounts()).containsEntry(JobStatus.APPLIED, 1L);
+        assertThat(analytics.getTopCompanies()).isEmpty();
+        assertThat(analytics.getWeekly()).extracting(JobAnalytics.WeekCount::getCreated).containsExactly(0L);
+    }
+
+    @Test
+    void testStageDurationsCountCompletedStaysOnly() {
+        // Given: jobs that spent 1, 2, ... 10 hours in APPLIED before an interview
+        for (int hours = 1; hours <= 10; hours++) {
+            Job job = jobService.createJob(new Job("Google", "Engineer " + hours, JobStatus.APPLIED, null));
+            jobService.updateJob(job.getId(), new Job("Google", "Engineer " + hours, JobStatus.INTERVIEW, null));
+            jdbcTemplate.update("UPDATE job_status_events SET at_millis = at_millis - ? WHERE job_id = ? AND status = 0",
+                    hours * 3_600_000L, job.getId());
+        }
+        jobService.createJob(new Job("Amazon", "Backend Engineer", JobStatus.APPLIED, null));
+        
+        // When
+        analyticsService.refresh();
+        Map<JobStatus, StageDurations> durations = analyticsService.getStageDurations();
+        
+        // Then
+        StageDurations applied = durations.get(JobStatus.APPLIED);
+        assertThat(applied.getCount()).isEqualTo(10);
+        assertThat(applied.getP50Millis()).isBetween(5 * 3_600_000L, 5 * 3_600_000L + 60_000);
+        assertThat(applied.getP90Millis()).isBetween(9 * 3_600_000L, 9 * 3_600_000L + 60_000);
+        assertThat(applied.getMaxMillis()).isBetween(10 * 3_600_000L, 10 * 3_600_000L + 60_000);
+        assertThat(durations.get(JobStatus.INTERVIEW).getCount()).isZero();
+        assertThat(durations.get(JobStatus.INTERVIEW).getP50Millis()).isNull();
+    }
+}
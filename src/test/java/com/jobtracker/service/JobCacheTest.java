@@ -0,0 +1,95 @@
+package com.jobtracker.service;
+
+import com.jobtracker.config.TenantContext;
+import com.jobtracker.model.CollectionVersion;
+import com.jobtracker.model.CursorPage;
+import com.jobtracker.model.Job;
+import com.jobtracker.model.JobStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobCacheTest {
+
+    private final JobCache jobCache = new JobCache(100, 100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+    @Test
+    void testGetJobLoadsOnceUntilInvalidated() {
+        // Given
+        Job job = new Job("Google", "Software Engineer", JobStatus.APPLIED, null);
+        job.setId(1L);
+        AtomicInteger loads = new AtomicInteger();
+        
+        // When
+        jobCache.getJob(1L, id -> { loads.incrementAndGet(); return Optional.of(job); });
+        jobCache.getJob(1L, id -> { loads.incrementAndGet(); return Optional.of(job); });
+        jobCache.invalidate(1L, null, null);
+        Optional<Job> reloaded = jobCache.getJob(1L, id -> { loads.incrementAndGet(); return Optional.empty(); });
+        
+        // Then
+        assertThat(loads).hasValue(2);
+        assertThat(reloaded).isEmpty();
+    }
+
+    @Test
+    void testCachedJobIsOnlyVisibleToItsTenant() {
+        // Given
+        Job job = new Job("Google", "Software Engineer", JobStatus.APPLIED, null);
+        job.setId(1L);
+        job.setTenantId("acme");
+        TenantContext.runAs("acme", () -> jobCache.getJob(1L, id -> Optional.of(job)));
+        
+        // When
+        Optional<Job> ownTenant = TenantContext.callAs("acme", () -> jobCache.getJob(1L, id -> Optional.of(job)));
+        Optional<Job> otherTenant = TenantContext.callAs("globex", () -> jobCache.getJob(1L, id -> Optional.empty()));
+        Optional<Job> allTenants = TenantContext.callAs(TenantContext.ALL_TENANTS,
+                () -> jobCache.getJob(1L, id -> Optional.empty()));
+        
+        // Then
+        assertThat(ownTenant).contains(job);
+        assertThat(otherTenant).isEmpty();
+        assertThat(allTenants).contains(job);
+    }
+
+    @Test
+    void testWriteInvalidatesOnlyMatchingPages() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        CursorPage<Job> empty = new CursorPage<>(List.of(), null);
+        jobCache.getStatusPage(JobStatus.APPLIED, null, 50, () -> { loads.incrementAndGet(); return empty; });
+        jobCache.getCompanyPage("Google", null, 50, () -> { loads.incrementAndGet(); return empty; });
+        
+        // When
+        jobCache.invalidate(7L, JobStatus.OFFER, "GOOGLE");
+        jobCache.getStatusPage(JobStatus.APPLIED, null, 50, () -> { loads.incrementAndGet(); return empty; });
+        jobCache.getCompanyPage("google", null, 50, () -> { loads.incrementAndGet(); return empty; });
+        
+        // Then: the status page survives, the company page is reloaded
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void testWriteInvalidatesAllJobsAndMatchingVersions() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        CollectionVersion version = new CollectionVersion(0, null);
+        jobCache.getAllVersion(() -> { loads.incrementAndGet(); return version; });
+        jobCache.getStatusVersion(JobStatus.APPLIED, () -> { loads.incrementAndGet(); return version; });
+        jobCache.getCompanyVersion("Google", () -> { loads.incrementAndGet(); return version; });
+        
+        // When
+        jobCache.invalidate(7L, JobStatus.OFFER, "Amazon");
+        jobCache.getAllVersion(() -> { loads.incrementAndGet(); return version; });
+        jobCache.getStatusVersion(JobStatus.APPLIED, () -> { loads.incrementAndGet(); return version; });
+        jobCache.getCompanyVersion("google", () -> { loads.incrementAndGet(); return version; });
+        
+        // Then: only the fingerprint of all jobs is reloaded
+        assertThat(loads).hasValue(4);
+    }
+}
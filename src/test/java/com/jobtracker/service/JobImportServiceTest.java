@@ -0,0 +1,129 @@
+package com.jobtracker.service;
+
+import com.jobtracker.config.TenantContext;
+import com.jobtracker.model.ImportRowError;
+import com.jobtracker.model.ImportStatus;
+import com.jobtracker.model.Job;
+import com.jobtracker.repository.JobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = "jobtracker.batch.chunk-size=2")
+@ActiveProfiles("test")
+class JobImportServiceTest {
+
+    @Autowired
+    private JobImportService importService;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository.deleteAll();
+    }
+
+    @Test
+    void testCsvImportWritesValidRowsAndReportsTheRest() throws Exception {
+        // Given
+        String csv = "Company,Position,Status,Notes,Source\r\n"
+                + "Google,Software Engineer,applied,,LinkedIn\r\n"
+                + "Amazon,\"Backend Engineer, Payments\",INTERVIEW,\"Two rounds\n\"\"onsite\"\" next\",Referral\r\n"
+                + "Netflix,Engineer,HIRED,,\r\n"
+                + ",Developer,APPLIED,,\r\n"
+                + "Microsoft,Developer,OFFER,,\r\n";
+        MockMultipartFile file = new MockMultipartFile("file", "jobs.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+
+        // When
+        ImportStatus status = awaitFinished(importService.submit(file, null));
+
+        // Then
+        assertThat(status.getState()).isEqualTo(ImportStatus.State.COMPLETED);
+        assertThat(status.getRowsRead()).isEqualTo(5);
+        assertThat(status.getRowsImported()).isEqualTo(3);
+        assertThat(status.getRowsFailed()).isEqualTo(2);
+        assertThat(status.getErrors()).extracting(ImportRowError::getLine).containsExactly(5L, 6L);
+        assertThat(status.getErrors().get(0).getError()).contains("HIRED");
+        // Chunks are written in parallel, so ids do not follow the file order
+        List<Job> jobs = jobRepository.findAll();
+        assertThat(jobs).extracting(Job::getCompany, Job::getPosition, Job::getNotes).containsExactlyInAnyOrder(
+                tuple("Google", "Software Engineer", null),
+                tuple("Amazon", "Backend Engineer, Payments", "Two rounds\n\"onsite\" next"),
+                tuple("Microsoft", "Developer", null));
+    }
+
+    @Test
+    void testNdjsonImportReportsMalformedLines() throws Exception {
+        // Given
+        String ndjson = "{\"company\":\"Google\",\"position\":\"SRE\",\"status\":\"APPLIED\"}\n"
+                + "{\"company\":\"Amazon\",\n"
+                + "\n"
+                + "{\"company\":\"Netflix\",\"position\":\"Engineer\",\"status\":\"OFFER\",\"notes\":\"Remote\"}\n";
+        MockMultipartFile file = new MockMultipartFile("file", "jobs.ndjson", null, ndjson.getBytes(StandardCharsets.UTF_8));
+
+        // When
+        ImportStatus status = awaitFinished(importService.submit(file, null));
+
+        // Then
+        assertThat(status.getState()).isEqualTo(ImportStatus.State.COMPLETED);
+        assertThat(status.getRowsImported()).isEqualTo(2);
+        assertThat(status.getErrors()).extracting(ImportRowError::getLine).containsExactly(2L);
+        assertThat(jobRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void testCsvWithoutRequiredColumnsFails() throws Exception {
+        // Given
+        MockMultipartFile file = new MockMultipartFile("file", "jobs.txt", null, "company,role\nGoogle,SRE\n".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        ImportStatus status = awaitFinished(importService.submit(file, "csv"));
+
+        // Then
+        assertThat(status.getState()).isEqualTo(ImportStatus.State.FAILED);
+        assertThat(status.getMessage()).contains("position");
+    }
+
+    @Test
+    void testImportStatusIsOnlyVisibleToItsTenant() throws Exception {
+        // Given
+        MockMultipartFile file = new MockMultipartFile("file", "jobs.csv", "text/csv",
+                "company,position,status\nGoogle,SRE,APPLIED\n".getBytes(StandardCharsets.UTF_8));
+        ImportStatus status = awaitFinished(TenantContext.callAs("acme", () -> {
+            try {
+                return importService.submit(file, null);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }), "acme");
+
+        // When / Then
+        assertThat(status.getState()).isEqualTo(ImportStatus.State.COMPLETED);
+        assertThat(importService.getStatus(status.getId())).isEmpty();
+        assertThat(TenantContext.callAs("acme", () -> importService.getStatus(status.getId()))).isPresent();
+        TenantContext.runAs("acme", jobRepository::deleteAll);
+    }
+
+    private ImportStatus awaitFinished(ImportStatus submitted) throws InterruptedException {
+        return awaitFinished(submitted, TenantContext.DEFAULT_TENANT);
+    }
+
+    private ImportStatus awaitFinished(ImportStatus submitted, String tenant) throws InterruptedException {
+        for (int i = 0; i < 100 && !submitted.isFinished(); i++) {
+            Thread.sleep(50);
+        }
+        return TenantContext.callAs(tenant, () -> importService.getStatus(submitted.getId())).orElseThrow();
+    }
+}
@@ -0,0 +1,87 @@
+package com.jobtracker.service;
+
+import com.jobtracker.config.TenantContext;
+import com.jobtracker.model.Job;
+import com.jobtracker.model.JobStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JobSearchIndexTest {
+
+    private JobSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new JobSearchIndex();
+        searchIndex.load(job(1L, "Senior Java Engineer", "Remote, Spring Boot"));
+        searchIndex.load(job(2L, "Frontend Engineer", "React and some Java"));
+        searchIndex.load(job(3L, "Data Analyst", null));
+        searchIndex.markLoaded();
+    }
+
+    @Test
+    void testAndRequiresEveryTerm() {
+        assertThat(searchIndex.search("java engineer", JobSearchIndex.Mode.AND, 10)).containsExactly(1L, 2L);
+        assertThat(searchIndex.search("java analyst", JobSearchIndex.Mode.AND, 10)).isEmpty();
+    }
+
+    @Test
+    void testOrRanksRareTermsAndPositionMatchesHigher() {
+        // "analyst" is rarer than "java"; a position match outweighs a notes match
+        assertThat(searchIndex.search("JAVA, analyst", JobSearchIndex.Mode.OR, 10)).containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    void testUpdatesAndRemovalsReplaceOldTerms() {
+        // When
+        searchIndex.index(job(1L, "Engineering Manager", null));
+        searchIndex.remove(2L);
+        
+        // Then
+        assertThat(searchIndex.search("java", JobSearchIndex.Mode.OR, 10)).isEmpty();
+        assertThat(searchIndex.search("manager", JobSearchIndex.Mode.OR, 10)).containsExactly(1L);
+    }
+
+    @Test
+    void testRefreshReplacesChangedJobsAndRemovesMissingOnes() {
+        // When: another instance changed job 1 and deleted job 2
+        searchIndex.refresh(List.of(1L, 2L), List.of(job(1L, "Engineering Manager", null)));
+        
+        // Then
+        assertThat(searchIndex.search("java", JobSearchIndex.Mode.OR, 10)).isEmpty();
+        assertThat(searchIndex.search("manager", JobSearchIndex.Mode.OR, 10)).containsExactly(1L);
+    }
+
+    @Test
+    void testSearchFailsWhileLoading() {
+        assertThatThrownBy(() -> new JobSearchIndex().search("java", JobSearchIndex.Mode.AND, 10))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testSearchOnlyReturnsJobsOfTheCurrentTenant() {
+        // Given
+        Job other = job(4L, "Java Developer", null);
+        other.setTenantId("globex");
+        searchIndex.load(other);
+        
+        // Then
+        assertThat(searchIndex.search("java", JobSearchIndex.Mode.OR, 10)).containsExactly(1L, 2L);
+        assertThat(TenantContext.callAs("globex", () -> searchIndex.search("java", JobSearchIndex.Mode.OR, 10)))
+                .containsExactly(4L);
+        assertThat(TenantContext.callAs(TenantContext.ALL_TENANTS,
+                () -> searchIndex.search("java", JobSearchIndex.Mode.OR, 10))).containsExactlyInAnyOrder(1L, 2L, 4L);
+    }
+
+    private static Job job(Long id, String position, String notes) {
+        Job job = new Job("Company", position, JobStatus.APPLIED, notes);
+        job.setId(id);
+        job.setTenantId(TenantContext.DEFAULT_TENANT);
+        return job;
+    }
+}
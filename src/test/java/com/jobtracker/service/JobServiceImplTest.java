@@ -0,0 +1,226 @@
+package com.jobtracker.service;
+
+import com.jobtracker.model.BatchItemResult;
+import com.jobtracker.model.ChangeFeed;
+import com.jobtracker.model.Job;
+import com.jobtracker.model.JobChange;
+import com.jobtracker.model.JobPatch;
+import com.jobtracker.model.JobStatus;
+import com.jobtracker.model.StatusPeriod;
+import com.jobtracker.repository.JobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class JobServiceImplTest {
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobStatusCounters statusCounters;
+
+    @Autowired
+    private JobCacheSync cacheSync;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository.deleteAll();
+        statusCounters.reconcile();
+    }
+
+    @Test
+    void testStatusCountersFollowWrites() {
+        // Given
+        Job google = jobService.createJob(new Job("Google", "Software Engineer", JobStatus.APPLIED, null));
+        Job microsoft = jobService.createJob(new Job("Microsoft", "Developer", JobStatus.APPLIED, null));
+        jobService.createJobs(List.of(new Job("Amazon", "Backend Engineer", JobStatus.INTERVIEW, null)));
+        
+        // When
+        jobService.updateJob(google.getId(), new Job("Google", "Software Engineer", JobStatus.OFFER, null));
+        jobService.deleteJob(microsoft.getId());
+        
+        // Then
+        assertThat(jobService.getJobCountsByStatus())
+                .containsEntry(JobStatus.APPLIED, 0L)
+                .containsEntry(JobStatus.INTERVIEW, 1L)
+                .containsEntry(JobStatus.OFFER, 1L)
+                .containsEntry(JobStatus.REJECTED, 0L);
+        assertThat(jobService.getJobCountByStatus(JobStatus.OFFER)).isEqualTo(jobRepository.countByStatus(JobStatus.OFFER));
+    }
+
+    @Test
+    void testReconcileCorrectsDrift() {
+        // Given: a write that bypassed the service
+        jobRepository.save(new Job("Google", "Software Engineer", JobStatus.REJECTED, null));
+        
+        // When
+        statusCounters.reconcile();
+        
+        // Then
+        assertThat(statusCounters.get(JobStatus.REJECTED)).isEqualTo(1L);
+    }
+
+    @Test
+    void testChangeFeedReportsDeltasAndTombstones() {
+        // Given
+        String token = jobService.getChanges(null, 10).getToken();
+        Job google = jobService.createJob(new Job("Google", "Software Engineer", JobStatus.APPLIED, null));
+        Job microsoft = jobService.createJob(new Job("Microsoft", "Developer", JobStatus.APPLIED, null));
+        jobService.updateJob(google.getId(), new Job("Google", "Software Engineer", JobStatus.INTERVIEW, null));
+        jobService.deleteJobs(List.of(microsoft.getId()));
+        
+        // When
+        ChangeFeed feed = jobService.getChanges(token, 10);
+        ChangeFeed next = jobService.getChanges(feed.getToken(), 10);
+        
+        // Then: one entry per job, in the order of each job's latest change
+        assertThat(feed.getChanges()).extracting(JobChange::getJobId, JobChange::getType)
+                .containsExactly(tuple(google.getId(), JobChange.Type.UPDATED),
+                                 tuple(microsoft.getId(), JobChange.Type.DELETED));
+        assertThat(feed.getChanges().get(0).getJob().getStatus()).isEqualTo(JobStatus.INTERVIEW);
+        assertThat(feed.getChanges().get(1).getJob()).isNull();
+        assertThat(feed.isHasMore()).isFalse();
+        assertThat(next.getChanges()).isEmpty();
+        assertThat(next.getToken()).isEqualTo(feed.getToken());
+    }
+
+    @Test
+    void testChangeFeedPagesThroughLimit() {
+        // Given
+        String token = jobService.getChanges(null, 10).getToken();
+        jobService.createJobs(List.of(
+                new Job("Google", "Software Engineer", JobStatus.APPLIED, null),
+                new Job("Amazon", "Backend Engineer", JobStatus.APPLIED, null),
+                new Job("Microsoft", "Developer", JobStatus.APPLIED, null)));
+        
+        // When
+        ChangeFeed first = jobService.getChanges(token, 2);
+        ChangeFeed second = jobService.getChanges(first.getToken(), 2);
+        
+        // Then
+        assertThat(first.getChanges()).hasSize(2);
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(second.getChanges()).extracting(change -> change.getJob().getCompany()).containsExactly("Microsoft");
+        assertThat(second.isHasMore()).isFalse();
+    }
+
+    @Test
+    void testStatusTimelineRecordsTransitionsOnly() {
+        // Given
+        Job google = jobService.createJob(new Job("Google", "Software Engineer", JobStatus.APPLIED, null));
+        jobService.updateJob(google.getId(), new Job("Google", "Software Engineer", JobStatus.APPLIED, "Recruiter call"));
+        jobService.updateJobs(List.of(withId(google.getId(), new Job("Google", "Software Engineer", JobStatus.INTERVIEW, null))));
+        jobService.updateJob(google.getId(), new Job("Google", "Software Engineer", JobStatus.OFFER, null));
+        
+        // When
+        List<StatusPeriod> timeline = jobService.getStatusTimeline(google.getId()).orElseThrow();
+        
+        // Then
+        assertThat(timeline).extracting(StatusPeriod::getStatus, StatusPeriod::isCurrent)
+                .containsExactly(tuple(JobStatus.APPLIED, false),
+                                 tuple(JobStatus.INTERVIEW, false),
+                                 tuple(JobStatus.OFFER, true));
+        assertThat(timeline.get(1).getEnteredAt()).isBeforeOrEqualTo(timeline.get(2).getEnteredAt());
+        assertThat(timeline.get(0).getDurationMillis()).isGreaterThanOrEqualTo(0);
+        assertThat(jobService.getStatusTimeline(Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    void testWritesOfAnotherInstanceAreEvictedFromTheCache() {
+        // Given: a job and its status page are cached
+        Job google = jobService.createJob(new Job("Google", "Software Engineer", JobStatus.APPLIED, null));
+        jobService.getJobById(google.getId());
+        jobService.getJobsByStatus(JobStatus.APPLIED, null, 10);
+        cacheSync.poll();
+
+        // When: another instance moves it to OFFER
+        jdbcTemplate.update("UPDATE jobs SET status = 'OFFER', version = version + 1 WHERE id = ?", google.getId());
+        jdbcTemplate.update("INSERT INTO job_changes (tenant_id, job_id, change_type, changed_at, origin) "
+                + "VALUES ('default', ?, 'UPDATED', CURRENT_TIMESTAMP, 'other-instance')", google.getId());
+        cacheSync.poll();
+
+        // Then
+        assertThat(jobService.getJobById(google.getId())).get().extracting(Job::getStatus).isEqualTo(JobStatus.OFFER);
+        assertThat(jobService.getJobsByStatus(JobStatus.APPLIED, null, 10).getItems()).isEmpty();
+    }
+
+    @Test
+    void testStaleVersionDoesNotOverwriteConcurrentUpdate() {
+        // Given: two clients read version 0, then the first one writes
+        Job google = jobService.createJob(new Job("Google", "Software Engineer", JobStatus.APPLIED, null));
+        jobService.updateJob(google.getId(), new Job("Google", "Software Engineer", JobStatus.INTERVIEW, null), 0L);
+        
+        // When / Then
+        assertThatThrownBy(() -> jobService.updateJob(google.getId(),
+                new Job("Google", "Software Engineer", JobStatus.REJECTED, null), 0L))
+                .isInstanceOf(JobVersionConflictException.class);
+        JobPatch patch = new JobPatch();
+        patch.setNotes("Second round");
+        assertThatThrownBy(() -> jobService.patchJob(google.getId(), patch, 0L))
+                .isInstanceOf(JobVersionConflictException.class);
+        assertThat(jobRepository.findById(google.getId()).orElseThrow().getStatus()).isEqualTo(JobStatus.INTERVIEW);
+    }
+
+    @Test
+    void testPatchKeepsCountersAndTimelineInStep() {
+        // Given
+        Job google = jobService.createJob(new Job("Google", "Software Engineer", JobStatus.APPLIED, "Referral"));
+        JobPatch patch = new JobPatch();
+        patch.setStatus(JobStatus.OFFER);
+        
+        // When
+        Job patched = jobService.patchJob(google.getId(), patch, null);
+        
+        // Then
+        assertThat(patched.getNotes()).isEqualTo("Referral");
+        assertThat(patched.getVersion()).isEqualTo(1L);
+        assertThat(jobService.getJobCountsByStatus()).containsEntry(JobStatus.APPLIED, 0L).containsEntry(JobStatus.OFFER, 1L);
+        assertThat(jobService.getStatusTimeline(google.getId()).orElseThrow())
+                .extracting(StatusPeriod::getStatus).containsExactly(JobStatus.APPLIED, JobStatus.OFFER);
+    }
+
+    @Test
+    void testDeletedJobIsHiddenAndCannotBeWritten() {
+        // Given
+        Job google = jobService.createJob(new Job("Google", "Software Engineer", JobStatus.APPLIED, null));
+        
+        // When
+        jobService.deleteJob(google.getId());
+        
+        // Then
+        assertThat(jobService.getJobById(google.getId())).isEmpty();
+        assertThat(jobService.getJobsByStatus(JobStatus.APPLIED, null, 10).getItems()).isEmpty();
+        assertThat(jobService.getJobCountsByStatus()).containsEntry(JobStatus.APPLIED, 0L);
+        assertThatThrownBy(() -> jobService.deleteJob(google.getId())).isInstanceOf(RuntimeException.class);
+        JobPatch patch = new JobPatch();
+        patch.setNotes("Too late");
+        assertThatThrownBy(() -> jobService.patchJob(google.getId(), patch, null))
+                .isNotInstanceOf(JobVersionConflictException.class)
+                .hasMessageContaining("not found");
+        assertThat(jobService.updateJobs(List.of(withId(google.getId(), new Job("Google", "SRE", JobStatus.OFFER, null)))))
+                .extracting(BatchItemResult::getOutcome).containsExactly(BatchItemResult.Outcome.NOT_FOUND);
+    }
+
+    private static Job withId(Long id, Job job) {
+        job.setId(id);
+        return job;
+    }
+}
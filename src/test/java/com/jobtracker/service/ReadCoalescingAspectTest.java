@@ -0,0 +1,138 @@
+package com.jobtracker.service;
+
+import com.jobtracker.config.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReadCoalescingAspectTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JobCache jobCache = new JobCache(100, 100, Duration.ofMinutes(1), meterRegistry);
+    private final SlowReads target = new SlowReads();
+    private final SlowReads reads = proxy(target);
+    private final ExecutorService callers = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        target.release.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void testIdenticalConcurrentCallsShareOneExecution() throws Exception {
+        // Given
+        List<Future<List<String>>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(callers.submit(() -> reads.find("APPLIED")));
+        }
+
+        // When: the other three callers join the running one before it completes
+        awaitCount("joined", 3);
+        target.release.countDown();
+
+        // Then
+        List<String> first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<List<String>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(first);
+        }
+        assertThat(target.executions).hasValue(1);
+        assertThat(count("executed")).isEqualTo(1);
+    }
+
+    @Test
+    void testCallsRunSeparatelyAcrossArgumentsTenantsAndWrites() throws Exception {
+        // Given: one call running
+        Future<List<String>> running = callers.submit(() -> reads.find("APPLIED"));
+        awaitCount("executed", 1);
+
+        // When
+        Future<List<String>> otherArgument = callers.submit(() -> reads.find("OFFER"));
+        Future<List<String>> otherTenant = callers.submit(
+                () -> TenantContext.callAs("acme", () -> reads.find("APPLIED")));
+        jobCache.invalidate(1L, null, null);
+        Future<List<String>> afterWrite = callers.submit(() -> reads.find("APPLIED"));
+        awaitCount("executed", 4);
+        target.release.countDown();
+
+        // Then
+        assertThat(running.get(5, TimeUnit.SECONDS)).isNotSameAs(afterWrite.get(5, TimeUnit.SECONDS));
+        otherArgument.get(5, TimeUnit.SECONDS);
+        otherTenant.get(5, TimeUnit.SECONDS);
+        assertThat(target.executions).hasValue(4);
+        assertThat(count("joined")).isZero();
+    }
+
+    @Test
+    void testJoinedCallsSeeTheExecutionsException() throws Exception {
+        // Given
+        Future<List<String>> leader = callers.submit(() -> reads.find("FAIL"));
+        Future<List<String>> follower = callers.submit(() -> reads.find("FAIL"));
+
+        // When
+        awaitCount("joined", 1);
+        target.release.countDown();
+
+        // Then
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(target.executions).hasValue(1);
+    }
+
+    private SlowReads proxy(SlowReads target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ReadCoalescingAspect(jobCache, meterRegistry));
+        return factory.getProxy();
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.find(ReadCoalescingAspect.COALESCED).tag("outcome", outcome).counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+
+    private void awaitCount(String outcome, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count(outcome) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(count(outcome)).isEqualTo(expected);
+    }
+
+    static class SlowReads {
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger executions = new AtomicInteger();
+
+        @Coalesced
+        public List<String> find(String status) {
+            executions.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            if (status.equals("FAIL")) {
+                throw new IllegalStateException("query failed");
+            }
+            return new ArrayList<>(List.of(status));
+        }
+    }
+}